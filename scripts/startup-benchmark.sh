@@ -0,0 +1,82 @@
+#!/bin/bash
+# Startup before and after trimming the module graph, and with class data sharing.
+#
+#   mvn -Pcds package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Four launches of the same app classes are compared:
+#   untrimmed graph  full JDK, every module of the pom before the trim (BASELINE_REV)
+#   trimmed graph    full JDK, the modules of the current pom
+#   image, no CDS    the jlink image target/app with -Xshare:off
+#   image, AppCDS    target/app with the archive the cds profile dumped into it
+#
+# Each is timed twice, as the median over the runs, in ms from process start:
+#   load   until the main class is loaded (java --dry-run; needs no display)
+#   frame  until the first frame (-Dforza.startup=exit: the app prints
+#          "First frame after N ms" and exits; needs a display)
+#
+# On first use the jars of both graphs are copied to target/benchmark with Maven.
+# The MySQL driver is on the class path in every launch, as in target/app/bin/app.
+
+cd "$(dirname "$0")/.." || exit 1
+
+RUNS=${1:-10}
+IMAGE=target/app
+BENCH=target/benchmark
+BASELINE_REV=506b9c8^   # last pom.xml before the module graph was trimmed
+MAIN=com.example.dbcarrentalsapp/com.example.dbcarrentalsapp.MainApp
+JDK_JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if [ ! -x "$IMAGE/bin/java" ] || [ ! -d "$IMAGE/lib/app" ]; then
+    echo "No runtime image at $IMAGE (build it with: mvn -Pcds package)" >&2
+    exit 1
+fi
+DRIVER="$IMAGE/lib/app/*"
+
+if [ ! -d "$BENCH/untrimmed" ] || [ ! -d "$BENCH/trimmed" ]; then
+    mkdir -p "$BENCH"
+    git show "$BASELINE_REV:pom.xml" > "$BENCH/untrimmed-pom.xml" || exit 1
+    mvn -B -q -f "$BENCH/untrimmed-pom.xml" dependency:copy-dependencies \
+        -DincludeScope=runtime -DoutputDirectory="$PWD/$BENCH/untrimmed" || exit 1
+    mvn -B -q dependency:copy-dependencies -DincludeScope=runtime \
+        -DexcludeArtifactIds=mysql-connector-j -DoutputDirectory="$PWD/$BENCH/trimmed" || exit 1
+fi
+
+# Prints the median over $RUNS launches of the given java command, in ms:
+#   median load|frame java [flags...]
+median() {
+    mode=$1
+    shift
+    if [ "$mode" = frame ] && [ -z "$DISPLAY" ] && [ -z "$WAYLAND_DISPLAY" ]; then
+        echo "n/a"
+        return
+    fi
+    for ((i = 0; i < RUNS; i++)); do
+        if [ "$mode" = load ]; then
+            start=${EPOCHREALTIME/./}
+            "$@" --dry-run -m "$MAIN" >/dev/null 2>&1 || continue
+            echo $(( (${EPOCHREALTIME/./} - start) / 1000 ))
+        else
+            "$@" -Dforza.startup=exit -m "$MAIN" 2>/dev/null \
+                | sed -n 's/^First frame after \([0-9]*\) ms$/\1/p'
+        fi
+    done | sort -n | awk '{ t[NR] = $1 } END { if (NR == 0) print "n/a"; else print t[int((NR + 1) / 2)] " ms" }'
+}
+
+# Prints one row: label, then the java command to time
+row() {
+    label=$1
+    shift
+    printf '  %-17s %10s %10s\n' "$label" "$(median load "$@")" "$(median frame "$@")"
+}
+
+# The untrimmed graph resolves every module its pom brought in, as its module-info required them
+UNTRIMMED=("$JDK_JAVA" -cp "$DRIVER" --module-path "target/classes:$BENCH/untrimmed" --add-modules ALL-MODULE-PATH)
+TRIMMED=("$JDK_JAVA" -cp "$DRIVER" --module-path "target/classes:$BENCH/trimmed")
+
+echo "Startup, median of $RUNS runs"
+printf '  %-17s %10s %10s\n' "" "load" "frame"
+row "untrimmed graph" "${UNTRIMMED[@]}"
+row "trimmed graph" "${TRIMMED[@]}"
+row "image, no CDS" "$IMAGE/bin/java" -cp "$DRIVER" -Xshare:off
+row "image, AppCDS" "$IMAGE/bin/java" -cp "$DRIVER" -Xshare:auto
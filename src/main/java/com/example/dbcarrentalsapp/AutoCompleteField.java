@@ -0,0 +1,148 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A text field that suggests matches as the user types, for pickers over tables too
+ * large to put in a combo box.
+ *
+ * Each edit runs the search with the typed prefix off the FX thread; the search is
+ * expected to be a LIMITed prefix query on an indexed column, so only a screenful of
+ * rows is ever read. Results that come back after a newer edit are dropped. The
+ * field's value is set when a suggestion is picked, or when the typed text exactly
+ * matches one, and is cleared as soon as the text no longer does.
+ */
+public class AutoCompleteField<T> extends TextField {
+
+    private static final System.Logger LOG = System.getLogger(AutoCompleteField.class.getName());
+
+    // One search at a time: a newer keystroke supersedes the queued ones anyway
+    private static final ExecutorService SEARCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autocomplete-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final long SLOW_SEARCH_MILLIS = 20;
+
+    private final Function<String, List<T>> search;
+    private final Function<T, String> toText;
+    private final ContextMenu suggestions = new ContextMenu();
+    private final ReadOnlyObjectWrapper<T> value = new ReadOnlyObjectWrapper<>();
+    private final AtomicLong generation = new AtomicLong();
+    private boolean picking;
+
+    /**
+     * @param search returns the matches for a prefix (possibly empty); runs off the FX thread
+     * @param toText the text shown for a match and put in the field when it is picked
+     */
+    public AutoCompleteField(Function<String, List<T>> search, Function<T, String> toText) {
+        this.search = search;
+        this.toText = toText;
+
+        textProperty().addListener((obs, oldText, newText) -> {
+            if (picking) return;
+            value.set(null);
+            if (isFocused()) refresh();
+        });
+
+        // Clicking into the field lists the first matches straight away
+        focusedProperty().addListener((obs, was, focused) -> {
+            if (focused) refresh();
+            else suggestions.hide();
+        });
+    }
+
+    // ============================
+    // 1. VALUE
+    // ============================
+
+    /** The picked match, or null while the text does not name one. */
+    public T getValue() {
+        return value.get();
+    }
+
+    public ReadOnlyObjectProperty<T> valueProperty() {
+        return value.getReadOnlyProperty();
+    }
+
+    /** Empties the field, e.g. when the choices it searches have changed. */
+    public void clear() {
+        super.clear();
+        value.set(null);
+        suggestions.hide();
+    }
+
+    // ============================
+    // 2. SEARCH
+    // ============================
+
+    /** Searches again with the current text. */
+    public void refresh() {
+        String prefix = getText() == null ? "" : getText().trim();
+        long ticket = generation.incrementAndGet();
+
+        SEARCHER.execute(() -> {
+            if (ticket != generation.get()) return;   // already superseded
+            long start = System.nanoTime();
+            List<T> matches = search.apply(prefix);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (millis > SLOW_SEARCH_MILLIS) {
+                LOG.log(System.Logger.Level.DEBUG, "Slow autocomplete search for ''{0}'': {1} ms", prefix, millis);
+            }
+            Platform.runLater(() -> {
+                if (ticket == generation.get()) show(prefix, matches);
+            });
+        });
+    }
+
+    private void show(String prefix, List<T> matches) {
+        // Typed out in full: take it without making the user click
+        for (T match : matches) {
+            if (toText.apply(match).equalsIgnoreCase(prefix)) {
+                value.set(match);
+                break;
+            }
+        }
+
+        suggestions.getItems().clear();
+        for (T match : matches) {
+            Label label = new Label(toText.apply(match));
+            label.setPrefWidth(getWidth() - 20);
+            CustomMenuItem item = new CustomMenuItem(label, true);
+            item.setOnAction(e -> pick(match));
+            suggestions.getItems().add(item);
+        }
+
+        if (matches.isEmpty() || !isFocused()) {
+            suggestions.hide();
+        } else if (!suggestions.isShowing()) {
+            suggestions.show(this, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private void pick(T match) {
+        picking = true;
+        try {
+            setText(toText.apply(match));
+            positionCaret(getText().length());
+        } finally {
+            picking = false;
+        }
+        value.set(match);
+        suggestions.hide();
+    }
+}
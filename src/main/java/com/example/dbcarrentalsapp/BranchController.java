@@ -4,7 +4,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.Stage;
 import model.BranchRecord;
-import org.controlsfx.control.tableview2.filter.filtereditor.SouthFilter;
 
 import java.util.List;
 
@@ -13,12 +12,14 @@ public class BranchController {
     private final BranchView view;
     private final Stage stage;
     private final BranchDAO dao;
-    private ObservableList<BranchRecord> masterList;
+    private final ObservableList<BranchRecord> masterList = FXCollections.observableArrayList();
+    private final TableLoader<BranchRecord> loader;
 
     public BranchController(BranchView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new BranchDAO();
+        this.loader = new TableLoader<>("branches", view.tableView, this::showBranches);
 
         setupActions();
         loadBranches();
@@ -28,11 +29,7 @@ public class BranchController {
     private void setupActions() {
 
         // ===== Return to Manage Records =====
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // ===== Add Branch =====
         view.addButton.setOnAction(e ->
@@ -82,10 +79,13 @@ public class BranchController {
 
     /** Loads all branches from database **/
     public void loadBranches() {
-        List<BranchRecord> branches = dao.getAllBranches();
-        if (branches == null) branches = List.of(); // avoid NPE
-        masterList = FXCollections.observableArrayList(branches);
-        view.tableView.setItems(masterList);
+        loader.load(dao::getAllBranches);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search **/
+    private void showBranches(List<BranchRecord> branches) {
+        masterList.setAll(branches);
+        applyFilter();
     }
 
     /** Applies text-based filtering **/
@@ -90,6 +90,7 @@ public class BranchDAO {
             }
 
             conn.commit();
+            ReferenceDataCache.invalidateBranches();
             return true;
 
         } catch (SQLException e) {
@@ -146,6 +147,10 @@ public class BranchDAO {
                 ps.setString(3, branch_location_id);
                 ps.setString(4, id);
                 int rows = ps.executeUpdate();
+                if (rows > 0) {
+                    ReferenceDataCache.invalidateBranches();
+                    ViolationAnalyticsEngine.invalidate();   // the cube is labelled by branch name
+                }
                 return rows > 0;
             }
 
@@ -169,6 +174,7 @@ public class BranchDAO {
 
             ps.setString(1, id);
             int rowsAffected = ps.executeUpdate();
+            if (rowsAffected > 0) ReferenceDataCache.invalidateBranches();
             return rowsAffected > 0; // true if something was deleted
 
         } catch (SQLException e) {
@@ -24,9 +24,7 @@ public class BranchView {
     public BranchView() {
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -166,8 +164,7 @@ public class BranchView {
         locationIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate location IDs
-        LocationDAO locationDAO = new LocationDAO();
-        locationIDComboBox.getItems().addAll(locationDAO.getAvailableLocationDisplayValues());
+        locationIDComboBox.setItems(ReferenceDataCache.AVAILABLE_LOCATIONS.get());
 
         Button addBtn = new Button("Add");
         Button cancelBtn = new Button("Cancel");
@@ -373,8 +370,7 @@ public class BranchView {
         locationIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate location IDs and set current value
-        LocationDAO locationDAO = new LocationDAO();
-        locationIDComboBox.getItems().addAll(locationDAO.getAllLocationIds());
+        locationIDComboBox.setItems(ReferenceDataCache.LOCATION_IDS.get());
         locationIDComboBox.setValue(selected.getBranchLocationId());
 
         Button updateBtn = new Button("Update");
@@ -1,7 +1,5 @@
 package com.example.dbcarrentalsapp;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import model.CancellationRecord;
@@ -10,8 +8,6 @@ import model.RentalRecord;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * The CancellationController class handles the business logic for cancellation management.
@@ -30,7 +26,7 @@ public class CancellationController {
     private final CancellationView view;
     private final Stage stage;
     private final CancellationDAO cancellationDAO;
-    private ObservableList<CancellationRecord> masterList;
+    private final PagedTableSource<CancellationRecord> cancellations;
 
     /**
      * Constructor - initializes the controller with view and stage references.
@@ -47,6 +43,18 @@ public class CancellationController {
         // Link controller to view //
         this.view.setController(this);
 
+        // Table rows are fetched page by page, ordered by cancellation ID
+        this.cancellations = new PagedTableSource<>(view.tableView, "cancellation_details", "cancellation_id",
+                "cancellation_id", false, cancellationDAO::mapResultSetToCancellationRecord,
+                "cancellation_id", "cancellation_rental_id", "cancellation_reason")
+                .fullText("cancellation_search_text")
+                .sortable("Cancellation ID", "cancellation_id")
+                .sortable("Rental ID", "cancellation_rental_id")
+                .sortable("Staff ID", "cancellation_staff_id")
+                .sortable("Date and Time", "cancellation_date")
+                .lockUnmappedColumns()
+                .follow(TableChanges.CANCELLATIONS);   // writes are patched in, no reload
+
         // Initialize data and setup UI interactions
         loadCancellations();
         setupActions();
@@ -59,16 +67,16 @@ public class CancellationController {
     private void setupActions() {
         // ===== RETURN BUTTON ACTION =====
         // Navigates back to the Manage Transactions screen
-        view.returnButton.setOnAction(e -> {
-            ManageTransactionsView manageView = new ManageTransactionsView(stage);
-            new ManageTransactionsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.TRANSACTIONS));
+
+        // ===== EXPORT BUTTON ACTION =====
+        // Streams the full cancellations table to CSV or columnar
+        view.exportButton.setOnAction(e -> ExportDialog.exportSource(stage, TableExporter.Source.CANCELLATIONS));
 
         // ===== ADD BUTTON ACTION =====
         // Opens the add cancellation dialog
         view.addButton.setOnAction(e ->
-                view.showAddCancellationPopup(cancellationDAO, this::loadCancellations)
+                view.showAddCancellationPopup(cancellationDAO)
         );
 
         // ===== MODIFY BUTTON ACTION =====
@@ -79,68 +87,34 @@ public class CancellationController {
                 view.showSuccessPopup("No Selection", "Please select a cancellation to modify.");
                 return;
             }
-            view.showModifyCancellationPopup(cancellationDAO, selected, this::loadCancellations);
+            view.showModifyCancellationPopup(cancellationDAO, selected);
         });
 
         // ===== FILTER AND SEARCH ACTIONS =====
         // Apply filter when filter button is clicked or search field is used
         view.filterButton.setOnAction(e -> applyFilter());
         view.searchField.setOnAction(e -> applyFilter());
+        // Search as the user types, once typing pauses
+        DebouncedSearch.attach(view.searchField, cancellations::setFilter);
     }
 
     /**
-     * Loads all cancellation records from the database and populates the table.
+     * Reloads the cancellation table from its first page.
      * This method is called during initialization and after data modifications.
-     * Automatically sorts the table by cancellation ID after loading.
+     * The current column order and search text are kept.
      */
     public void loadCancellations() {
-        try {
-            // Retrieve all cancellations from database
-            List<CancellationRecord> cancellations = cancellationDAO.getAllCancellations();
-            // Convert to observable list for TableView binding
-            masterList = FXCollections.observableArrayList(cancellations);
-            view.tableView.setItems(masterList);
-
-            // Sort the table by Violation ID after loading
-            sortByCancellationId();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            view.showSuccessPopup("Database Error", "Failed to load cancellations.");
-        }
+        cancellations.reload();
     }
 
     /**
      * Applies text-based filtering to the cancellation records in the table.
-     * Filters records based on cancellation ID, rental ID, type, or reason.
+     * Filters records on the server by cancellation ID, rental ID, or reason.
      * Case-insensitive search across multiple fields.
-     * Maintains sorting after filtering.
+     * Maintains the current sorting.
      */
     private void applyFilter() {
-        String filterText = view.searchField.getText().toLowerCase().trim();
-
-        // If search is empty, show all records
-        if (filterText.isEmpty()) {
-            view.tableView.setItems(masterList);
-            // Reapply sorting when showing all records
-            sortByCancellationId();
-            return;
-        }
-
-        // Create filtered list based on search criteria
-        ObservableList<CancellationRecord> filteredList = masterList.filtered(record -> {
-            // Check if any field contains the search text
-            boolean matchId = record.getCancellationId().toLowerCase().contains(filterText);
-            boolean matchRentalId = record.getCancellationRentalId().toLowerCase().contains(filterText);
-            boolean matchReason = record.getReason().toLowerCase().contains(filterText);
-
-            // Return true if any field matches
-            return matchId || matchRentalId || matchReason;
-        });
-
-        // Update table with filtered results
-        view.tableView.setItems(filteredList);
-        // Reapply sorting to filtered results
-        sortByCancellationId();
+        cancellations.setFilter(view.searchField.getText());
     }
 
     public void viewReceipt(CancellationRecord record) {
@@ -152,12 +126,11 @@ public class CancellationController {
             Alert receipt = new Alert(Alert.AlertType.INFORMATION);
             receipt.setTitle("Cancellation Receipt");
             receipt.setHeaderText("Car Cancelled Successfully!");
-            receipt.setContentText(
-                    "Rental ID: " + rental.getRentalId() + "\n" +
-                            "Renter DL: " + rental.getRenterDlNumber() + "\n" +
-                            "Car Plate: " + rental.getCarPlateNumber() + "\n" +
-                            "Cancellation Date & Time: " + LocalDateTime.now() + "\n"
-            );
+            receipt.setContentText(new ReceiptEngine().renderCancellation(
+                    rental.getRentalId(),
+                    rental.getRenterDlNumber(),
+                    rental.getCarPlateNumber(),
+                    record.getTimestamp()));
             receipt.showAndWait();
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -170,9 +143,8 @@ public class CancellationController {
         alert.setTitle(title); alert.setHeaderText(null); alert.setContentText(message); alert.showAndWait();
     }
 
-    public void loadTable() throws SQLException {
-        List<CancellationRecord> list = cancellationDAO.getAllCancellations();
-        view.refreshTable(list);
+    public void loadTable() {
+        loadCancellations();
     }
 
     /**
@@ -22,91 +22,65 @@ import java.util.List;
  */
 public class CancellationDAO {
     /**
-     * Generates the next sequential cancellation ID by querying the database
-     * for the highest existing ID and incrementing it.
+     * Reserves {@code count} consecutive cancellation numbers from cancellation_id_sequence.
+     * The sequence row stays locked until the caller's transaction ends, so concurrent
+     * cancellations can never draw the same number.
      *
-     * @return Next available cancellation ID in format "CNLXX" (e.g., "CNL001", "CNL002")
+     * @param conn connection with an open transaction
+     * @return the first reserved number
      * @throws SQLException If database access error occurs
      */
-    public String generateNextCancellationId() throws SQLException {
-        // SQL query to get the highest existing cancellation ID
-        String sql = "SELECT cancellation_id FROM cancellation_details WHERE cancellation_id LIKE 'CNL%' ORDER BY cancellation_id DESC LIMIT 1";
-
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            // If records exist, parse the number and increment
-            if (rs.next()) {
-                String lastId = rs.getString("cancellation_id");
-                int num = Integer.parseInt(lastId.substring(3)) + 1; // Extract number part
-                return String.format("CNL%03d", num); // Format as VLN001, VLN002, etc.
-            }
-        }
-        // If no records exist, start with VLN001
-        return "CNL001";
+    static int allocateIds(Connection conn, int count) throws SQLException {
+        return IdSequence.allocate(conn, "cancellation_id_sequence", "CANCELLATION", count);
     }
 
-    private String generateNextCancellationID(Connection conn) throws SQLException {
-        String sql = "SELECT cancellation_id FROM cancellation_details WHERE cancellation_id LIKE 'CNL%' ORDER BY cancellation_id DESC LIMIT 1";
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            if (rs.next()) {
-                String lastId = rs.getString("cancellation_id"); // R0001
-                int number = Integer.parseInt(lastId.substring(1)) + 1;
-                return String.format("CNL%04d", number);
-            }
-            return "CNL0001"; // first record
-        }
+    /**
+     * @return the cancellation ID for an allocated number, e.g. "CNL0042"
+     */
+    static String formatId(int number) {
+        return String.format("CNL%04d", number);
     }
+
     /**
-     * Inserts a new cancellation record into the database.
+     * Inserts a cancellation record inside the caller's transaction, allocating its ID.
+     * Callers outside {@link CancellationService} must flip the rental's status themselves.
      *
-     * @param cancellation The CancellationRecord object containing all cancellation data
-     * @throws SQLException If database access error occurs or constraint cancellation
+     * @param conn connection with an open transaction
+     * @param cancellation The CancellationRecord object; its ID is set here
+     * @throws SQLException If database access error occurs or constraint violation
      */
-    public void addCancellation(CancellationRecord cancellation) throws SQLException {
-        // SQL INSERT statement with parameter placeholders
-        String sql = """
-            INSERT INTO cancellation_details (
-                cancellation_id, cancellation_rental_id, cancellation_staff_id,
-                cancellation_date, cancellation_reason
-            ) VALUES (?, ?, ?, ?, ?)
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            // Set parameters for the prepared statement
-            stmt.setString(1, cancellation.getCancellationId());
-            stmt.setString(2, cancellation.getCancellationRentalId());
-            stmt.setString(3, cancellation.getCancellationStaffId());
-            stmt.setTimestamp(4, Timestamp.valueOf(cancellation.getTimestamp()));
-            stmt.setString(5, cancellation.getReason());
-
-            // Execute the insert operation
-            stmt.executeUpdate();
-        }
-    }
     public boolean addCancellation(Connection conn, CancellationRecord cancellation) throws SQLException {
+        addCancellations(conn, List.of(cancellation));
+        return true;
+    }
+
+    /**
+     * Inserts many cancellation records as one batch inside the caller's transaction,
+     * reserving their IDs in one step and setting them on the records.
+     *
+     * @param conn connection with an open transaction
+     */
+    void addCancellations(Connection conn, List<CancellationRecord> cancellations) throws SQLException {
         String sql = """
                 INSERT INTO cancellation_details (
-                    cancellation_id, cancellation_rental_id, cancellation_staff_id, 
+                    cancellation_id, cancellation_rental_id, cancellation_staff_id,
                     cancellation_date, cancellation_reason
                 ) VALUES (?, ?, ?, ?, ?)
                 """;
-        // generate new ID
-        String newId = generateNextCancellationID(conn);
-        cancellation.setCancellationId(newId);
+        if (cancellations.isEmpty()) return;
+        int next = allocateIds(conn, cancellations.size());
 
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, cancellation.getCancellationId());
-            ps.setString(2, cancellation.getCancellationRentalId());
-            ps.setString(3, cancellation.getCancellationStaffId());
-            ps.setTimestamp(4, Timestamp.valueOf(cancellation.getTimestamp()));
-            ps.setString(5, cancellation.getReason());
-            return ps.executeUpdate() > 0;
+            for (CancellationRecord cancellation : cancellations) {
+                cancellation.setCancellationId(formatId(next++));
+                ps.setString(1, cancellation.getCancellationId());
+                ps.setString(2, cancellation.getCancellationRentalId());
+                ps.setString(3, cancellation.getCancellationStaffId());
+                ps.setTimestamp(4, Timestamp.valueOf(cancellation.getTimestamp()));
+                ps.setString(5, cancellation.getReason());
+                ps.addBatch();
+            }
+            ps.executeBatch();
         }
     }
     /**
@@ -137,6 +111,7 @@ public class CancellationDAO {
             // Execute the update operation
             stmt.executeUpdate();
         }
+        TableChanges.CANCELLATIONS.changed(cancellation.getCancellationId());
     }
 
     /**
@@ -196,14 +171,17 @@ public class CancellationDAO {
     public boolean deleteCancellation(String cancellationId) throws SQLException {
         // SQL DELETE statement with parameter
         String sql = "DELETE FROM cancellation_details WHERE cancellation_id = ?";
+        boolean deleted;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, cancellationId);
-            // Return true if at least one row was affected
-            return stmt.executeUpdate() > 0;
+            deleted = stmt.executeUpdate() > 0;
         }
+        if (deleted) TableChanges.CANCELLATIONS.changed(cancellationId);
+        // True if at least one row was affected
+        return deleted;
     }
 
     /**
@@ -258,23 +236,8 @@ public class CancellationDAO {
      * @throws SQLException If database access error occurs
      */
     public boolean validateStaffForCancellation(String staffId, String rentalId) throws SQLException {
-        String sql = """
-            SELECT sr.staff_id, sr.staff_branch_id, jr.job_department_id
-            FROM staff_record sr
-            JOIN job_record jr ON sr.staff_job_id = jr.job_id
-            JOIN rental_details rd ON rd.rental_branch_id = sr.staff_branch_id
-            WHERE sr.staff_id = ? AND rd.rental_id = ? AND jr.job_department_id = 'DEPT_OPS'
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, staffId);
-            stmt.setString(2, rentalId);
-            ResultSet rs = stmt.executeQuery();
-
-            return rs.next(); // Returns true if staff is valid
-        }
+        String branchId = getRentalBranchId(rentalId);
+        return StaffEligibilityCache.get().isEligible(staffId, branchId);
     }
 
     /**
@@ -297,26 +260,7 @@ public class CancellationDAO {
      * Gets Operations staff members from a specific branch
      */
     public List<String> getOperationsStaffByBranch(String branchId) throws SQLException {
-        List<String> staffIds = new ArrayList<>();
-        String sql = """
-            SELECT sr.staff_id 
-            FROM staff_record sr
-            JOIN job_record jr ON sr.staff_job_id = jr.job_id
-            WHERE sr.staff_branch_id = ? AND jr.job_department_id = 'DEPT_OPS'
-            ORDER BY sr.staff_id
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, branchId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                staffIds.add(rs.getString("staff_id"));
-            }
-        }
-        return staffIds;
+        return new ArrayList<>(StaffEligibilityCache.get().operationsStaff(branchId));
     }
 
     /**
@@ -327,7 +271,7 @@ public class CancellationDAO {
      * @return CancellationRecord object populated with ResultSet data
      * @throws SQLException If error reading from ResultSet
      */
-    private CancellationRecord mapResultSetToCancellationRecord(ResultSet rs) throws SQLException {
+    CancellationRecord mapResultSetToCancellationRecord(ResultSet rs) throws SQLException {
         // Extract timestamp from ResultSet
         Timestamp timestamp = rs.getTimestamp("cancellation_date");
 
@@ -340,36 +284,4 @@ public class CancellationDAO {
                 rs.getString("cancellation_reason")
         );
     }
-
-    public void importExistingCancelledRentals() {
-        String sql = """
-        INSERT INTO cancellation_details (
-            cancellation_id,
-            cancellation_rental_id,
-            cancellation_staff_id,
-            cancellation_date,
-            cancellation_reason
-        )
-        SELECT
-            CONCAT('CXL', LPAD(FLOOR(RAND() * 99999), 5, '0')),
-            r.rental_id,
-            COALESCE(r.rental_staff_id_return, r.rental_staff_id_pickup),
-            NOW(),
-            'Change of plans'
-        FROM rental_details r
-        LEFT JOIN cancellation_details c
-            ON r.rental_id = c.cancellation_rental_id
-        WHERE r.rental_status = 'CANCELLED'
-          AND c.cancellation_rental_id IS NULL;
-    """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.executeUpdate();
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
 }
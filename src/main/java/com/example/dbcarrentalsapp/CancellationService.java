@@ -0,0 +1,197 @@
+package com.example.dbcarrentalsapp;
+
+import model.CancellationRecord;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The single path by which a rental becomes cancelled.
+ *
+ * Flipping rental_status to CANCELLED and inserting the cancellation_details row happen
+ * in the same transaction, with ids drawn from cancellation_id_sequence, so every
+ * cancelled rental has its record the moment it is cancelled and no catch-up scan over
+ * the cancellation history is ever needed.
+ */
+public class CancellationService {
+
+    private static final System.Logger LOG = System.getLogger(CancellationService.class.getName());
+
+    private static final String NO_SHOW_REASON = "No-show: not picked up within the grace period";
+
+    private final CancellationDAO cancellationDAO = new CancellationDAO();
+    private final RentalDAO rentalDAO = new RentalDAO();
+
+    // ============================
+    // 1. MANUAL CANCELLATION
+    // ============================
+
+    /**
+     * Cancels one rental on behalf of a staff member.
+     *
+     * An UPCOMING or ACTIVE rental is flipped to CANCELLED; a rental already CANCELLED
+     * without a record only gets its record. Completed or already recorded rentals are
+     * refused.
+     *
+     * @return the stored cancellation, with its allocated id
+     * @throws SQLException if the rental cannot be cancelled or the write fails
+     */
+    public CancellationRecord cancel(String rentalId, String staffId, String reason) throws SQLException {
+        String lockSql = """
+            SELECT rd.rental_status, rd.rental_car_plate_number,
+                   EXISTS (SELECT 1 FROM cancellation_details c WHERE c.cancellation_rental_id = rd.rental_id) AS recorded
+            FROM rental_details rd
+            WHERE rd.rental_id = ?
+            FOR UPDATE
+            """;
+
+        CancellationRecord record = new CancellationRecord(null, rentalId, staffId, LocalDateTime.now(), reason);
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement lock = conn.prepareStatement(lockSql)) {
+                lock.setString(1, rentalId);
+                ResultSet rs = lock.executeQuery();
+
+                if (!rs.next()) {
+                    throw new SQLException("Rental not found: " + rentalId);
+                }
+                if (rs.getBoolean("recorded")) {
+                    throw new SQLException("Rental " + rentalId + " is already cancelled.");
+                }
+
+                String status = rs.getString("rental_status");
+                if ("COMPLETED".equals(status)) {
+                    throw new SQLException("Rental " + rentalId + " is completed and cannot be cancelled.");
+                }
+
+                if (!"CANCELLED".equals(status)) {
+                    markCancelled(conn, List.of(rentalId));
+                    rentalDAO.updateCarStatus(conn, rs.getString("rental_car_plate_number"));
+                }
+
+                cancellationDAO.addCancellation(conn, record);
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        TableChanges.RENTALS.changed(rentalId);
+        TableChanges.CANCELLATIONS.changed(record.getCancellationId());
+        return record;
+    }
+
+    // ============================
+    // 2. NO-SHOW SWEEP
+    // ============================
+
+    /**
+     * Cancels every UPCOMING rental whose expected pickup is older than the cutoff.
+     * Only the expired rentals are read, so the cost follows the number of no-shows
+     * rather than the size of the cancellation history.
+     *
+     * Automatic cancellations are recorded under the pickup staff if one was assigned,
+     * otherwise under the first Operations staff member of the rental's branch, and for a
+     * branch without Operations staff under the first Operations staff member of any
+     * branch. Only if the company has no Operations staff at all is a no-show left
+     * UPCOMING, and that is reported on every sweep.
+     *
+     * @return number of rentals cancelled
+     */
+    public int cancelExpired(LocalDateTime cutoff) throws SQLException {
+        String selectSql = """
+            SELECT rd.rental_id, rd.rental_car_plate_number, rd.rental_branch_id, rd.rental_staff_id_pickup
+            FROM rental_details rd
+            WHERE rd.rental_status = 'UPCOMING'
+              AND rd.rental_expected_pickup_datetime <= ?
+            ORDER BY rd.rental_id
+            FOR UPDATE
+            """;
+
+        // Cached staff snapshot; load it before taking a connection
+        StaffEligibilityCache staff = StaffEligibilityCache.get();
+        String fallbackStaff = staff.anyOperationsStaff();
+
+        List<String> rentalIds = new ArrayList<>();
+        List<CancellationRecord> records = new ArrayList<>();
+        List<String> unassigned = new ArrayList<>();
+        Set<String> plates = new LinkedHashSet<>();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement select = conn.prepareStatement(selectSql)) {
+
+                select.setTimestamp(1, Timestamp.valueOf(cutoff));
+                LocalDateTime now = LocalDateTime.now();
+                ResultSet rs = select.executeQuery();
+                while (rs.next()) {
+                    String rentalId = rs.getString("rental_id");
+                    String staffId = rs.getString("rental_staff_id_pickup");
+                    if (staffId == null) {
+                        List<String> branchStaff = staff.operationsStaff(rs.getString("rental_branch_id"));
+                        staffId = branchStaff.isEmpty() ? fallbackStaff : branchStaff.get(0);
+                    }
+                    if (staffId == null) {
+                        unassigned.add(rentalId);   // no Operations staff anywhere to record it under
+                        continue;
+                    }
+                    rentalIds.add(rentalId);
+                    records.add(new CancellationRecord(null, rentalId, staffId, now, NO_SHOW_REASON));
+                    plates.add(rs.getString("rental_car_plate_number"));
+                }
+
+                if (!unassigned.isEmpty()) {
+                    LOG.log(System.Logger.Level.WARNING,
+                            "No-show rentals left UPCOMING, no Operations staff to cancel them under: {0}", unassigned);
+                }
+
+                if (rentalIds.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+
+                markCancelled(conn, rentalIds);
+                cancellationDAO.addCancellations(conn, records);
+
+                // Cars may be free again once these bookings are gone
+                for (String plate : plates) {
+                    rentalDAO.updateCarStatus(conn, plate);
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        TableChanges.RENTALS.changed(rentalIds);
+        TableChanges.CANCELLATIONS.changed(records.stream().map(CancellationRecord::getCancellationId).toList());
+        return rentalIds.size();
+    }
+
+    private void markCancelled(Connection conn, List<String> rentalIds) throws SQLException {
+        String sql = "UPDATE rental_details SET rental_status = 'CANCELLED' WHERE rental_id IN ("
+                + String.join(", ", Collections.nCopies(rentalIds.size(), "?")) + ")";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rentalIds.size(); i++) {
+                stmt.setString(i + 1, rentalIds.get(i));
+            }
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -24,7 +24,7 @@ import java.util.Optional;
 
 public class CancellationView {
     // UI Components - made public for controller access
-    public Button addButton, modifyButton, returnButton, filterButton;
+    public Button addButton, modifyButton, returnButton, filterButton, exportButton;
     public TextField searchField;
     public TableView<CancellationRecord> tableView;
     private final Scene scene;
@@ -33,7 +33,7 @@ public class CancellationView {
 // ===== BACKGROUND SETUP =====
         StackPane root = new StackPane();
         // Load and set background image
-        Image bgImage = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png"));
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -200,17 +200,20 @@ public class CancellationView {
         addButton = new Button("Add");
         modifyButton = new Button("Modify");
         returnButton = new Button("Return");
+        exportButton = new Button("Export");
 
         addButton.getStyleClass().add("small-button");
         modifyButton.getStyleClass().add("small-button");
         returnButton.getStyleClass().add("small-button");
+        exportButton.getStyleClass().add("small-button");
 
         addButton.setPrefWidth(120);
         modifyButton.setPrefWidth(120);
         returnButton.setPrefWidth(120);
+        exportButton.setPrefWidth(120);
 
         // Horizontal box for action buttons
-        HBox buttonBox = new HBox(15, addButton, modifyButton, returnButton);
+        HBox buttonBox = new HBox(15, addButton, modifyButton, exportButton, returnButton);
         buttonBox.setAlignment(Pos.CENTER);
 
         // ===== CARD CONTAINER SETUP =====
@@ -295,10 +298,11 @@ public class CancellationView {
      * Displays a popup dialog for adding a new cancellation record.
      * Includes input validation and dynamic field enabling.
      *
+     * The table picks the new row up through {@link TableChanges}.
+     *
      * @param dao Data Access Object for cancellation operations
-     * @param refresh Callback function to refresh the table after addition
      */
-    public void showAddCancellationPopup(CancellationDAO dao, Runnable refresh) {
+    public void showAddCancellationPopup(CancellationDAO dao) {
         Stage popup = new Stage();
         popup.initModality(Modality.APPLICATION_MODAL);
         popup.setTitle("Add New Cancellation");
@@ -380,23 +384,17 @@ public class CancellationView {
                     return;
                 }
 
-                // Generate new ID and create cancellation record
-                String generatedId = dao.generateNextCancellationId();
-                CancellationRecord cancellation = new CancellationRecord(
-                        generatedId,
-                        rentalId.getValue(),
-                        staffId.getValue(),
-                        LocalDateTime.now(),
-                        reason.getText()
-                );
-
-                dao.addCancellation(cancellation);
-                refresh.run();
+                // Cancels the rental and records it in one transaction with an allocated ID
+                new CancellationService().cancel(rentalId.getValue(), staffId.getValue(), reason.getText());
                 popup.close();
                 showSuccessPopup("Success", "Cancellation added successfully!");
             } catch (NumberFormatException ex) {
                 message.setText("Please enter valid numbers for rental and staff ID");
                 message.setStyle("-fx-text-fill: red; -fx-font-weight: bold;");
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                message.setText(ex.getMessage());   // e.g. rental already completed or cancelled
+                message.setStyle("-fx-text-fill: red; -fx-font-weight: bold;");
             } catch (Exception ex) {
                 ex.printStackTrace();
                 message.setText("Failed to add cancellation. Please try again.");
@@ -436,9 +434,8 @@ public class CancellationView {
      *
      * @param dao Data Access Object for cancellation operations
      * @param cancellation The cancellation record to modify
-     * @param refresh Callback function to refresh the table after modification
      */
-    public void showModifyCancellationPopup(CancellationDAO dao, CancellationRecord cancellation, Runnable refresh) {
+    public void showModifyCancellationPopup(CancellationDAO dao, CancellationRecord cancellation) {
         if (cancellation == null) {
             showSuccessPopup("No Selection", "Please select a cancellation to modify.");
             return;
@@ -555,7 +552,6 @@ public class CancellationView {
                 cancellation.setReason(reason.getText());
 
                 dao.updateCancellation(cancellation);
-                refresh.run();
                 popup.close();
                 showSuccessPopup("Success", "Cancellation updated successfully!");
             } catch (NumberFormatException ex) {
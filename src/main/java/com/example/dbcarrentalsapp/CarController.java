@@ -14,12 +14,25 @@ public class CarController {
     private final CarView view;
     private final Stage stage;
     private final CarDAO dao;
-    private ObservableList<CarRecord> masterList;
+    private final ObservableList<CarRecord> masterList = FXCollections.observableArrayList();
+    private final ObservableList<CarRecord> filteredList = FXCollections.observableArrayList();
+    private final TableLoader<CarRecord> loader;
+    private final SearchIndex<CarRecord> searchIndex = new SearchIndex<>(masterList,
+            CarRecord::getCarModel,
+            CarRecord::getCarBrand,
+            CarRecord::getCarPlateNumber,
+            CarRecord::getCarStatus,
+            CarRecord::getCarTransmission,
+            CarRecord::getStringVersionOfCarMileage,
+            CarRecord::getStringVersionOfCarSeatNumber,
+            CarRecord::getStringVersionOfYearManufactured,
+            CarRecord::getStringVersionOfCarRentalFee);
 
     public CarController(CarView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new CarDAO();
+        this.loader = new TableLoader<>("cars", view.tableView, this::showCars);
 
         setupActions();
         loadCars();
@@ -29,11 +42,7 @@ public class CarController {
     private void setupActions() {
 
         // ===== Return to Manage Records =====
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // ===== Add Cars =====
         view.addButton.setOnAction(e ->
@@ -79,38 +88,32 @@ public class CarController {
 
         // Optional: Press Enter in search field to filter
         view.searchField.setOnAction(e -> applyFilter());
+
+        // Filter as the user types
+        DebouncedSearch.attach(view.searchField, text -> applyFilter());
     }
 
     /** Loads all Cars from database **/
     public void loadCars() {
-        List<CarRecord> cars = dao.getAllCars();
-        if (cars == null) cars = List.of(); // avoid NPE
-        masterList = FXCollections.observableArrayList(cars);
-        view.tableView.setItems(masterList);
+        loader.load(CarDAO::getAllCars);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search **/
+    private void showCars(List<CarRecord> cars) {
+        masterList.setAll(cars);   // the search index follows the list
+        applyFilter();
     }
 
-    /** Applies text-based filtering **/
+    /** Applies text-based filtering through the search index **/
     private void applyFilter() {
-        String filterText = view.searchField.getText().toLowerCase().trim();
-        String og = view.searchField.getText().trim(); // For numeric or exact-case fields
+        String filterText = view.searchField.getText().trim();
 
         if (filterText.isEmpty()) {
             view.tableView.setItems(masterList);
             return;
         }
 
-        ObservableList<CarRecord> filteredList = masterList.filtered(record ->
-                record.getCarModel().toLowerCase().contains(filterText) ||
-                        record.getCarBrand().toLowerCase().contains(filterText) ||
-                        record.getCarPlateNumber().contains(og) ||
-                        record.getCarStatus().toLowerCase().contains(filterText) ||
-                        record.getCarTransmission().toLowerCase().contains(filterText) ||
-                        record.getStringVersionOfCarMileage().contains(og) ||
-                        record.getStringVersionOfCarSeatNumber().contains(og) ||
-                        record.getStringVersionOfYearManufactured().contains(og) ||
-                        record.getStringVersionOfCarRentalFee().contains(og)   // ✅ ADDED
-        );
-
+        filteredList.setAll(searchIndex.search(filterText));
         view.tableView.setItems(filteredList);
     }
 
@@ -19,18 +19,7 @@ public class CarDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                cars.add(new CarRecord(
-                        rs.getString("car_plate_number"),
-                        rs.getString("car_transmission"),
-                        rs.getString("car_model"),
-                        rs.getString("car_brand"),
-                        rs.getInt("car_year_manufactured"),
-                        rs.getInt("car_mileage"),
-                        rs.getInt("car_seat_number"),
-                        rs.getDouble("car_rental_fee"),   // NEW FIELD
-                        rs.getString("car_status"),
-                        rs.getString("car_branch_id")
-                ));
+                cars.add(mapCar(rs));
             }
 
         } catch (SQLException e) {
@@ -39,6 +28,49 @@ public class CarDAO {
         return cars;
     }
 
+    /**
+     * Available cars of a branch whose plate starts with the given prefix, for the
+     * rental picker. Served by idx_car_branch_status_plate, so it reads at most
+     * {@code limit} index entries however many cars there are.
+     */
+    public static List<CarRecord> findAvailableCarsByPrefix(String branchId, String prefix, int limit) {
+        List<CarRecord> cars = new ArrayList<>();
+        String query = "SELECT * FROM car_record " +
+                "WHERE car_branch_id = ? AND car_status = 'Available' AND car_plate_number LIKE ? " +
+                "ORDER BY car_plate_number LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, branchId);
+            stmt.setString(2, DBConnection.likePrefix(prefix));
+            stmt.setInt(3, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    cars.add(mapCar(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return cars;
+    }
+
+    private static CarRecord mapCar(ResultSet rs) throws SQLException {
+        return new CarRecord(
+                rs.getString("car_plate_number"),
+                rs.getString("car_transmission"),
+                rs.getString("car_model"),
+                rs.getString("car_brand"),
+                rs.getInt("car_year_manufactured"),
+                rs.getInt("car_mileage"),
+                rs.getInt("car_seat_number"),
+                rs.getDouble("car_rental_fee"),   // NEW FIELD
+                rs.getString("car_status"),
+                rs.getString("car_branch_id")
+        );
+    }
+
     /**
      * Adds a new car if the plate number is unique.
      */
@@ -111,6 +143,7 @@ public class CarDAO {
             pstmt.setString(10, plateNumber); // WHERE
 
             int rows = pstmt.executeUpdate();
+            if (rows > 0) ViolationAnalyticsEngine.invalidate();   // brand, model, year or mileage may have changed
             return rows > 0;
 
         } catch (SQLException e) {
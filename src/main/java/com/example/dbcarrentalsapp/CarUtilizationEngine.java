@@ -0,0 +1,246 @@
+package com.example.dbcarrentalsapp;
+
+import model.CarUtilizationReport;
+import model.UtilizationSummary;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Computes car utilization for an arbitrary reporting window.
+ *
+ * Each rental's pickup–return interval (actual when recorded, expected otherwise,
+ * and "until now" for ACTIVE rentals that are overdue) is clipped to the window and
+ * the rented time is summed per car. Rentals are streamed once, ordered by interval
+ * start, so overlapping bookings of the same car are merged in a single sweep
+ * instead of being double counted.
+ */
+public class CarUtilizationEngine {
+
+    private static final double MILLIS_PER_HOUR = 1000.0 * 60 * 60;
+
+    // Start/end expressions shared by the SELECT list and the window predicate
+    private static final String INTERVAL_START =
+            "COALESCE(rd.rental_actual_pickup_datetime, rd.rental_expected_pickup_datetime)";
+    private static final String INTERVAL_END = """
+            CASE
+                WHEN rd.rental_actual_return_datetime IS NOT NULL THEN rd.rental_actual_return_datetime
+                WHEN rd.rental_status = 'ACTIVE' THEN GREATEST(rd.rental_expected_return_datetime, NOW())
+                ELSE rd.rental_expected_return_datetime
+            END""";
+
+    /**
+     * Everything one window produces: per-car rows plus branch and segment roll-ups.
+     */
+    public static class Result {
+        private final List<CarUtilizationReport> cars;
+        private final List<UtilizationSummary> branches;
+        private final List<UtilizationSummary> segments;
+
+        Result(List<CarUtilizationReport> cars, List<UtilizationSummary> branches, List<UtilizationSummary> segments) {
+            this.cars = cars;
+            this.branches = branches;
+            this.segments = segments;
+        }
+
+        public List<CarUtilizationReport> getCars() { return cars; }
+        public List<UtilizationSummary> getBranches() { return branches; }
+        public List<UtilizationSummary> getSegments() { return segments; }
+    }
+
+    /**
+     * Running state for one car during the sweep.
+     */
+    private static class CarAccumulator {
+        final String plate, brand, model, transmission, branchName, segment;
+        long coveredUntil = Long.MIN_VALUE;  // end of the merged interval seen so far
+        long rentedMillis;
+        int rentals;
+
+        CarAccumulator(String plate, String brand, String model, String transmission,
+                       String branchName, String segment) {
+            this.plate = plate;
+            this.brand = brand;
+            this.model = model;
+            this.transmission = transmission;
+            this.branchName = branchName;
+            this.segment = segment;
+        }
+
+        /**
+         * Adds an already clipped interval. Starts arrive in ascending order,
+         * so only the part beyond coveredUntil is new rented time.
+         */
+        void add(long start, long end) {
+            rentals++;
+            if (start >= coveredUntil) {
+                rentedMillis += end - start;
+                coveredUntil = end;
+            } else if (end > coveredUntil) {
+                rentedMillis += end - coveredUntil;
+                coveredUntil = end;
+            }
+        }
+    }
+
+    /**
+     * Computes utilization for every car over [from, to).
+     *
+     * @param from inclusive window start
+     * @param to exclusive window end
+     * @return per-car, per-branch and per-segment utilization
+     * @throws SQLException If database access error occurs
+     */
+    public Result compute(LocalDateTime from, LocalDateTime to) throws SQLException {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Window end must be after window start.");
+        }
+
+        long windowStart = Timestamp.valueOf(from).getTime();
+        long windowEnd = Timestamp.valueOf(to).getTime();
+
+        Map<String, CarAccumulator> fleet = loadFleet();
+        sweepRentals(fleet, from, to, windowStart, windowEnd);
+
+        return summarize(fleet.values(), (windowEnd - windowStart) / MILLIS_PER_HOUR);
+    }
+
+    /**
+     * Loads every car once so idle cars still show up with 0% utilization.
+     */
+    private Map<String, CarAccumulator> loadFleet() throws SQLException {
+        String sql = """
+                SELECT c.car_plate_number, c.car_brand, c.car_model, c.car_transmission,
+                       c.car_seat_number, b.branch_name
+                FROM car_record c
+                JOIN branch_record b ON c.car_branch_id = b.branch_id
+                """;
+
+        Map<String, CarAccumulator> fleet = new HashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                String plate = rs.getString("car_plate_number");
+                String transmission = rs.getString("car_transmission");
+                fleet.put(plate, new CarAccumulator(
+                        plate,
+                        rs.getString("car_brand"),
+                        rs.getString("car_model"),
+                        transmission,
+                        rs.getString("branch_name"),
+                        segmentOf(transmission, rs.getInt("car_seat_number"))
+                ));
+            }
+        }
+        return fleet;
+    }
+
+    /**
+     * Streams the rentals overlapping the window in start order and feeds them to their cars.
+     */
+    private void sweepRentals(Map<String, CarAccumulator> fleet, LocalDateTime from, LocalDateTime to,
+                              long windowStart, long windowEnd) throws SQLException {
+        String sql = String.format("""
+                SELECT rd.rental_car_plate_number,
+                       %1$s AS interval_start,
+                       %2$s AS interval_end
+                FROM rental_details rd
+                WHERE rd.rental_status <> 'CANCELLED'
+                  AND %1$s < ?
+                  AND %2$s > ?
+                ORDER BY interval_start
+                """, INTERVAL_START, INTERVAL_END);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Row-by-row streaming so millions of rentals never sit in the heap at once
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(to));
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    CarAccumulator car = fleet.get(rs.getString(1));
+                    Timestamp startTs = rs.getTimestamp(2);
+                    Timestamp endTs = rs.getTimestamp(3);
+                    if (car == null || startTs == null || endTs == null) continue;
+
+                    long start = Math.max(startTs.getTime(), windowStart);
+                    long end = Math.min(endTs.getTime(), windowEnd);
+                    if (end > start) {
+                        car.add(start, end);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Turns the accumulators into report rows and rolls them up by branch and by segment.
+     */
+    private Result summarize(Collection<CarAccumulator> accumulators, double windowHours) {
+        List<CarUtilizationReport> cars = new ArrayList<>(accumulators.size());
+        Map<String, double[]> byBranch = new TreeMap<>();
+        Map<String, double[]> bySegment = new TreeMap<>();
+
+        for (CarAccumulator acc : accumulators) {
+            double hours = acc.rentedMillis / MILLIS_PER_HOUR;
+            double rate = Math.round(hours / windowHours * 10000.0) / 100.0;
+
+            cars.add(new CarUtilizationReport(
+                    acc.branchName,
+                    acc.plate,
+                    acc.model,
+                    acc.brand,
+                    acc.transmission,
+                    acc.rentals,
+                    Math.round(hours * 100.0) / 100.0,
+                    rate
+            ));
+
+            addTo(byBranch, acc.branchName, acc, hours);
+            addTo(bySegment, acc.segment, acc, hours);
+        }
+
+        // Same ordering the old report used: branch name, then busiest car first
+        cars.sort(Comparator.comparing(CarUtilizationReport::getBranchName)
+                .thenComparing(Comparator.comparingDouble(CarUtilizationReport::getUtilizationRate).reversed()));
+
+        return new Result(cars, toSummaries(byBranch, windowHours), toSummaries(bySegment, windowHours));
+    }
+
+    // totals[0] = cars, totals[1] = rentals, totals[2] = rented hours
+    private static void addTo(Map<String, double[]> groups, String key, CarAccumulator acc, double hours) {
+        double[] totals = groups.computeIfAbsent(key, k -> new double[3]);
+        totals[0]++;
+        totals[1] += acc.rentals;
+        totals[2] += hours;
+    }
+
+    private static List<UtilizationSummary> toSummaries(Map<String, double[]> groups, double windowHours) {
+        List<UtilizationSummary> list = new ArrayList<>(groups.size());
+        for (Map.Entry<String, double[]> e : groups.entrySet()) {
+            double[] t = e.getValue();
+            list.add(new UtilizationSummary(
+                    e.getKey(),
+                    (int) t[0],
+                    (int) t[1],
+                    Math.round(t[2] * 100.0) / 100.0,
+                    t[0] * windowHours
+            ));
+        }
+        return list;
+    }
+
+    /**
+     * Fleet segment label used for the segment roll-up.
+     */
+    static String segmentOf(String transmission, int seats) {
+        return transmission + " / " + seats + " seats";
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.dbcarrentalsapp;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import model.CarUtilizationReport;
 
-import java.util.List;
+import java.time.LocalDate;
 
 public class CarUtilizationReportController {
     // 1. Use the correct DAO
@@ -13,6 +15,9 @@ public class CarUtilizationReportController {
     private final CarUtilizationReportView view;
     private final Stage stage;
 
+    // Last computed window, kept for the branch/segment popup
+    private CarUtilizationEngine.Result lastResult;
+
     public CarUtilizationReportController(CarUtilizationReportView view, Stage stage) {
         this.view = view;
         this.stage = stage;
@@ -26,32 +31,68 @@ public class CarUtilizationReportController {
         // Back button
         view.returnButton.setOnAction(e -> goBack());
 
+        // Reload for the selected window
+        view.loadButton.setOnAction(e -> loadReportData());
+
+        // Branch / fleet segment roll-ups of the loaded window
+        view.summaryButton.setOnAction(e -> {
+            if (lastResult == null) {
+                showError("Load utilization data first.");
+                return;
+            }
+            view.showSummaryPopup(lastResult.getBranches(), lastResult.getSegments());
+        });
+
+        // Export the rows currently in the table
+        view.exportButton.setOnAction(e -> ExportDialog.exportTable(stage, view.tableView, "car_utilization"));
+
         // You can add filter logic here if needed
         // view.filterButton.setOnAction(e -> filterData());
     }
 
-    // 3. New method to load and display the data
-    private void loadReportData() {
-        try {
-            // Get data from the DAO
-            List<CarUtilizationReport> reportList = carUtilizationReportDAO.getCarUtilizationReport();
+    // 3. Load and display the data for the selected window
+    public void loadReportData() {
+        LocalDate from = view.fromPicker.getValue();
+        LocalDate to = view.toPicker.getValue();
 
-            // Convert to ObservableList for JavaFX
-            ObservableList<CarUtilizationReport> observableList = FXCollections.observableArrayList(reportList);
+        if (from == null || to == null) {
+            showError("Please select both a start and an end date.");
+            return;
+        }
+        if (to.isBefore(from)) {
+            showError("End date cannot be before start date.");
+            return;
+        }
 
-            // Set the data in the TableView
-            view.tableView.setItems(observableList);
+        // Run the sweep off the FX thread; it streams every rental in the window
+        new Thread(() -> {
+            CarUtilizationEngine.Result result = carUtilizationReportDAO.getUtilization(from, to);
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Optionally show an alert to the user
-        }
+            Platform.runLater(() -> {
+                if (result == null) {
+                    showError("Failed to load car utilization.");
+                    return;
+                }
+                lastResult = result;
+
+                // Convert to ObservableList for JavaFX
+                ObservableList<CarUtilizationReport> observableList = FXCollections.observableArrayList(result.getCars());
+
+                // Set the data in the TableView
+                view.tableView.setItems(observableList);
+            });
+        }).start();
+    }
+
+    private void showError(String msg) {
+        Alert a = new Alert(Alert.AlertType.ERROR);
+        a.setTitle("Error");
+        a.setHeaderText(null);
+        a.setContentText(msg);
+        a.showAndWait();
     }
 
     private void goBack() {
-        // This part was correct
-        ManageReportsView mtv = new ManageReportsView(stage);
-        new ManageReportsController(mtv, stage); // attach controller
-        stage.setScene(mtv.getScene());
+        Navigator.go(Navigator.Screen.REPORTS);
     }
 }
@@ -10,12 +10,17 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import model.CarUtilizationReport;
+import model.UtilizationSummary;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public class CarUtilizationReportView {
 
     public TableView<CarUtilizationReport> tableView;
-    public Button returnButton, filterButton;
+    public Button returnButton, filterButton, loadButton, summaryButton, exportButton;
     public TextField searchField;
+    public DatePicker fromPicker, toPicker;
     private final Scene scene;
 
     public CarUtilizationReportView() {
@@ -29,9 +34,7 @@ public class CarUtilizationReportView {
 
         // ===== BACKGROUND =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png");
 
         BackgroundImage bg = new BackgroundImage(
                 bgImage,
@@ -75,7 +78,22 @@ public class CarUtilizationReportView {
         filterButton.setPrefWidth(120);
         filterButton.getStyleClass().add("small-button");  // revenue-style button
 
-        HBox searchRow = new HBox(10, searchField, filterButton);
+        // ===== REPORTING WINDOW =====
+        fromPicker = new DatePicker(LocalDate.now().minusDays(364));
+        fromPicker.setPrefWidth(150);
+        toPicker = new DatePicker(LocalDate.now());
+        toPicker.setPrefWidth(150);
+
+        Label fromLabel = new Label("From");
+        fromLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+        Label toLabel = new Label("To");
+        toLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+
+        loadButton = new Button("Load");
+        loadButton.setPrefWidth(120);
+        loadButton.getStyleClass().add("small-button");
+
+        HBox searchRow = new HBox(10, fromLabel, fromPicker, toLabel, toPicker, loadButton, searchField, filterButton);
         searchRow.setAlignment(Pos.CENTER);
 
         // ===== TABLE COLUMNS (unchanged logic) =====
@@ -98,7 +116,7 @@ public class CarUtilizationReportView {
         TableColumn<CarUtilizationReport, Integer> totalRentalsCol = new TableColumn<>("Total Rentals");
         totalRentalsCol.setCellValueFactory(new PropertyValueFactory<>("totalRentals"));
 
-        TableColumn<CarUtilizationReport, Integer> totalDaysCol = new TableColumn<>("No. Of Days");
+        TableColumn<CarUtilizationReport, Double> totalDaysCol = new TableColumn<>("No. Of Days");
         totalDaysCol.setCellValueFactory(new PropertyValueFactory<>("totalRentalDays"));
 
         TableColumn<CarUtilizationReport, Double> rateCol = new TableColumn<>("Util. Rate (%)");
@@ -129,7 +147,15 @@ public class CarUtilizationReportView {
         returnButton.setPrefWidth(140);
         returnButton.getStyleClass().add("small-button");
 
-        HBox buttonRow = new HBox(returnButton);
+        summaryButton = new Button("By Branch / Segment");
+        summaryButton.setPrefWidth(180);
+        summaryButton.getStyleClass().add("small-button");
+
+        exportButton = new Button("Export");
+        exportButton.setPrefWidth(140);
+        exportButton.getStyleClass().add("small-button");
+
+        HBox buttonRow = new HBox(20, summaryButton, exportButton, returnButton);
         buttonRow.setAlignment(Pos.CENTER);
 
         // ===== TABLE CARD (exact same design as Revenue) =====
@@ -160,6 +186,63 @@ public class CarUtilizationReportView {
         );
     }
 
+    /**
+     * Shows the branch and fleet-segment roll-ups of the loaded window.
+     */
+    public void showSummaryPopup(List<UtilizationSummary> branches, List<UtilizationSummary> segments) {
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Utilization Summary");
+        dialog.setHeaderText(null);
+
+        dialog.getDialogPane().setStyle("""
+            -fx-background-color: rgba(20,20,30,0.95);
+            -fx-border-color: linear-gradient(to right, #7a40ff, #b46bff);
+            -fx-border-width: 2;
+            -fx-border-radius: 10;
+            -fx-background-radius: 10;
+            """);
+
+        Label branchTitle = new Label("BY BRANCH");
+        branchTitle.setStyle("-fx-text-fill: white; -fx-font-size: 16px; -fx-font-weight: bold;");
+        Label segmentTitle = new Label("BY FLEET SEGMENT");
+        segmentTitle.setStyle("-fx-text-fill: white; -fx-font-size: 16px; -fx-font-weight: bold;");
+
+        VBox box = new VBox(12,
+                branchTitle, buildSummaryTable("Branch", branches),
+                segmentTitle, buildSummaryTable("Segment", segments));
+        box.setPadding(new Insets(20));
+
+        dialog.getDialogPane().setContent(box);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
+        dialog.showAndWait();
+    }
+
+    private TableView<UtilizationSummary> buildSummaryTable(String groupLabel, List<UtilizationSummary> rows) {
+        TableView<UtilizationSummary> table = new TableView<>();
+        table.setPrefSize(700, 220);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        table.getStyleClass().add("custom-table");
+
+        TableColumn<UtilizationSummary, String> groupCol = new TableColumn<>(groupLabel);
+        groupCol.setCellValueFactory(new PropertyValueFactory<>("groupName"));
+
+        TableColumn<UtilizationSummary, Integer> carsCol = new TableColumn<>("Cars");
+        carsCol.setCellValueFactory(new PropertyValueFactory<>("carCount"));
+
+        TableColumn<UtilizationSummary, Integer> rentalsCol = new TableColumn<>("Rentals");
+        rentalsCol.setCellValueFactory(new PropertyValueFactory<>("totalRentals"));
+
+        TableColumn<UtilizationSummary, Double> hoursCol = new TableColumn<>("Hours Rented");
+        hoursCol.setCellValueFactory(new PropertyValueFactory<>("totalHoursRented"));
+
+        TableColumn<UtilizationSummary, Double> rateCol = new TableColumn<>("Util. Rate (%)");
+        rateCol.setCellValueFactory(new PropertyValueFactory<>("utilizationRate"));
+
+        table.getColumns().addAll(groupCol, carsCol, rentalsCol, hoursCol, rateCol);
+        table.getItems().setAll(rows);
+        return table;
+    }
+
     public Scene getScene() {
         return scene;
     }
@@ -23,9 +23,7 @@ public class CarView {
     public CarView() {
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -244,8 +242,7 @@ public class CarView {
         branchIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate branch IDs
-        BranchDAO branchDAO = new BranchDAO();
-        branchIDComboBox.getItems().addAll(branchDAO.getAllBranchDisplayValues());
+        branchIDComboBox.setItems(ReferenceDataCache.BRANCHES.get());
 
         Button addBtn = new Button("Add");
         Button cancelBtn = new Button("Cancel");
@@ -426,8 +423,7 @@ public class CarView {
         branchIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate branch IDs and set current value
-        BranchDAO branchDAO = new BranchDAO();
-        branchIDComboBox.getItems().addAll(branchDAO.getAllBranchDisplayValues());
+        branchIDComboBox.setItems(ReferenceDataCache.BRANCHES.get());
         // set to selected branch id (if branch display values are "ID — Name", try to find matching item)
         String currentBranch = selected.getCarBranchId();
         if (currentBranch != null) {
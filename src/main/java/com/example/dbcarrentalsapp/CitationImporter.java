@@ -0,0 +1,464 @@
+package com.example.dbcarrentalsapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of traffic citations issued by the authorities.
+ *
+ * The file is a CSV with a header row and the columns
+ * {@code plate, timestamp[, fine][, reason]}; the timestamp is "yyyy-MM-dd HH:mm[:ss]"
+ * and a missing fine is priced from the Traffic Violation tariff. Each citation is
+ * charged to the rental that had the car at that instant.
+ *
+ * Everything the rows are checked against (rental intervals per plate, citations
+ * already on file) is read up front with one query each, so validation runs in memory.
+ * The entering staff member must be Operations staff of each citation's rental branch
+ * (see StaffEligibilityCache); other rows are rejected. Valid rows are then inserted
+ * as JDBC batches, one transaction per chunk that also reserves the chunk's violation
+ * IDs; a failed chunk is rolled back and reported without affecting the others.
+ */
+public class CitationImporter {
+
+    private static final String TRAFFIC_VIOLATION = "Traffic Violation";
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REASON = 255;
+
+    private static final DateTimeFormatter TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd[ ]['T']HH:mm")
+            .optionalStart().appendPattern(":ss").optionalEnd()
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter();
+
+    /** One rejected line of the input file. */
+    public static class RowError {
+        public final int line;
+        public final String content;
+        public final String message;
+
+        RowError(int line, String content, String message) {
+            this.line = line;
+            this.content = content;
+            this.message = message;
+        }
+    }
+
+    /** Outcome of an import: rows inserted plus every rejected row. */
+    public static class ImportResult {
+        private int imported;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public int getImported() { return imported; }
+        public List<RowError> getErrors() { return errors; }
+
+        /**
+         * Writes the rejected rows as CSV (line, error, original content).
+         */
+        public void writeErrorReport(Path target) throws IOException {
+            try (BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                out.write("line,error,content");
+                out.newLine();
+                for (RowError e : errors) {
+                    out.write(e.line + "," + quote(e.message) + "," + quote(e.content));
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // Parsed citation waiting to be resolved / inserted
+    private static class Citation {
+        final int line;
+        final String raw;
+        final String plate;
+        final LocalDateTime timestamp;
+        final Double fine;           // null -> tariff price
+        final String reason;
+        String rentalId;
+        String branchId;
+
+        Citation(int line, String raw, String plate, LocalDateTime timestamp, Double fine, String reason) {
+            this.line = line;
+            this.raw = raw;
+            this.plate = plate;
+            this.timestamp = timestamp;
+            this.fine = fine;
+            this.reason = reason;
+        }
+    }
+
+    // Rentals of one car, sorted by pickup, as parallel arrays for binary search
+    private static class PlateIntervals {
+        long[] starts = new long[4];
+        long[] ends = new long[4];
+        String[] rentalIds = new String[4];
+        String[] branchIds = new String[4];
+        int size;
+
+        void add(long start, long end, String rentalId, String branchId) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                rentalIds = Arrays.copyOf(rentalIds, size * 2);
+                branchIds = Arrays.copyOf(branchIds, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            rentalIds[size] = rentalId;
+            branchIds[size] = branchId;
+            size++;
+        }
+
+        /** @return index of the rental holding the car at {@code t}, or -1 */
+        int find(long t) {
+            int pos = Arrays.binarySearch(starts, 0, size, t);
+            if (pos < 0) pos = -pos - 2;   // last rental picked up before t
+            return pos >= 0 && t <= ends[pos] ? pos : -1;
+        }
+    }
+
+    // ============================
+    // 1. IMPORT
+    // ============================
+
+    /**
+     * Reads, validates and inserts every citation in the file.
+     *
+     * @param staffId staff member recorded as entering the violations
+     */
+    public ImportResult importFile(Path file, String staffId) throws IOException, SQLException {
+        ImportResult result = new ImportResult();
+
+        List<Citation> citations = parse(file, result);
+        if (citations.isEmpty()) {
+            return result;
+        }
+
+        LocalDateTime min = citations.get(0).timestamp;
+        LocalDateTime max = min;
+        Set<String> plates = new HashSet<>();
+        for (Citation c : citations) {
+            if (c.timestamp.isBefore(min)) min = c.timestamp;
+            if (c.timestamp.isAfter(max)) max = c.timestamp;
+            plates.add(c.plate);
+        }
+
+        Map<String, PlateIntervals> intervals;
+        Set<String> existing;
+        StaffEligibilityCache eligibility = StaffEligibilityCache.get();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            intervals = loadIntervals(conn, plates, min, max);
+            existing = loadExisting(conn, min, max);
+        }
+
+        List<Citation> valid = resolve(citations, intervals, existing, staffId, eligibility, result);
+        Set<String> chargedRentals = insert(valid, staffId, result);
+
+        if (result.imported > 0) {
+            // Back-dated fines land before the ledger's cached position
+            CompanyRevenueLedger.invalidateIfBefore(min);
+            RenterProfileDAO.rebuildForRentals(chargedRentals);
+        }
+        return result;
+    }
+
+    private List<Citation> parse(Path file, ImportResult result) throws IOException {
+        List<Citation> citations = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = in.readLine();   // plate,timestamp,fine,reason
+            if (header == null) return citations;
+
+            String line;
+            int lineNo = 1;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+
+                List<String> cols = splitCsv(line);
+                String plate = cols.get(0).trim().toUpperCase();
+                String time = cols.size() > 1 ? cols.get(1).trim() : "";
+                String fineText = cols.size() > 2 ? cols.get(2).trim() : "";
+                String reason = cols.size() > 3 ? cols.get(3).trim() : "";
+
+                if (plate.isEmpty() || plate.length() > 7) {
+                    result.errors.add(new RowError(lineNo, line, "Invalid plate number"));
+                    continue;
+                }
+
+                LocalDateTime timestamp;
+                try {
+                    timestamp = LocalDateTime.parse(time, TIMESTAMP);
+                } catch (DateTimeParseException e) {
+                    result.errors.add(new RowError(lineNo, line, "Invalid timestamp: " + time));
+                    continue;
+                }
+
+                Double fine = null;
+                if (!fineText.isEmpty()) {
+                    try {
+                        fine = Double.parseDouble(fineText);
+                    } catch (NumberFormatException e) {
+                        fine = -1.0;
+                    }
+                    if (fine < 0 || fine >= 100_000_000) {
+                        result.errors.add(new RowError(lineNo, line, "Invalid fine: " + fineText));
+                        continue;
+                    }
+                }
+
+                if (!seen.add(plate + '|' + timestamp)) {
+                    result.errors.add(new RowError(lineNo, line, "Duplicate citation in file"));
+                    continue;
+                }
+
+                citations.add(new Citation(lineNo, line, plate, timestamp, fine, reason));
+            }
+        }
+        return citations;
+    }
+
+    // Matches citations to rentals and drops those already recorded or outside the staff's branch
+    private List<Citation> resolve(List<Citation> citations, Map<String, PlateIntervals> intervals,
+                                   Set<String> existing, String staffId, StaffEligibilityCache eligibility,
+                                   ImportResult result) {
+        List<Citation> valid = new ArrayList<>(citations.size());
+        PenaltyRuleEngine tariffs = PenaltyRuleEngine.get();
+
+        for (Citation c : citations) {
+            PlateIntervals rentals = intervals.get(c.plate);
+            int idx = rentals != null ? rentals.find(epochSecond(c.timestamp)) : -1;
+            if (idx < 0) {
+                result.errors.add(new RowError(c.line, c.raw, "No rental had this car at " + c.timestamp));
+                continue;
+            }
+            c.rentalId = rentals.rentalIds[idx];
+            c.branchId = rentals.branchIds[idx];
+
+            if (!eligibility.isEligible(staffId, c.branchId)) {
+                result.errors.add(new RowError(c.line, c.raw, "Staff " + staffId
+                        + " is not Operations staff of branch " + c.branchId + " (rental " + c.rentalId + ")"));
+                continue;
+            }
+
+            if (existing.contains(c.rentalId + '|' + c.timestamp)) {
+                result.errors.add(new RowError(c.line, c.raw, "Already recorded for rental " + c.rentalId));
+                continue;
+            }
+
+            if (c.fine == null
+                    && Double.isNaN(tariffs.price(TRAFFIC_VIOLATION, c.branchId, c.timestamp.toLocalDate(), 0))) {
+                result.errors.add(new RowError(c.line, c.raw, "No fine given and no tariff applies"));
+                continue;
+            }
+            valid.add(c);
+        }
+        return valid;
+    }
+
+    /** @return the rentals that received at least one citation */
+    private Set<String> insert(List<Citation> valid, String staffId, ImportResult result) throws SQLException {
+        String sql = """
+            INSERT INTO violation_details (
+                violation_id, violation_rental_id, violation_staff_id, violation_type,
+                violation_penalty_fee, violation_reason, violation_duration_hours, violation_timestamp
+            ) VALUES (?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+        PenaltyRuleEngine tariffs = PenaltyRuleEngine.get();
+        Set<String> chargedRentals = new HashSet<>();
+        List<String> imported = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+                    List<Citation> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+
+                    try {
+                        // Reserved in this chunk's transaction: a rollback hands them back,
+                        // and the next chunk reserves afresh past any concurrent inserts
+                        int firstId = ViolationDAO.allocateIds(conn, chunk.size());
+                        int nextId = firstId;
+
+                        for (Citation c : chunk) {
+                            double fine = c.fine != null ? c.fine
+                                    : tariffs.price(TRAFFIC_VIOLATION, c.branchId, c.timestamp.toLocalDate(), 0);
+                            String reason = c.reason.isEmpty() ? "Traffic citation" : c.reason;
+                            if (reason.length() > MAX_REASON) reason = reason.substring(0, MAX_REASON);
+
+                            stmt.setString(1, ViolationDAO.formatId(nextId++));
+                            stmt.setString(2, c.rentalId);
+                            stmt.setString(3, staffId);
+                            stmt.setString(4, TRAFFIC_VIOLATION);
+                            stmt.setDouble(5, fine);
+                            stmt.setString(6, reason);
+                            stmt.setTimestamp(7, Timestamp.valueOf(c.timestamp));
+                            stmt.addBatch();
+                        }
+
+                        stmt.executeBatch();
+                        conn.commit();
+                        result.imported += chunk.size();
+                        for (Citation c : chunk) chargedRentals.add(c.rentalId);
+                        for (int id = firstId; id < nextId; id++) imported.add(ViolationDAO.formatId(id));
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        stmt.clearBatch();
+                        for (Citation c : chunk) {
+                            result.errors.add(new RowError(c.line, c.raw, "Chunk rolled back: " + e.getMessage()));
+                        }
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        TableChanges.VIOLATIONS.changed(imported);
+        return chargedRentals;
+    }
+
+    // ============================
+    // 2. REFERENCE DATA
+    // ============================
+
+    /**
+     * Every rental of the given cars overlapping [min, max]. A rental holds the car from
+     * pickup (booking time if never picked up) until it is returned; active rentals hold
+     * it until now. Cancelled rentals never had the car.
+     *
+     * The plates are bound {@link #CHUNK_SIZE} at a time, so only the cited cars' rentals
+     * are read, through the plate index; the overlap test compares the columns directly.
+     */
+    private Map<String, PlateIntervals> loadIntervals(Connection conn, Set<String> plates,
+                                                      LocalDateTime min, LocalDateTime max) throws SQLException {
+        Map<String, PlateIntervals> intervals = new HashMap<>();
+        List<String> plateList = new ArrayList<>(plates);
+
+        for (int from = 0; from < plateList.size(); from += CHUNK_SIZE) {
+            List<String> chunk = plateList.subList(from, Math.min(from + CHUNK_SIZE, plateList.size()));
+            String sql = """
+                SELECT rental_id, rental_car_plate_number, rental_branch_id,
+                       COALESCE(rental_actual_pickup_datetime, rental_expected_pickup_datetime) AS held_from,
+                       COALESCE(rental_actual_return_datetime, NOW()) AS held_until
+                FROM rental_details
+                WHERE rental_car_plate_number IN (%s)
+                  AND rental_status IN ('ACTIVE', 'COMPLETED')
+                  AND (rental_actual_pickup_datetime <= ?
+                       OR (rental_actual_pickup_datetime IS NULL AND rental_expected_pickup_datetime <= ?))
+                  AND (rental_actual_return_datetime >= ?
+                       OR (rental_actual_return_datetime IS NULL AND NOW() >= ?))
+                ORDER BY rental_car_plate_number, held_from
+                """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int i = 1;
+                for (String plate : chunk) stmt.setString(i++, plate);
+                stmt.setTimestamp(i++, Timestamp.valueOf(max));
+                stmt.setTimestamp(i++, Timestamp.valueOf(max));
+                stmt.setTimestamp(i++, Timestamp.valueOf(min));
+                stmt.setTimestamp(i, Timestamp.valueOf(min));
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    intervals.computeIfAbsent(rs.getString("rental_car_plate_number"), k -> new PlateIntervals()).add(
+                            epochSecond(rs.getTimestamp("held_from").toLocalDateTime()),
+                            epochSecond(rs.getTimestamp("held_until").toLocalDateTime()),
+                            rs.getString("rental_id"),
+                            rs.getString("rental_branch_id"));
+                }
+            }
+        }
+        return intervals;
+    }
+
+    // (rental, timestamp) of traffic violations already on file, so re-importing a file is harmless
+    private Set<String> loadExisting(Connection conn, LocalDateTime min, LocalDateTime max) throws SQLException {
+        String sql = """
+            SELECT violation_rental_id, violation_timestamp
+            FROM violation_details
+            WHERE violation_type = ? AND violation_timestamp BETWEEN ? AND ?
+            """;
+
+        Set<String> existing = new HashSet<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, TRAFFIC_VIOLATION);
+            stmt.setTimestamp(2, Timestamp.valueOf(min));
+            stmt.setTimestamp(3, Timestamp.valueOf(max));
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                existing.add(rs.getString("violation_rental_id") + '|'
+                        + rs.getTimestamp("violation_timestamp").toLocalDateTime());
+            }
+        }
+        return existing;
+    }
+
+    // ============================
+    // 3. HELPERS
+    // ============================
+    private static long epochSecond(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Splits one CSV line, honouring double-quoted fields with "" escapes
+    private static List<String> splitCsv(String line) {
+        List<String> cols = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                cols.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        cols.add(field.toString());
+        return cols;
+    }
+
+    private static String quote(String value) {
+        return '"' + (value == null ? "" : value.replace("\"", "\"\"")) + '"';
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.dbcarrentalsapp;
+
+import model.RevenueByBranchRecord;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cached running total of company revenue since establishment.
+ *
+ * Rentals (by rental_datetime) and penalties (by the later of violation_timestamp and
+ * their rental's rental_datetime) stamped before the watermark are folded into a settled
+ * total; each read adds the rows that became settled since the previous one and re-sums
+ * the recent tail up to NOW(), so the total always includes every row visible at the
+ * time of the read and, like the uncached query, no rental dated in the future.
+ *
+ * The watermark trails the database's own NOW() (read in the same statement, never the
+ * app clock) by {@link #SAFETY_WINDOW_SECONDS}; new rentals and late-return penalties are
+ * stamped with that same NOW(). A row whose transaction commits after
+ * its stamp has already passed the watermark would be missed, so the window bounds the
+ * staleness: only a row committed more than that long after its stamp is left out, and
+ * only until the next rebuild. Writes that change history instead of appending to it
+ * (fee edits, deletes, back-dated violations) call {@link #invalidate()} so the next
+ * read rebuilds from scratch.
+ */
+public class CompanyRevenueLedger {
+
+    // company establishment (inclusive)
+    static final LocalDate COMPANY_ESTABLISHED = LocalDate.of(2025, 1, 1);
+
+    // Rows stamped within this long of the database clock are re-read on every call
+    static final int SAFETY_WINDOW_SECONDS = 300;
+
+    private static final Timestamp NO_WATERMARK = new Timestamp(0);
+
+    private static BigDecimal settledRental = BigDecimal.ZERO;
+    private static BigDecimal settledPenalty = BigDecimal.ZERO;
+    private static Timestamp watermark = NO_WATERMARK;   // everything <= watermark is settled
+    private static boolean valid = false;
+
+    /**
+     * Returns the cumulative company revenue, advancing the cache to now first.
+     *
+     * @return company totals since {@link #COMPANY_ESTABLISHED}
+     * @throws SQLException If database access error occurs
+     */
+    public static synchronized RevenueByBranchRecord current() throws SQLException {
+        Timestamp from = valid ? watermark : NO_WATERMARK;
+
+        // One round trip: newly settled rows and the unsettled tail of both tables. NOW()
+        // is fixed for the whole statement, so the new watermark matches the sums exactly.
+        String sql = """
+            SELECT NOW() - INTERVAL ? SECOND AS new_watermark,
+                   r.settled AS rental_settled, r.tail AS rental_tail,
+                   p.settled AS penalty_settled, p.tail AS penalty_tail
+            FROM (
+                SELECT COALESCE(SUM(CASE WHEN rental_datetime <= NOW() - INTERVAL ? SECOND
+                                         THEN rental_total_payment END), 0) AS settled,
+                       COALESCE(SUM(CASE WHEN rental_datetime > NOW() - INTERVAL ? SECOND
+                                          AND rental_datetime <= NOW()
+                                         THEN rental_total_payment END), 0) AS tail
+                FROM rental_details
+                WHERE rental_datetime >= ? AND rental_datetime > ?
+            ) r
+            CROSS JOIN (
+                SELECT COALESCE(SUM(CASE WHEN pv.settles_at <= NOW() - INTERVAL ? SECOND
+                                         THEN pv.fee END), 0) AS settled,
+                       COALESCE(SUM(CASE WHEN pv.settles_at > NOW() - INTERVAL ? SECOND
+                                          AND pv.rental_datetime <= NOW()
+                                         THEN pv.fee END), 0) AS tail
+                FROM (
+                    SELECT v.violation_penalty_fee AS fee, rd.rental_datetime,
+                           GREATEST(v.violation_timestamp, rd.rental_datetime) AS settles_at
+                    FROM violation_details v
+                    INNER JOIN rental_details rd ON v.violation_rental_id = rd.rental_id
+                    WHERE rd.rental_datetime >= ?
+                      AND (v.violation_timestamp > ? OR rd.rental_datetime > ?)
+                ) pv
+            ) p
+            """;
+
+        Date established = Date.valueOf(COMPANY_ESTABLISHED);
+        BigDecimal rentalTail = BigDecimal.ZERO;
+        BigDecimal penaltyTail = BigDecimal.ZERO;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, SAFETY_WINDOW_SECONDS);
+            stmt.setInt(2, SAFETY_WINDOW_SECONDS);
+            stmt.setInt(3, SAFETY_WINDOW_SECONDS);
+            stmt.setDate(4, established);
+            stmt.setTimestamp(5, from);
+            stmt.setInt(6, SAFETY_WINDOW_SECONDS);
+            stmt.setInt(7, SAFETY_WINDOW_SECONDS);
+            stmt.setDate(8, established);
+            stmt.setTimestamp(9, from);
+            stmt.setTimestamp(10, from);
+
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                settledRental = (valid ? settledRental : BigDecimal.ZERO).add(rs.getBigDecimal("rental_settled"));
+                settledPenalty = (valid ? settledPenalty : BigDecimal.ZERO).add(rs.getBigDecimal("penalty_settled"));
+                rentalTail = rs.getBigDecimal("rental_tail");
+                penaltyTail = rs.getBigDecimal("penalty_tail");
+
+                // Never moves back, e.g. if the database clock is set back
+                Timestamp next = rs.getTimestamp("new_watermark");
+                if (next.after(from)) watermark = next;
+                valid = true;
+            }
+        }
+
+        return new RevenueByBranchRecord(
+                "ALL",
+                "WHOLE COMPANY (since " + COMPANY_ESTABLISHED + ")",
+                settledRental.add(rentalTail),
+                settledPenalty.add(penaltyTail)
+        );
+    }
+
+    /**
+     * Forces the next {@link #current()} call to rebuild from establishment.
+     */
+    public static synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Invalidates only if a newly written row is stamped at or before the watermark,
+     * i.e. it is already settled and would be skipped by the incremental advance.
+     */
+    public static synchronized void invalidateIfBefore(LocalDateTime timestamp) {
+        if (valid && timestamp != null && !Timestamp.valueOf(timestamp).after(watermark)) {
+            valid = false;
+        }
+    }
+}
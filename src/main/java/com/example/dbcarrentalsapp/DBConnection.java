@@ -1,30 +1,140 @@
 package com.example.dbcarrentalsapp;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
+/**
+ * Hands out database connections, one per caller.
+ *
+ * Every getConnection() gets a connection of its own, so a background load, a poll or
+ * an import never runs inside another thread's transaction. Closing it (the DAOs do so
+ * with try-with-resources) rolls back anything left uncommitted and puts the physical
+ * connection back in a small idle pool, so most calls skip the MySQL handshake.
+ */
 public class DBConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/dbcarrentals";
+    // rewriteBatchedStatements lets JDBC batches go out as multi-row INSERTs
+    private static final String URL = "jdbc:mysql://localhost:3306/dbcarrentals?rewriteBatchedStatements=true";
     private static final String USER = "root";  // change if needed
     private static final String PASSWORD = "newpassword";  // add your MySQL password if any
 
-    private static Connection connection;
+    private static final int MAX_IDLE = 4;
+    private static final long VALIDATE_AFTER_IDLE_MS = 30_000;   // re-check connections idle this long
+    private static final int VALIDATE_TIMEOUT_SECONDS = 2;
+
+    /** A physical connection waiting in the pool. */
+    private record Idle(Connection physical, long since) {}
+
+    private static final Deque<Idle> idle = new ArrayDeque<>();
 
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("Database connected successfully!");
+        Connection physical = null;
+        while (physical == null) {
+            Idle next;
+            synchronized (idle) {
+                next = idle.pollFirst();
+            }
+            if (next == null) {
+                physical = DriverManager.getConnection(URL, USER, PASSWORD);
+                System.out.println("Database connected successfully!");
+            } else if (System.currentTimeMillis() - next.since() < VALIDATE_AFTER_IDLE_MS
+                    || next.physical().isValid(VALIDATE_TIMEOUT_SECONDS)) {
+                physical = next.physical();
+            } else {
+                closeQuietly(next.physical());   // dropped by the server meanwhile
+            }
         }
-        return connection;
+        return lease(physical);
+    }
+
+    /**
+     * LIKE pattern for values starting with prefix; % and _ in the prefix match literally.
+     * With an index on the column, {@code col LIKE ?} is then a range scan.
+     */
+    public static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
 
+    /** Closes the idle connections, e.g. on exit; connections in use close when released. */
     public static void closeConnection() {
+        synchronized (idle) {
+            for (Idle i : idle) closeQuietly(i.physical());
+            idle.clear();
+        }
+        System.out.println("Database connections closed.");
+    }
+
+    // ============================
+    // POOLING
+    // ============================
+
+    /** Wraps a physical connection so that close() returns it to the pool instead. */
+    private static Connection lease(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            release(physical);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Pooled " + physical;
+                    default:
+                        if (closed) throw new SQLException("Connection is closed");
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static void release(Connection physical) {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
+            if (physical.isClosed()) return;
+            if (!physical.getAutoCommit()) {
+                physical.rollback();          // a caller that threw before commit or rollback
+                physical.setAutoCommit(true);
             }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            closeQuietly(physical);
+            return;
+        }
+
+        synchronized (idle) {
+            if (idle.size() < MAX_IDLE) {
+                idle.addFirst(new Idle(physical, System.currentTimeMillis()));
+                return;
+            }
+        }
+        closeQuietly(physical);
+    }
+
+    private static void closeQuietly(Connection physical) {
+        try {
+            physical.close();
         } catch (SQLException e) {
             e.printStackTrace();
         }
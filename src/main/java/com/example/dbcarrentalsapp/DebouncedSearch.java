@@ -0,0 +1,26 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+
+/**
+ * Search-as-you-type for the table screens: the filter runs once typing pauses,
+ * not on every keystroke.
+ */
+public class DebouncedSearch {
+
+    private static final Duration PAUSE = Duration.millis(200);
+
+    /**
+     * Calls onSearch with the field's text after it has stopped changing for a moment.
+     * Enter and the Filter button can still run the search immediately.
+     */
+    public static void attach(TextField field, Consumer<String> onSearch) {
+        PauseTransition pause = new PauseTransition(PAUSE);
+        pause.setOnFinished(e -> onSearch.accept(field.getText()));
+        field.textProperty().addListener((obs, oldText, newText) -> pause.playFromStart());
+    }
+}
@@ -5,17 +5,21 @@ import javafx.collections.ObservableList;
 import javafx.stage.Stage;
 import model.DepartmentRecord;
 
+import java.util.List;
+
 public class DepartmentController {
 
     private final Stage primaryStage;
     private final DepartmentView view;
     private final DepartmentDAO dao;
     private final ObservableList<DepartmentRecord> departmentList = FXCollections.observableArrayList();
+    private final TableLoader<DepartmentRecord> loader;
 
     public DepartmentController(DepartmentView view, Stage primaryStage) {
         this.view = view;
         this.primaryStage = primaryStage;
         this.dao = new DepartmentDAO();
+        this.loader = new TableLoader<>("departments", view.tableView, this::showDepartments);
 
         loadDepartments();
         setupActions();
@@ -23,8 +27,13 @@ public class DepartmentController {
 
     /** Load all departments into the table */
     public void loadDepartments() {
-        departmentList.setAll(dao.getAllDepartments());
-        view.tableView.setItems(departmentList);
+        loader.load(dao::getAllDepartments);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search */
+    private void showDepartments(List<DepartmentRecord> departments) {
+        departmentList.setAll(departments);
+        applyFilter();
     }
 
     /** Set up button actions */
@@ -54,11 +63,7 @@ public class DepartmentController {
         });
 
         // Return to Manage Records
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, primaryStage);
-            primaryStage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // Search / Filter on button click
         view.filterButton.setOnAction(e -> applyFilter());
@@ -47,6 +47,7 @@ public class DepartmentDAO {
             pstmt.setString(1, id);
             pstmt.setString(2, name);
             pstmt.executeUpdate();
+            ReferenceDataCache.DEPARTMENTS.invalidate();
             return true;
 
         } catch (SQLException e) {
@@ -65,6 +66,7 @@ public class DepartmentDAO {
             pstmt.setString(1, name);
             pstmt.setString(2, id);
             pstmt.executeUpdate();
+            ReferenceDataCache.DEPARTMENTS.invalidate();
             return true;
 
         } catch (SQLException e) {
@@ -82,6 +84,7 @@ public class DepartmentDAO {
 
             pstmt.setString(1, id);
             pstmt.executeUpdate();
+            ReferenceDataCache.DEPARTMENTS.invalidate();
             return true;
 
         } catch (SQLException e) {
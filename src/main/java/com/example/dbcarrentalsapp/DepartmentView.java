@@ -24,9 +24,7 @@ public class DepartmentView {
     public DepartmentView() {
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
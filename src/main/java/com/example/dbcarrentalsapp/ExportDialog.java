@@ -0,0 +1,84 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.File;
+
+/**
+ * Shared "Export" action for report and transaction screens: asks for a file,
+ * picks CSV or columnar from the chosen extension and runs {@link TableExporter}.
+ */
+public class ExportDialog {
+
+    private static final TableExporter exporter = new TableExporter();
+
+    /**
+     * Exports the rows currently shown in a report table.
+     */
+    public static void exportTable(Window owner, TableView<?> table, String baseName) {
+        if (table.getItems().isEmpty()) {
+            showAlert(Alert.AlertType.ERROR, "Nothing to export, please load the report first.");
+            return;
+        }
+
+        File file = chooseFile(owner, baseName);
+        if (file == null) return;
+
+        try {
+            long rows = exporter.export(table, file.toPath(), formatOf(file));
+            showAlert(Alert.AlertType.INFORMATION, rows + " rows exported to " + file.getName());
+        } catch (Exception e) {
+            e.printStackTrace();
+            showAlert(Alert.AlertType.ERROR, "Export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams a whole transaction table in the background.
+     */
+    public static void exportSource(Window owner, TableExporter.Source source) {
+        File file = chooseFile(owner, source.name().toLowerCase());
+        if (file == null) return;
+
+        new Thread(() -> {
+            try {
+                long rows = exporter.export(source, file.toPath(), formatOf(file));
+                Platform.runLater(() ->
+                        showAlert(Alert.AlertType.INFORMATION, rows + " rows exported to " + file.getName()));
+            } catch (Exception e) {
+                e.printStackTrace();
+                Platform.runLater(() ->
+                        showAlert(Alert.AlertType.ERROR, "Export failed: " + e.getMessage()));
+            }
+        }).start();
+    }
+
+    private static File chooseFile(Window owner, String baseName) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export");
+        chooser.setInitialFileName(baseName + ".csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("Compressed columnar (*.colgz)", "*.colgz")
+        );
+        return chooser.showSaveDialog(owner);
+    }
+
+    private static TableExporter.Format formatOf(File file) {
+        return file.getName().toLowerCase().endsWith(".colgz")
+                ? TableExporter.Format.COLUMNAR
+                : TableExporter.Format.CSV;
+    }
+
+    private static void showAlert(Alert.AlertType type, String msg) {
+        Alert a = new Alert(type);
+        a.setTitle(type == Alert.AlertType.ERROR ? "Error" : "Export");
+        a.setHeaderText(null);
+        a.setContentText(msg);
+        a.showAndWait();
+    }
+}
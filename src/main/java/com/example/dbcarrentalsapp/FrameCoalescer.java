@@ -0,0 +1,79 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Funnels UI updates from background threads onto the FX thread at most once per frame.
+ *
+ * Updates are keyed (e.g. by board and row id); a newer update for a key replaces the
+ * pending one, so a row that changes many times between two frames is redrawn once.
+ * Pending updates are applied by an AnimationTimer on the next pulse. The timer stops
+ * after a second without updates; the first update after that costs the only
+ * Platform.runLater, to start it again.
+ */
+public class FrameCoalescer {
+
+    private static final int IDLE_FRAMES_BEFORE_STOP = 60;
+
+    private final Runnable afterBatch;
+    private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private boolean running;        // timer started or about to be
+    private int idleFrames;         // FX thread only
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    /**
+     * @param afterBatch run on the FX thread after each frame's updates, e.g. to refresh totals
+     */
+    public FrameCoalescer(Runnable afterBatch) {
+        this.afterBatch = afterBatch;
+    }
+
+    /**
+     * Queues an update from any thread.
+     *
+     * @param key identifies what the update changes; replaces a pending update with the same key
+     * @param update applied on the FX thread
+     */
+    public void submit(Object key, Runnable update) {
+        boolean start;
+        synchronized (this) {
+            pending.remove(key);           // keep the newest last
+            pending.put(key, update);
+            start = !running;
+            running = true;
+        }
+        if (start) Platform.runLater(timer::start);
+    }
+
+    private void drain() {
+        List<Runnable> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                if (++idleFrames >= IDLE_FRAMES_BEFORE_STOP) {
+                    timer.stop();
+                    running = false;
+                    idleFrames = 0;
+                }
+                return;
+            }
+            idleFrames = 0;
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        for (Runnable update : batch) update.run();
+        afterBatch.run();
+    }
+}
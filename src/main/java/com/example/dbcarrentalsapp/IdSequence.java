@@ -0,0 +1,60 @@
+package com.example.dbcarrentalsapp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Row-locked id counters kept in the *_id_sequence tables.
+ *
+ * Reserving numbers updates the counter row, which stays locked until the caller's
+ * transaction ends: concurrent writers wait for each other and can never draw the
+ * same number, and a rolled-back transaction hands its numbers back.
+ */
+final class IdSequence {
+
+    private IdSequence() {
+    }
+
+    /**
+     * Reserves {@code count} consecutive numbers.
+     *
+     * @param conn connection with an open transaction
+     * @param table sequence table, e.g. "violation_id_sequence"
+     * @param idType the counter's row in that table, e.g. "VIOLATION"
+     * @return the first reserved number
+     */
+    static int allocate(Connection conn, String table, String idType, int count) throws SQLException {
+        String sql = "UPDATE " + table + " SET last_number = LAST_INSERT_ID(last_number + ?) WHERE id_type = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, count);
+            stmt.setString(2, idType);
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException(table + " is not initialised");
+            }
+        }
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT LAST_INSERT_ID()")) {
+            rs.next();
+            return rs.getInt(1) - count + 1;
+        }
+    }
+
+    /**
+     * The number the next allocation would return, for showing a provisional id in a
+     * form. Not reserved: the id actually written is allocated when the row is inserted.
+     */
+    static int peek(Connection conn, String table, String idType) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT last_number FROM " + table + " WHERE id_type = ?")) {
+            stmt.setString(1, idType);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) + 1 : 1;
+            }
+        }
+    }
+}
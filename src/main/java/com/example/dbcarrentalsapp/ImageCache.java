@@ -0,0 +1,81 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded view backgrounds, shared by every screen.
+ *
+ * Wallpapers are decoded once, at the scene size rather than their full resolution, and
+ * on JavaFX's background loader thread, so navigating to a screen neither blocks on a
+ * decode nor allocates a new full-size bitmap. The most recently used images are kept
+ * strongly up to {@link #MAX_BYTES}; older ones are only softly reachable and are
+ * decoded again if the garbage collector has reclaimed them.
+ */
+public class ImageCache {
+
+    // Every screen is a 1152×761 scene
+    public static final double SCENE_WIDTH = 1152;
+    public static final double SCENE_HEIGHT = 761;
+
+    private static final long MAX_BYTES = 32L * 1024 * 1024;   // ~9 decoded wallpapers
+
+    private static final Map<String, Image> recent = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<String, SoftReference<Image>> evicted = new HashMap<>();
+    private static long recentBytes;
+
+    /**
+     * @param resource classpath path, e.g. "/com/example/dbcarrentalsapp/img2.png"
+     * @return the image scaled to the scene size; it may still be loading, in which case
+     *         the ImageView or background shows it as soon as it is ready
+     */
+    public static synchronized Image background(String resource) {
+        Image image = recent.get(resource);
+        if (image != null) return image;
+
+        SoftReference<Image> ref = evicted.remove(resource);
+        image = ref != null ? ref.get() : null;
+        if (image == null) {
+            URL url = ImageCache.class.getResource(resource);
+            if (url == null) throw new IllegalArgumentException("Missing image resource: " + resource);
+            image = new Image(url.toExternalForm(), SCENE_WIDTH, SCENE_HEIGHT, false, true, true);
+        }
+
+        recent.put(resource, image);
+        recentBytes += bytesOf(image);
+        trim();
+        return image;
+    }
+
+    /**
+     * Starts decoding the given backgrounds so the first visit to each screen is instant too.
+     */
+    public static void preload(String... resources) {
+        for (String resource : resources) background(resource);
+    }
+
+    /**
+     * Demotes least recently used images to soft references until the bound holds.
+     * The newest image always stays.
+     */
+    private static void trim() {
+        Iterator<Map.Entry<String, Image>> it = recent.entrySet().iterator();
+        while (recentBytes > MAX_BYTES && recent.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            recentBytes -= bytesOf(eldest.getValue());
+            evicted.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+            it.remove();
+        }
+    }
+
+    /** Decoded size: requested dimensions at 4 bytes per pixel. */
+    private static long bytesOf(Image image) {
+        return (long) image.getRequestedWidth() * (long) image.getRequestedHeight() * 4;
+    }
+}
@@ -13,12 +13,14 @@ public class JobController {
     private final Stage stage;
     private final JobView view;
     private final JobDAO dao;
-    private ObservableList<JobRecord> masterList;
+    private final ObservableList<JobRecord> masterList = FXCollections.observableArrayList();
+    private final TableLoader<JobRecord> loader;
 
     public JobController(JobView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new JobDAO();
+        this.loader = new TableLoader<>("jobs", view.tableView, this::showJobs);
 
         loadJobs();
         setupActions();
@@ -26,20 +28,19 @@ public class JobController {
 
     /** Load all jobs into the table */
     public void loadJobs() {
-        List<JobRecord> jobs = dao.getAllJobs();
-        if (jobs == null) jobs = List.of(); // avoid NPE
-        masterList = FXCollections.observableArrayList(jobs);
-        view.tableView.setItems(masterList);
+        loader.load(JobDAO::getAllJobs);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search */
+    private void showJobs(List<JobRecord> jobs) {
+        masterList.setAll(jobs);
+        applyFilter();
     }
 
     /** Set up button actions */
     private void setupActions() {
         // ===== Return to Manage Records =====
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // Add Jobs
         view.addButton.setOnAction(e ->
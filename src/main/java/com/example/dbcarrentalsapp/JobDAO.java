@@ -47,6 +47,8 @@ public class JobDAO {
             pstmt.setDouble(4, jobSalary);
 
             int rows = pstmt.executeUpdate();
+            if (rows > 0) StaffEligibilityCache.invalidate();
+            if (rows > 0) ReferenceDataCache.JOBS.invalidate();
             return rows > 0;
 
         } catch (SQLException e) {
@@ -76,6 +78,8 @@ public class JobDAO {
             pstmt.setString(4, jobId);
 
             int rows = pstmt.executeUpdate();
+            if (rows > 0) StaffEligibilityCache.invalidate();
+            if (rows > 0) ReferenceDataCache.JOBS.invalidate();
             return rows > 0;
 
         } catch (SQLException e) {
@@ -99,6 +103,8 @@ public class JobDAO {
             pstmt.setString(1, jobId);
 
             int rows = pstmt.executeUpdate();
+            if (rows > 0) StaffEligibilityCache.invalidate();
+            if (rows > 0) ReferenceDataCache.JOBS.invalidate();
             return rows > 0;
 
         } catch (SQLException e) {
@@ -23,9 +23,7 @@ public class JobView {
     public JobView() {
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -173,8 +171,7 @@ public class JobView {
         jobDepartmentIDComboBox.setPromptText("Select Department ID");
         jobDepartmentIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
-        DepartmentDAO departmentDAO = new DepartmentDAO();
-        jobDepartmentIDComboBox.getItems().addAll(departmentDAO.getAllDepartmentDisplayValues());
+        jobDepartmentIDComboBox.setItems(ReferenceDataCache.DEPARTMENTS.get());
 
 // Auto-select first item + generate ID
         if (!jobDepartmentIDComboBox.getItems().isEmpty()) {
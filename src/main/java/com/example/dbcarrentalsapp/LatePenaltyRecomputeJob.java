@@ -0,0 +1,338 @@
+package com.example.dbcarrentalsapp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Audits every Late Return violation against its rental and the penalty tariffs.
+ *
+ * Late hours are re-derived from the rental's expected and actual return, and the fee is
+ * re-priced with the tariff effective on the violation's date. Violations are streamed
+ * from the database into column arrays, recomputed in parallel chunks on the common
+ * fork-join pool, and only the changed rows are written back, in batches, in one
+ * transaction. A dry run computes the same diff without writing; {@link #apply} later
+ * writes exactly that reviewed diff.
+ */
+public class LatePenaltyRecomputeJob {
+
+    private static final String LATE_RETURN = "Late Return";
+    private static final int CHUNK_SIZE = 4096;      // rows per fork-join leaf task
+    private static final int BATCH_SIZE = 1000;      // rows per executeBatch round trip
+    private static final double MILLIS_PER_HOUR = 1000.0 * 60 * 60;
+
+    private static final String SELECT_SQL = """
+        SELECT v.violation_id, v.violation_rental_id, v.violation_penalty_fee,
+               v.violation_duration_hours, v.violation_timestamp,
+               rd.rental_branch_id, rd.rental_expected_return_datetime, rd.rental_actual_return_datetime
+        FROM violation_details v
+        INNER JOIN rental_details rd ON v.violation_rental_id = rd.rental_id
+        WHERE v.violation_type = 'Late Return'
+        ORDER BY v.violation_id
+        """;
+
+    // Guarded by the old values: a row edited since the diff was computed is left alone
+    private static final String UPDATE_SQL = """
+        UPDATE violation_details SET violation_penalty_fee = ?, violation_duration_hours = ?
+        WHERE violation_id = ? AND violation_penalty_fee = ? AND violation_duration_hours = ?
+        """;
+
+    /**
+     * One violation whose stored hours or fee differ from the recomputed ones.
+     */
+    public static class Change {
+        private final String violationId;
+        private final String rentalId;
+        private final int oldHours;
+        private final int newHours;
+        private final double oldFee;
+        private final double newFee;
+
+        Change(String violationId, String rentalId, int oldHours, int newHours, double oldFee, double newFee) {
+            this.violationId = violationId;
+            this.rentalId = rentalId;
+            this.oldHours = oldHours;
+            this.newHours = newHours;
+            this.oldFee = oldFee;
+            this.newFee = newFee;
+        }
+
+        public String getViolationId() { return violationId; }
+        public String getRentalId() { return rentalId; }
+        public int getOldHours() { return oldHours; }
+        public int getNewHours() { return newHours; }
+        public double getOldFee() { return oldFee; }
+        public double getNewFee() { return newFee; }
+    }
+
+    /**
+     * Outcome of one run: the diff, plus the violations the job could not re-price.
+     */
+    public static class Result {
+        private final boolean dryRun;
+        private int scanned;
+        private final List<Change> changes = new ArrayList<>();
+        private final List<String> noLongerLate = new ArrayList<>();   // rental now returned on time
+        private final List<String> unpriced = new ArrayList<>();       // no tariff on that date
+
+        Result(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        public boolean isDryRun() { return dryRun; }
+        public int getScanned() { return scanned; }
+        public List<Change> getChanges() { return changes; }
+        public List<String> getNoLongerLate() { return noLongerLate; }
+        public List<String> getUnpriced() { return unpriced; }
+
+        public double getTotalDelta() {
+            double delta = 0;
+            for (Change c : changes) delta += c.newFee - c.oldFee;
+            return delta;
+        }
+
+        /**
+         * Writes the diff as CSV: one line per change, then the skipped violations.
+         */
+        public void writeDiff(Path file) throws IOException {
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("violation_id,rental_id,old_hours,new_hours,old_fee,new_fee,delta");
+                out.newLine();
+                for (Change c : changes) {
+                    out.write(String.format("%s,%s,%d,%d,%.2f,%.2f,%.2f", c.violationId, c.rentalId,
+                            c.oldHours, c.newHours, c.oldFee, c.newFee, c.newFee - c.oldFee));
+                    out.newLine();
+                }
+                for (String id : noLongerLate) {
+                    out.write(id + ",,,,,,not late per rental record");
+                    out.newLine();
+                }
+                for (String id : unpriced) {
+                    out.write(id + ",,,,,,no tariff on violation date");
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // Column arrays filled by the streaming read
+    private int size;
+    private String[] ids = new String[CHUNK_SIZE];
+    private String[] rentals = new String[CHUNK_SIZE];
+    private double[] oldFees = new double[CHUNK_SIZE];
+    private int[] oldHours = new int[CHUNK_SIZE];
+    private long[] days = new long[CHUNK_SIZE];
+    private int[] branches = new int[CHUNK_SIZE];
+    private long[] expected = new long[CHUNK_SIZE];
+    private long[] actual = new long[CHUNK_SIZE];                   // 0 if not returned yet
+
+    // ============================
+    // 1. RUN
+    // ============================
+
+    /**
+     * Recomputes every Late Return violation.
+     *
+     * @param dryRun true to only report the diff
+     * @return the diff; written to the database unless dryRun
+     * @throws SQLException if the read or the write fails (writes are rolled back)
+     */
+    public Result run(boolean dryRun) throws SQLException {
+        PenaltyRuleEngine.reload();
+        PenaltyRuleEngine engine = PenaltyRuleEngine.get();
+
+        load(engine);
+
+        int[] types = new int[size];
+        int[] newHours = new int[size];
+        double[] newFees = new double[size];
+        Arrays.fill(types, PenaltyRuleEngine.typeIndex(LATE_RETURN));
+
+        ForkJoinPool.commonPool().invoke(new Recompute(this, engine, types, newHours, newFees, 0, size));
+
+        Result result = new Result(dryRun);
+        result.scanned = size;
+        for (int i = 0; i < size; i++) {
+            if (newHours[i] <= 0) {
+                result.noLongerLate.add(ids[i]);
+            } else if (Double.isNaN(newFees[i])) {
+                result.unpriced.add(ids[i]);
+            } else if (newHours[i] != oldHours[i] || Math.abs(newFees[i] - oldFees[i]) >= 0.005) {
+                result.changes.add(new Change(ids[i], rentals[i], oldHours[i], newHours[i], oldFees[i], newFees[i]));
+            }
+        }
+
+        if (!dryRun) {
+            result.changes.retainAll(apply(result.changes));
+        }
+        return result;
+    }
+
+    /**
+     * Writes a reviewed diff, e.g. the changes of a dry run, in one transaction. Each
+     * update only matches while the violation still has the diff's old fee and hours.
+     *
+     * @return the changes actually written; the others were edited since the diff
+     * @throws SQLException if the write fails (it is rolled back)
+     */
+    public List<Change> apply(List<Change> changes) throws SQLException {
+        if (changes.isEmpty()) return List.of();
+
+        List<Change> applied = write(changes);
+
+        if (!applied.isEmpty()) {
+            CompanyRevenueLedger.invalidate();
+            ViolationAnalyticsEngine.invalidate();
+            Set<String> affected = new LinkedHashSet<>();
+            for (Change c : applied) affected.add(c.rentalId);
+            RenterProfileDAO.rebuildForRentals(affected);
+            TableChanges.VIOLATIONS.changed(applied.stream().map(Change::getViolationId).toList());
+        }
+        return applied;
+    }
+
+    /**
+     * Leaf tasks re-derive hours and price their slice; the engine is read-only, so
+     * slices never contend. Tasks never leave the pool, so nothing here is serialized.
+     */
+    private static class Recompute extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient LatePenaltyRecomputeJob job;
+        private final transient PenaltyRuleEngine engine;
+        private final transient int[] types;
+        private final transient int[] newHours;
+        private final transient double[] newFees;
+        private final int from, to;
+
+        Recompute(LatePenaltyRecomputeJob job, PenaltyRuleEngine engine, int[] types, int[] newHours,
+                  double[] newFees, int from, int to) {
+            this.job = job;
+            this.engine = engine;
+            this.types = types;
+            this.newHours = newHours;
+            this.newFees = newFees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Recompute(job, engine, types, newHours, newFees, from, mid),
+                          new Recompute(job, engine, types, newHours, newFees, mid, to));
+                return;
+            }
+
+            long[] actual = job.actual;
+            long[] expected = job.expected;
+            for (int i = from; i < to; i++) {
+                if (actual[i] == 0) {
+                    newHours[i] = job.oldHours[i];          // still out: keep the hours billed so far
+                } else if (actual[i] > expected[i]) {
+                    newHours[i] = (int) Math.ceil((actual[i] - expected[i]) / MILLIS_PER_HOUR);
+                } else {
+                    newHours[i] = 0;
+                }
+            }
+            engine.priceRange(types, job.branches, job.days, newHours, newFees, from, to);
+        }
+    }
+
+    // ============================
+    // 2. READ / WRITE
+    // ============================
+
+    /**
+     * Streams the violations row by row into the column arrays.
+     */
+    private void load(PenaltyRuleEngine engine) throws SQLException {
+        size = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE);   // MySQL driver: stream instead of buffering
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                if (size == ids.length) grow();
+
+                Timestamp expectedReturn = rs.getTimestamp("rental_expected_return_datetime");
+                Timestamp actualReturn = rs.getTimestamp("rental_actual_return_datetime");
+
+                ids[size] = rs.getString("violation_id");
+                rentals[size] = rs.getString("violation_rental_id");
+                oldFees[size] = rs.getDouble("violation_penalty_fee");
+                oldHours[size] = rs.getInt("violation_duration_hours");
+                days[size] = rs.getTimestamp("violation_timestamp").toLocalDateTime().toLocalDate().toEpochDay();
+                branches[size] = engine.branchIndex(rs.getString("rental_branch_id"));
+                expected[size] = expectedReturn != null ? expectedReturn.getTime() : 0;
+                actual[size] = actualReturn != null && expectedReturn != null ? actualReturn.getTime() : 0;
+                size++;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        rentals = Arrays.copyOf(rentals, capacity);
+        oldFees = Arrays.copyOf(oldFees, capacity);
+        oldHours = Arrays.copyOf(oldHours, capacity);
+        days = Arrays.copyOf(days, capacity);
+        branches = Arrays.copyOf(branches, capacity);
+        expected = Arrays.copyOf(expected, capacity);
+        actual = Arrays.copyOf(actual, capacity);
+    }
+
+    /** @return the changes whose row still matched their old fee and hours */
+    private List<Change> write(List<Change> changes) throws SQLException {
+        List<Change> applied = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement update = conn.prepareStatement(UPDATE_SQL)) {
+                for (int from = 0; from < changes.size(); from += BATCH_SIZE) {
+                    List<Change> batch = changes.subList(from, Math.min(from + BATCH_SIZE, changes.size()));
+                    for (Change c : batch) {
+                        update.setDouble(1, c.newFee);
+                        update.setInt(2, c.newHours);
+                        update.setString(3, c.violationId);
+                        update.setBigDecimal(4, BigDecimal.valueOf(c.oldFee).setScale(2, RoundingMode.HALF_UP));
+                        update.setInt(5, c.oldHours);
+                        update.addBatch();
+                    }
+
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) applied.add(batch.get(i));
+                    }
+                }
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return applied;
+    }
+}
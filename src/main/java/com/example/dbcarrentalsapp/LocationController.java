@@ -11,12 +11,14 @@ public class LocationController {
     private final LocationView view;
     private final Stage stage;
     private final LocationDAO dao;
-    private ObservableList<LocationRecord> masterList;
+    private final ObservableList<LocationRecord> masterList = FXCollections.observableArrayList();
+    private final TableLoader<LocationRecord> loader;
 
     public LocationController(LocationView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new LocationDAO();
+        this.loader = new TableLoader<>("locations", view.tableView, this::showLocations);
 
         setupActions();
         loadLocations();
@@ -26,11 +28,7 @@ public class LocationController {
     private void setupActions() {
 
         // ===== Return to Manage Records =====
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // ===== Add Location =====
         view.addButton.setOnAction(e ->
@@ -80,10 +78,13 @@ public class LocationController {
 
     /** Loads all locations from database **/
     public void loadLocations() {
-        List<LocationRecord> locations = dao.getAllLocations();
-        if (locations == null) locations = List.of(); // avoid NPE
-        masterList = FXCollections.observableArrayList(locations);
-        view.tableView.setItems(masterList);
+        loader.load(dao::getAllLocations);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search **/
+    private void showLocations(List<LocationRecord> locations) {
+        masterList.setAll(locations);
+        applyFilter();
     }
 
     /** Applies text-based filtering **/
@@ -79,6 +79,7 @@ public class LocationDAO {
                 psInsert.setString(2, city);
                 psInsert.setString(3, province);
                 psInsert.executeUpdate();
+                ReferenceDataCache.invalidateLocations();
                 return true;
             }
 
@@ -120,6 +121,7 @@ public class LocationDAO {
                 ps.setString(2, province);
                 ps.setString(3, id);
                 int rows = ps.executeUpdate();
+                if (rows > 0) ReferenceDataCache.invalidateLocations();
                 return rows > 0;
             }
 
@@ -152,6 +154,7 @@ public class LocationDAO {
             try (PreparedStatement deleteStmt = conn.prepareStatement(delete)) {
                 deleteStmt.setString(1, id);
                 int rowsAffected = deleteStmt.executeUpdate();
+                if (rowsAffected > 0) ReferenceDataCache.invalidateLocations();
                 return rowsAffected > 0;
             }
 
@@ -3,7 +3,6 @@ package com.example.dbcarrentalsapp;
 import javafx.stage.Stage;
 
 import javafx.application.Application;
-import javafx.scene.Scene;
 import javafx.scene.image.Image;
 
 public class MainApp extends Application {
@@ -18,10 +17,7 @@ public class MainApp extends Application {
 
     @Override
     public void start(Stage stage) {
-        UserView view = new UserView();
-        UserController controller = new UserController(view, stage);
-        Scene welcomeScene = view.getScene();
-        controller.setupActions();
+        Navigator.init(stage);
 
         stage.setTitle("Forza Rentals");
         Image icon = new Image(
@@ -29,7 +25,20 @@ public class MainApp extends Application {
         );
 
         stage.getIcons().add(icon);
-        stage.setScene(welcomeScene);
+        Navigator.go(Navigator.Screen.USER);
+        StartupProbe.watch(stage);
         stage.show();
+
+        // Warm the combo box lists and screen backgrounds while the user is on the welcome screen
+        ReferenceDataCache.preload();
+        ImageCache.preload(
+                "/com/example/dbcarrentalsapp/img2.png",
+                "/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png",
+                "/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png",
+                "/com/example/dbcarrentalsapp/mercedes_benz_glc_400_4matic_with_eq_technology_amg_line_2026-1920x1080.png"
+        );
+
+        // The menus reachable from the welcome screen, so its zoom lands on a ready scene
+        Navigator.prebuild(Navigator.Screen.RECORDS, Navigator.Screen.TRANSACTIONS, Navigator.Screen.REPORTS);
     }
 }
\ No newline at end of file
@@ -15,62 +15,28 @@ public class ManageRecordsController {
     public void setupActions() {
 
         // Locations Button
-        view.locations.setOnAction(e -> {
-            LocationView locationView = new LocationView();
-            LocationController locationController = new LocationController(locationView, stage);
-            stage.setScene(locationView.getScene());
-        });
+        view.locations.setOnAction(e -> Navigator.go(Navigator.Screen.LOCATIONS));
 
         // Departments Button
-        view.departments.setOnAction(e -> {
-            DepartmentView departmentView = new DepartmentView();
-            new DepartmentController(departmentView, stage);
-            stage.setScene(departmentView.getScene());
-        });
+        view.departments.setOnAction(e -> Navigator.go(Navigator.Screen.DEPARTMENTS));
 
         // Car Button
-        view.cars.setOnAction(e -> {
-            CarView carView = new CarView();
-            CarController carController = new CarController(carView, stage);
-            stage.setScene(carView.getScene());
-        });
+        view.cars.setOnAction(e -> Navigator.go(Navigator.Screen.CARS));
 
         // Staff Button
-        view.staffs.setOnAction(e -> {
-            StaffView staffView = new StaffView();
-            StaffController staffController = new StaffController(staffView, stage);
-            stage.setScene(staffView.getScene());
-        });
+        view.staffs.setOnAction(e -> Navigator.go(Navigator.Screen.STAFF));
 
         // Jobs Button
-        view.jobs.setOnAction(e -> {
-            JobView jobView = new JobView();
-            JobController jobController = new JobController(jobView, stage);
-            stage.setScene(jobView.getScene());
-        });
+        view.jobs.setOnAction(e -> Navigator.go(Navigator.Screen.JOBS));
 
         // Renter Button
-        view.renters.setOnAction(e -> {
-            RenterView renterView = new RenterView();
-            new RenterController(renterView, stage);
-            stage.setScene(renterView.getScene());
-        });
+        view.renters.setOnAction(e -> Navigator.go(Navigator.Screen.RENTERS));
 
         // Branches Button
-        // Branches Button
-        view.branches.setOnAction(e -> {
-            BranchView branchView = new BranchView();
-            new BranchController(branchView, stage);
-            stage.setScene(branchView.getScene());
-        });
+        view.branches.setOnAction(e -> Navigator.go(Navigator.Screen.BRANCHES));
 
         // Return Button
-        view.returns.setOnAction(e -> {
-            UserView userView = new UserView();
-            UserController userController = new UserController(userView, stage);
-            userController.setupActions();
-            stage.setScene(userView.getScene());
-        });
+        view.returns.setOnAction(e -> Navigator.go(Navigator.Screen.USER));
 
 
     }
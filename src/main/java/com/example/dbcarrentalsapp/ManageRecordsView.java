@@ -49,7 +49,7 @@ public class ManageRecordsView {
 
         // Background with proper image sizing (from first version)
         StackPane stackPane = new StackPane();
-        Image image = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/img2.png"));
+        Image image = ImageCache.background("/com/example/dbcarrentalsapp/img2.png");
         ImageView imageView = new ImageView(image);
         imageView.setFitWidth(1152);
         imageView.setFitHeight(761);
@@ -24,63 +24,30 @@ public class ManageReportsController {
     private void showRevenueReport() {
         System.out.println("Opening Revenue by Branch Report...");
 
-        // Instantiate DAO and View
-        RevenueByBranchDAO dao = new RevenueByBranchDAO();
-        RevenueByBranchView revenueView = new RevenueByBranchView();
-
-        // Instantiate Controller (wires buttons + loads data)
-        new RevenueByBranchController(revenueView, dao);
-
-        // Wire the RETURN button to come back here
-        revenueView.getReturnButton().setOnAction(e -> {
-            stage.setScene(view.getScene());
-        });
-
-        // Switch the scene to the report
-        stage.setScene(revenueView.getScene());
+        Navigator.go(Navigator.Screen.REVENUE_REPORT);
     }
 
     private void showRentalsReport() {
         System.out.println("Opening Rentals by Branch Report...");
 
-        RentalsReportView mtv = new RentalsReportView();
-        new RentalsReportController(mtv, stage);
-        stage.setScene(mtv.getScene());
+        Navigator.go(Navigator.Screen.RENTALS_REPORT);
     }
 
     private void showUtilizationReport() {
         System.out.println("Opening Car Utilization Report...");
 
-        CarUtilizationReportView crv = new CarUtilizationReportView();
-        new CarUtilizationReportController(crv, stage);
-        stage.setScene(crv.getScene());
+        Navigator.go(Navigator.Screen.UTILIZATION_REPORT);
     }
 
     private void showViolationsReport() {
         System.out.println("Opening Violations by Branch Report...");
 
-        // Instantiate DAO and View
-        ViolationsByBranchDAO dao = new ViolationsByBranchDAO();
-        ViolationsByBranchView violationsView = new ViolationsByBranchView();
-
-        // Instantiate Controller (wires buttons + loads data)
-        new ViolationsByBranchController(violationsView, dao);
-
-        // Wire the RETURN button to come back here
-        violationsView.getReturnButton().setOnAction(e -> {
-            stage.setScene(view.getScene());
-        });
-
-        // Switch the scene to the report
-        stage.setScene(violationsView.getScene());
+        Navigator.go(Navigator.Screen.VIOLATIONS_REPORT);
     }
 
     private void goBack() {
         System.out.println("Returning to User Dashboard...");
-        UserView userView = new UserView();
-        UserController userController = new UserController(userView, stage);
-        userController.setupActions();
-        stage.setScene(userView.getScene());
+        Navigator.go(Navigator.Screen.USER);
     }
 }
 
@@ -47,8 +47,7 @@ public class ManageReportsView {
 
         // ===== Background =====
         StackPane stackPane = new StackPane();
-        Image image = new Image(getClass().getResourceAsStream(
-                "/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png"));
+        Image image = ImageCache.background("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png");
         ImageView imageView = new ImageView(image);
         imageView.setFitWidth(1152);
         imageView.setFitHeight(761);
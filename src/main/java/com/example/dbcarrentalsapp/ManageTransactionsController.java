@@ -1,69 +1,58 @@
-package com.example.dbcarrentalsapp;
-
-import javafx.stage.Stage;
-
-public class ManageTransactionsController {
-    private ManageTransactionsView view;
-    private Stage stage;
-
-    public ManageTransactionsController(ManageTransactionsView view, Stage stage) {
-        this.view = view;
-        this.stage = stage;
-        setupActions();
-    }
-
-    private void setupActions() {
-        view.rentalsButton.setOnAction(e -> openRentals());
-        view.cancellationsButton.setOnAction(e -> openCancellations());
-        view.violationsButton.setOnAction(e -> openViolations());
-        view.returnsButton.setOnAction(e -> openReturns());
-        view.backButton.setOnAction(e -> returnToUser());
-    }
-
-    // ===== Button Actions =====
-
-    private void openRentals() {
-        RentalView rentalsView = new RentalView();
-        new RentalController(rentalsView, stage);
-        stage.setScene(rentalsView.getScene());
-    }
-
-    private void openCancellations() {
-        System.out.println("Opening Rental Cancellations...");
-        CancellationView cancellationView = new CancellationView();
-        new CancellationController(cancellationView, stage);
-        stage.setScene(cancellationView.getScene());
-
-        CancellationDAO dao = new CancellationDAO();
-        dao.importExistingCancelledRentals();
-        // future: navigate to RentalCancellationsView
-    }
-
-    private void openViolations() {
-        System.out.println("Opening Rental Violations...");
-        ViolationView violationView = new ViolationView();
-        new ViolationController(violationView, stage);
-        stage.setScene(violationView.getScene());
-    }
-
-    private void openReturns() {
-        System.out.println("Opening Rental Returns...");
-        ReturnView rv = new ReturnView();
-        ReturnController rc = new ReturnController(rv, stage);
-        rv.setController(rc);
-        stage.setScene(rv.getScene());
-
-    }
-
-    private void returnToUser() {
-        System.out.println("Returning to User Menu...");
-        UserView userView = new UserView();
-        UserController userController = new UserController(userView, stage);
-        userController.setupActions();
-        stage.setScene(userView.getScene());
-    }
-}
-
-
-
-
+package com.example.dbcarrentalsapp;
+
+import javafx.stage.Stage;
+
+public class ManageTransactionsController {
+    private ManageTransactionsView view;
+    private Stage stage;
+
+    public ManageTransactionsController(ManageTransactionsView view, Stage stage) {
+        this.view = view;
+        this.stage = stage;
+        setupActions();
+    }
+
+    private void setupActions() {
+        view.rentalsButton.setOnAction(e -> openRentals());
+        view.cancellationsButton.setOnAction(e -> openCancellations());
+        view.violationsButton.setOnAction(e -> openViolations());
+        view.returnsButton.setOnAction(e -> openReturns());
+        view.boardButton.setOnAction(e -> openBoard());
+        view.backButton.setOnAction(e -> returnToUser());
+    }
+
+    // ===== Button Actions =====
+
+    private void openRentals() {
+        Navigator.go(Navigator.Screen.RENTALS);
+    }
+
+    private void openCancellations() {
+        System.out.println("Opening Rental Cancellations...");
+        Navigator.go(Navigator.Screen.CANCELLATIONS);
+    }
+
+    private void openViolations() {
+        System.out.println("Opening Rental Violations...");
+        Navigator.go(Navigator.Screen.VIOLATIONS);
+    }
+
+    private void openReturns() {
+        System.out.println("Opening Rental Returns...");
+        Navigator.go(Navigator.Screen.RETURNS);
+    }
+
+    private void openBoard() {
+        System.out.println("Opening Operations Board...");
+        Navigator.go(Navigator.Screen.OPERATIONS_BOARD);
+    }
+
+    private void returnToUser() {
+        System.out.println("Returning to User Menu...");
+        Navigator.go(Navigator.Screen.USER);
+    }
+}
+
+
+
+
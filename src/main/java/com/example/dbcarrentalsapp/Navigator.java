@@ -0,0 +1,212 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Switches the primary stage between the app's screens.
+ *
+ * Each screen (view and controller) is built the first time it is shown and kept from
+ * then on, so moving between screens only swaps the stage's scene. On re-entry the
+ * screen's data is reloaded after the switch has been painted; search text, column
+ * order and scroll position stay as the user left them. Screens whose table follows a
+ * {@link TableChanges} topic are already current and are not reloaded, so they also
+ * keep their loaded pages and selection. Screens the user is likely to
+ * open next can be built ahead of time with {@link #prebuild}.
+ */
+public class Navigator {
+
+    public enum Screen {
+        USER,
+        RECORDS, TRANSACTIONS, REPORTS,
+        LOCATIONS, DEPARTMENTS, CARS, STAFF, JOBS, RENTERS, BRANCHES,
+        RENTALS, CANCELLATIONS, VIOLATIONS, RETURNS, OPERATIONS_BOARD,
+        REVENUE_REPORT, RENTALS_REPORT, UTILIZATION_REPORT, VIOLATIONS_REPORT
+    }
+
+    private static final Duration IDLE_GAP = Duration.millis(100);   // between two prebuilt screens
+
+    /**
+     * A built screen and how to reload its data (null for menus and followed tables).
+     */
+    private static class Entry {
+        final Scene scene;
+        final Runnable refresh;
+
+        Entry(Scene scene, Runnable refresh) {
+            this.scene = scene;
+            this.refresh = refresh;
+        }
+    }
+
+    private static final Map<Screen, Entry> built = new EnumMap<>(Screen.class);
+    private static Stage stage;
+
+    /**
+     * @param primaryStage the stage every screen is shown on; call once from MainApp
+     */
+    public static void init(Stage primaryStage) {
+        stage = primaryStage;
+    }
+
+    // ============================
+    // 1. NAVIGATION
+    // ============================
+
+    /**
+     * Shows the screen, building it on the first visit and refreshing its data otherwise.
+     * @return the screen's scene, now on the stage
+     */
+    public static Scene go(Screen screen) {
+        Entry entry = built.get(screen);
+        boolean reentry = entry != null;
+        if (!reentry) entry = build(screen);
+
+        stage.setScene(entry.scene);
+        if (reentry && entry.refresh != null) Platform.runLater(entry.refresh);
+        return entry.scene;
+    }
+
+    /**
+     * Builds the given screens in the background of the FX thread, one at a time with a
+     * short gap in between so input and animations are never held up for long.
+     * Screens already built are skipped.
+     */
+    public static void prebuild(Screen... screens) {
+        prebuild(screens, 0);
+    }
+
+    private static void prebuild(Screen[] screens, int next) {
+        if (next >= screens.length) return;
+        PauseTransition idle = new PauseTransition(IDLE_GAP);
+        idle.setOnFinished(e -> {
+            if (!built.containsKey(screens[next])) build(screens[next]);
+            prebuild(screens, next + 1);
+        });
+        idle.play();
+    }
+
+    // ============================
+    // 2. SCREENS
+    // ============================
+
+    private static Entry build(Screen screen) {
+        Entry entry = switch (screen) {
+            case USER -> {
+                UserView view = new UserView();
+                new UserController(view, stage).setupActions();
+                yield new Entry(view.getScene(), null);
+            }
+            case RECORDS -> {
+                ManageRecordsView view = new ManageRecordsView();
+                new ManageRecordsController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+            case TRANSACTIONS -> {
+                ManageTransactionsView view = new ManageTransactionsView(stage);
+                new ManageTransactionsController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+            case REPORTS -> {
+                ManageReportsView view = new ManageReportsView(stage);
+                new ManageReportsController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+
+            // Records
+            case LOCATIONS -> {
+                LocationView view = new LocationView();
+                LocationController controller = new LocationController(view, stage);
+                yield new Entry(view.getScene(), controller::loadLocations);
+            }
+            case DEPARTMENTS -> {
+                DepartmentView view = new DepartmentView();
+                DepartmentController controller = new DepartmentController(view, stage);
+                yield new Entry(view.getScene(), controller::loadDepartments);
+            }
+            case CARS -> {
+                CarView view = new CarView();
+                CarController controller = new CarController(view, stage);
+                yield new Entry(view.getScene(), controller::loadCars);
+            }
+            case STAFF -> {
+                StaffView view = new StaffView();
+                StaffController controller = new StaffController(view, stage);
+                yield new Entry(view.getScene(), controller::loadStaff);
+            }
+            case JOBS -> {
+                JobView view = new JobView();
+                JobController controller = new JobController(view, stage);
+                yield new Entry(view.getScene(), controller::loadJobs);
+            }
+            case RENTERS -> {
+                RenterView view = new RenterView();
+                RenterController controller = new RenterController(view, stage);
+                yield new Entry(view.getScene(), controller::loadRenters);
+            }
+            case BRANCHES -> {
+                BranchView view = new BranchView();
+                BranchController controller = new BranchController(view, stage);
+                yield new Entry(view.getScene(), controller::loadBranches);
+            }
+
+            // Transactions; the paged tables follow their TableChanges topic, so no refresh
+            case RENTALS -> {
+                RentalView view = new RentalView();
+                new RentalController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+            case CANCELLATIONS -> {
+                CancellationView view = new CancellationView();
+                new CancellationController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+            case VIOLATIONS -> {
+                ViolationView view = new ViolationView();
+                new ViolationController(view, stage);
+                yield new Entry(view.getScene(), null);
+            }
+            case RETURNS -> {
+                ReturnView view = new ReturnView();
+                ReturnController controller = new ReturnController(view, stage);
+                yield new Entry(view.getScene(), controller::loadTable);
+            }
+            case OPERATIONS_BOARD -> {
+                OperationsBoardView view = new OperationsBoardView();
+                OperationsBoardController controller = new OperationsBoardController(view, stage);
+                yield new Entry(view.getScene(), controller::pollSoon);
+            }
+
+            // Reports
+            case REVENUE_REPORT -> {
+                RevenueByBranchView view = new RevenueByBranchView();
+                new RevenueByBranchController(view, new RevenueByBranchDAO());
+                yield new Entry(view.getScene(), null);   // loaded on demand with the Load button
+            }
+            case RENTALS_REPORT -> {
+                RentalsReportView view = new RentalsReportView();
+                RentalsReportController controller = new RentalsReportController(view, stage);
+                yield new Entry(view.getScene(), controller::loadReportData);
+            }
+            case UTILIZATION_REPORT -> {
+                CarUtilizationReportView view = new CarUtilizationReportView();
+                CarUtilizationReportController controller = new CarUtilizationReportController(view, stage);
+                yield new Entry(view.getScene(), controller::loadReportData);
+            }
+            case VIOLATIONS_REPORT -> {
+                ViolationsByBranchView view = new ViolationsByBranchView();
+                ViolationsByBranchController controller = new ViolationsByBranchController(view, new ViolationsByBranchDAO());
+                yield new Entry(view.getScene(), controller::handleDateChange);
+            }
+        };
+
+        built.put(screen, entry);
+        return entry;
+    }
+}
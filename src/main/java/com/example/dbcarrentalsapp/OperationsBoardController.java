@@ -0,0 +1,193 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import model.RentalRecord;
+import model.ViolationRecord;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Keeps the operations board current while it is on screen.
+ *
+ * A background poller re-reads the board every few seconds, and straight away when
+ * another screen reports a rental or violation change. It compares each row with what
+ * the board already shows and only sends the rows that were added, changed or dropped
+ * to a {@link FrameCoalescer}, which applies them on the FX thread once per frame.
+ */
+public class OperationsBoardController {
+
+    private static final long POLL_SECONDS = 5;
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final ScheduledExecutorService POLLER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "operations-board-poller");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final OperationsBoardView view;
+    private final Stage stage;
+    private final OperationsBoardDAO boardDAO = new OperationsBoardDAO();
+    private final FrameCoalescer coalescer;
+
+    private final Board<RentalRecord> pickups, active, overdue;
+    private final Board<ViolationRecord> violations;
+
+    private volatile boolean showing;
+    private final AtomicBoolean pollQueued = new AtomicBoolean();
+
+    public OperationsBoardController(OperationsBoardView view, Stage stage) {
+        this.view = view;
+        this.stage = stage;
+        this.coalescer = new FrameCoalescer(this::updateCounts);
+
+        pickups = new Board<>("pickups", view.pickupsTable, RentalRecord::getRentalId,
+                Comparator.comparing(RentalRecord::getExpectedPickupDateTime).thenComparing(RentalRecord::getRentalId));
+        active = new Board<>("active", view.activeTable, RentalRecord::getRentalId,
+                Comparator.comparing(RentalRecord::getExpectedReturnDateTime).thenComparing(RentalRecord::getRentalId));
+        overdue = new Board<>("overdue", view.overdueTable, RentalRecord::getRentalId,
+                Comparator.comparing(RentalRecord::getExpectedReturnDateTime).thenComparing(RentalRecord::getRentalId));
+        violations = new Board<>("violations", view.violationsTable, ViolationRecord::getViolationId,
+                Comparator.comparing(ViolationRecord::getTimestamp).reversed().thenComparing(ViolationRecord::getViolationId));
+
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.TRANSACTIONS));
+
+        // Poll only while the board is on the stage; catch up as soon as it is shown again
+        view.getScene().windowProperty().addListener((obs, oldWindow, newWindow) -> {
+            showing = newWindow != null;
+            if (showing) pollSoon();
+        });
+        showing = view.getScene().getWindow() != null;
+
+        // Writes made on other screens show up without waiting for the next poll
+        TableChanges.RENTALS.subscribe((ids, all) -> pollSoon());
+        TableChanges.VIOLATIONS.subscribe((ids, all) -> pollSoon());
+
+        POLLER.scheduleWithFixedDelay(this::poll, 0, POLL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // ============================
+    // 1. POLLING (poller thread)
+    // ============================
+
+    /**
+     * Polls on the poller thread as soon as it is free; repeated calls before then
+     * collapse into one poll.
+     */
+    public void pollSoon() {
+        if (!pollQueued.compareAndSet(false, true)) return;
+        POLLER.execute(() -> {
+            pollQueued.set(false);
+            poll();
+        });
+    }
+
+    private void poll() {
+        if (!showing) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            OperationsBoardDAO.Snapshot snapshot = boardDAO.load(now);
+            pickups.sync(snapshot.getPickupsDue());
+            active.sync(snapshot.getActive());
+            overdue.sync(snapshot.getOverdue());
+            violations.sync(snapshot.getRecentViolations());
+
+            String stamp = "Last updated " + now.format(CLOCK);
+            coalescer.submit("status", () -> view.lastUpdatedLabel.setText(stamp));
+        } catch (Exception e) {
+            e.printStackTrace();
+            coalescer.submit("status", () -> view.lastUpdatedLabel.setText("Database unavailable, retrying..."));
+        }
+    }
+
+    // ============================
+    // 2. UI (FX thread)
+    // ============================
+
+    private void updateCounts() {
+        view.setCounts(
+                view.pickupsTable.getItems().size(),
+                view.activeTable.getItems().size(),
+                view.overdueTable.getItems().size(),
+                view.violationsTable.getItems().size()
+        );
+    }
+
+    /**
+     * One table on the board and the rows it shows, by id.
+     */
+    private class Board<T> {
+        private final String name;
+        private final TableView<T> table;
+        private final Function<T, String> idOf;
+        private final Comparator<T> order;
+        private final Map<String, String> shown = new HashMap<>();   // id -> toString(), poller thread only
+
+        Board(String name, TableView<T> table, Function<T, String> idOf, Comparator<T> order) {
+            this.name = name;
+            this.table = table;
+            this.idOf = idOf;
+            this.order = order;
+        }
+
+        /** Sends the differences between the rows on screen and the latest read. */
+        void sync(List<T> rows) {
+            Map<String, String> latest = new HashMap<>();
+            for (T row : rows) {
+                String id = idOf.apply(row);
+                String fingerprint = row.toString();
+                latest.put(id, fingerprint);
+                if (!fingerprint.equals(shown.get(id))) {
+                    coalescer.submit(name + ":" + id, () -> upsert(id, row));
+                }
+            }
+            for (String id : shown.keySet()) {
+                if (!latest.containsKey(id)) {
+                    coalescer.submit(name + ":" + id, () -> remove(id));
+                }
+            }
+            shown.clear();
+            shown.putAll(latest);
+        }
+
+        private void upsert(String id, T row) {
+            List<T> items = table.getItems();
+            int index = indexOf(id);
+            if (index >= 0) {
+                if (order.compare(items.get(index), row) == 0) {
+                    items.set(index, row);      // same place; keeps selection
+                    return;
+                }
+                items.remove(index);
+            }
+            int at = 0;
+            while (at < items.size() && order.compare(items.get(at), row) < 0) at++;
+            items.add(at, row);
+        }
+
+        private void remove(String id) {
+            int index = indexOf(id);
+            if (index >= 0) table.getItems().remove(index);
+        }
+
+        private int indexOf(String id) {
+            List<T> items = table.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                if (idOf.apply(items.get(i)).equals(id)) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.dbcarrentalsapp;
+
+import model.RentalRecord;
+import model.ViolationRecord;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads what the counter needs right now: today's pickups, rentals out, overdue
+ * returns and the latest violations. Each list is small and served by an index on
+ * status or time, so the board can poll it every few seconds.
+ */
+public class OperationsBoardDAO {
+
+    private static final int RECENT_VIOLATION_HOURS = 24;
+    private static final int MAX_RECENT_VIOLATIONS = 200;
+
+    private final ViolationDAO violationDAO = new ViolationDAO();
+
+    /**
+     * One consistent read of the board: its three queries run in one read-only
+     * REPEATABLE READ transaction, so they all see the same committed state.
+     */
+    public static class Snapshot {
+        private final List<RentalRecord> pickupsDue = new ArrayList<>();
+        private final List<RentalRecord> active = new ArrayList<>();
+        private final List<RentalRecord> overdue = new ArrayList<>();
+        private final List<ViolationRecord> recentViolations = new ArrayList<>();
+
+        /** UPCOMING rentals whose pickup is due today */
+        public List<RentalRecord> getPickupsDue() { return pickupsDue; }
+        /** ACTIVE rentals */
+        public List<RentalRecord> getActive() { return active; }
+        /** ACTIVE rentals past their expected return */
+        public List<RentalRecord> getOverdue() { return overdue; }
+        /** Violations of the last 24 hours, newest first */
+        public List<ViolationRecord> getRecentViolations() { return recentViolations; }
+    }
+
+    public Snapshot load(LocalDateTime now) throws SQLException {
+        String pickupsSql = """
+            SELECT * FROM rental_details
+            WHERE rental_status = 'UPCOMING'
+              AND rental_expected_pickup_datetime >= ? AND rental_expected_pickup_datetime < ?
+            ORDER BY rental_expected_pickup_datetime
+            """;
+        String activeSql = """
+            SELECT * FROM rental_details
+            WHERE rental_status = 'ACTIVE'
+            ORDER BY rental_expected_return_datetime
+            """;
+        String violationsSql = """
+            SELECT * FROM violation_details
+            WHERE violation_timestamp >= ?
+            ORDER BY violation_timestamp DESC
+            LIMIT ?
+            """;
+
+        Snapshot snapshot = new Snapshot();
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            // Pooled connections are reused, so the previous settings are put back below
+            int isolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setReadOnly(true);
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement pickups = conn.prepareStatement(pickupsSql);
+                 PreparedStatement active = conn.prepareStatement(activeSql);
+                 PreparedStatement violations = conn.prepareStatement(violationsSql)) {
+                readBoard(snapshot, now, today, pickups, active, violations);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                conn.setReadOnly(false);
+                conn.setTransactionIsolation(isolation);
+            }
+        }
+        return snapshot;
+    }
+
+    private void readBoard(Snapshot snapshot, LocalDateTime now, LocalDateTime today,
+                           PreparedStatement pickups, PreparedStatement active,
+                           PreparedStatement violations) throws SQLException {
+        pickups.setTimestamp(1, Timestamp.valueOf(today));
+        pickups.setTimestamp(2, Timestamp.valueOf(today.plusDays(1)));
+        ResultSet rs = pickups.executeQuery();
+        while (rs.next()) {
+            snapshot.pickupsDue.add(RentalDAO.mapResultSetToRentalRecord(rs));
+        }
+
+        // Overdue is the front of the active list, which is ordered by expected return
+        rs = active.executeQuery();
+        while (rs.next()) {
+            RentalRecord rental = RentalDAO.mapResultSetToRentalRecord(rs);
+            snapshot.active.add(rental);
+            if (rental.getExpectedReturnDateTime().isBefore(now)) snapshot.overdue.add(rental);
+        }
+
+        violations.setTimestamp(1, Timestamp.valueOf(now.minusHours(RECENT_VIOLATION_HOURS)));
+        violations.setInt(2, MAX_RECENT_VIOLATIONS);
+        rs = violations.executeQuery();
+        while (rs.next()) {
+            snapshot.recentViolations.add(violationDAO.mapResultSetToViolationRecord(rs));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.*;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import model.RentalRecord;
+import model.ViolationRecord;
+
+import java.time.LocalDateTime;
+
+public class OperationsBoardView {
+    public Button returnButton;
+    public Label lastUpdatedLabel;
+    public TableView<RentalRecord> pickupsTable, activeTable, overdueTable;
+    public TableView<ViolationRecord> violationsTable;
+    private final Tab pickupsTab, activeTab, overdueTab, violationsTab;
+    private final Scene scene;
+
+    public OperationsBoardView() {
+        // ===== Background =====
+        StackPane root = new StackPane();
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/mercedes_benz_glc_400_4matic_with_eq_technology_amg_line_2026-1920x1080.png");
+        ImageView bgView = new ImageView(bgImage);
+        bgView.setFitWidth(1152);
+        bgView.setFitHeight(761);
+        bgView.setPreserveRatio(false);
+        root.getChildren().add(bgView);
+
+        // ===== Title =====
+        Text title = new Text("OPERATIONS BOARD");
+        Font f1Font = Font.loadFont(
+                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/Formula1-Bold_web_0.ttf"),
+                48
+        );
+        title.setFont(f1Font != null ? f1Font : Font.font("Arial Black", 48));
+        title.setStyle(
+                "-fx-fill: white; -fx-font-style: italic; -fx-font-weight: bold;" +
+                        "-fx-effect: dropshadow(gaussian, black, 4, 0.5, 1, 1);"
+        );
+        StackPane.setAlignment(title, Pos.TOP_CENTER);
+        StackPane.setMargin(title, new Insets(100, 0, 0, 0));
+        root.getChildren().add(title);
+
+        // ===== Tables =====
+        pickupsTable = rentalTable("No pickups due today", "Pickup (Exp.)", "expectedPickupDateTime");
+        activeTable = rentalTable("No rentals out", "Return (Exp.)", "expectedReturnDateTime");
+        overdueTable = rentalTable("Nothing overdue", "Return (Exp.)", "expectedReturnDateTime");
+        violationsTable = violationTable();
+
+        pickupsTab = new Tab("", pickupsTable);
+        activeTab = new Tab("", activeTable);
+        overdueTab = new Tab("", overdueTable);
+        violationsTab = new Tab("", violationsTable);
+        setCounts(0, 0, 0, 0);
+
+        TabPane tabs = new TabPane(pickupsTab, activeTab, overdueTab, violationsTab);
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        tabs.setPrefHeight(340);
+        VBox.setVgrow(tabs, Priority.ALWAYS);
+
+        // ===== Footer =====
+        lastUpdatedLabel = new Label("Waiting for data...");
+        lastUpdatedLabel.setStyle("-fx-text-fill: #b46bff; -fx-font-size: 13px;");
+
+        returnButton = new Button("Return");
+        returnButton.getStyleClass().add("small-button");
+        returnButton.setPrefWidth(120);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox footer = new HBox(15, lastUpdatedLabel, spacer, returnButton);
+        footer.setAlignment(Pos.CENTER_LEFT);
+
+        // ===== Layout Card =====
+        VBox tableCard = new VBox(15, tabs, footer);
+        tableCard.setAlignment(Pos.CENTER);
+        tableCard.setPadding(new Insets(20));
+        tableCard.setMaxWidth(900);
+        tableCard.setMaxHeight(460);
+        tableCard.setStyle(
+                "-fx-background-color: rgba(25,25,35,0.85);" +
+                        "-fx-background-radius: 15;" +
+                        "-fx-border-color: linear-gradient(to right, #7a40ff, #b46bff);" +
+                        "-fx-border-radius: 15;" +
+                        "-fx-border-width: 2;"
+        );
+
+        VBox layout = new VBox(tableCard);
+        layout.setAlignment(Pos.CENTER);
+        layout.setPadding(new Insets(140, 0, 0, 0));
+        root.getChildren().add(layout);
+
+        scene = new Scene(root, 1152, 761);
+        scene.getStylesheets().add(
+                getClass().getResource("/com/example/dbcarrentalsapp/style.css").toExternalForm()
+        );
+    }
+
+    private TableView<RentalRecord> rentalTable(String placeholder, String timeHeader, String timeProperty) {
+        TableView<RentalRecord> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        table.getStyleClass().add("custom-table");
+        table.setPlaceholder(new Label(placeholder));
+
+        TableColumn<RentalRecord, String> idCol = new TableColumn<>("Rental ID");
+        idCol.setCellValueFactory(new PropertyValueFactory<>("rentalId"));
+
+        TableColumn<RentalRecord, String> renterCol = new TableColumn<>("Renter DL");
+        renterCol.setCellValueFactory(new PropertyValueFactory<>("renterDlNumber"));
+
+        TableColumn<RentalRecord, String> plateCol = new TableColumn<>("Car Plate");
+        plateCol.setCellValueFactory(new PropertyValueFactory<>("carPlateNumber"));
+
+        TableColumn<RentalRecord, String> branchCol = new TableColumn<>("Branch");
+        branchCol.setCellValueFactory(new PropertyValueFactory<>("branchId"));
+
+        TableColumn<RentalRecord, LocalDateTime> timeCol = new TableColumn<>(timeHeader);
+        timeCol.setCellValueFactory(new PropertyValueFactory<>(timeProperty));
+
+        table.getColumns().addAll(idCol, renterCol, plateCol, branchCol, timeCol);
+        return table;
+    }
+
+    private TableView<ViolationRecord> violationTable() {
+        TableView<ViolationRecord> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        table.getStyleClass().add("custom-table");
+        table.setPlaceholder(new Label("No violations in the last 24 hours"));
+
+        TableColumn<ViolationRecord, String> idCol = new TableColumn<>("Violation ID");
+        idCol.setCellValueFactory(new PropertyValueFactory<>("violationId"));
+
+        TableColumn<ViolationRecord, String> rentalCol = new TableColumn<>("Rental ID");
+        rentalCol.setCellValueFactory(new PropertyValueFactory<>("rentalId"));
+
+        TableColumn<ViolationRecord, String> typeCol = new TableColumn<>("Type");
+        typeCol.setCellValueFactory(new PropertyValueFactory<>("violationType"));
+
+        TableColumn<ViolationRecord, Double> penaltyCol = new TableColumn<>("Penalty");
+        penaltyCol.setCellValueFactory(new PropertyValueFactory<>("penaltyFee"));
+
+        TableColumn<ViolationRecord, LocalDateTime> timeCol = new TableColumn<>("Time");
+        timeCol.setCellValueFactory(new PropertyValueFactory<>("timestamp"));
+
+        table.getColumns().addAll(idCol, rentalCol, typeCol, penaltyCol, timeCol);
+        return table;
+    }
+
+    /** Shows each list's size in its tab title */
+    public void setCounts(int pickups, int active, int overdue, int violations) {
+        pickupsTab.setText("Pickups Due Today (" + pickups + ")");
+        activeTab.setText("Active Rentals (" + active + ")");
+        overdueTab.setText("Overdue Returns (" + overdue + ")");
+        violationsTab.setText("Recent Violations (" + violations + ")");
+    }
+
+    public Scene getScene() { return scene; }
+}
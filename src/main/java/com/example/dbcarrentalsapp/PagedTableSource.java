@@ -0,0 +1,506 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Feeds a TableView from the database one page at a time.
+ *
+ * Pages are fetched by keyset: each query continues after the (sort value, id) of the
+ * last row shown, so every page costs the same no matter how deep the user scrolls or
+ * how large the table grows. Clicking a mapped column header re-queries in that order
+ * on the server. The search text becomes a LIKE filter on the given columns, or, for a
+ * table with an n-gram FULLTEXT index (see {@link #fullText}), an index lookup. While one
+ * page is on screen the next is already being fetched in the background, and it is
+ * appended once the table is scrolled near its end.
+ *
+ * A source can also {@link #follow} a {@link TableChanges} topic: changed rows are then
+ * re-read by id and patched into the loaded rows at their sorted position, so a write
+ * costs one small query and keeps the scroll position and selection.
+ *
+ * @param <T> row type of the table
+ */
+public class PagedTableSource<T> {
+
+    /** Maps the current row of a result set to a table item. */
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static final int PAGE_SIZE = 100;
+
+    // One loader thread: pages of a table arrive in the order they were asked for
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-page-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final double LOAD_MORE_AT = 0.9;   // scroll position that triggers the next page
+    private static final int MAX_PATCHED_ROWS = PAGE_SIZE;   // more changes than this reload instead
+
+    private final TableView<T> table;
+    private final String tableName;
+    private final String idColumn;
+    private final RowMapper<T> mapper;
+    private final List<String> searchColumns;
+    private String fullTextColumn;
+    private final Map<TableColumn<T, ?>, String> sortColumns = new HashMap<>();
+
+    private final String defaultSortColumn;
+    private final boolean defaultDescending;
+    private String sortColumn;
+    private boolean descending;
+    private String filter = "";
+
+    // Keyset cursor: sort value and id of the last row on screen; null before the first page
+    private Object lastSortValue;
+    private String lastId;
+
+    private CompletableFuture<Page<T>> next;   // page after the cursor, fetched ahead
+    private boolean appending;
+    private boolean exhausted;
+    private int generation;                    // bumped on reload so stale pages are dropped
+
+    // Keyset position of every loaded row, for patching changes in place
+    private final Map<String, T> loadedById = new HashMap<>();
+    private final Map<T, Key> keys = new IdentityHashMap<>();
+
+    /** (sort value, id) of one row. */
+    private record Key(Object sortValue, String id) {
+    }
+
+    private static class Page<T> {
+        final List<T> rows = new ArrayList<>();
+        final List<Key> keys = new ArrayList<>();
+    }
+
+    /**
+     * @param table table to fill; its items are owned by this source from now on
+     * @param tableName table to page through
+     * @param idColumn unique column used as keyset tie-breaker
+     * @param defaultSortColumn column ordered by until the user clicks a mapped header
+     * @param defaultDescending direction of the default order
+     * @param mapper row mapper, usually the DAO's own
+     * @param searchColumns columns matched against the search text
+     */
+    public PagedTableSource(TableView<T> table, String tableName, String idColumn,
+                            String defaultSortColumn, boolean defaultDescending,
+                            RowMapper<T> mapper, String... searchColumns) {
+        this.table = table;
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+        this.defaultSortColumn = defaultSortColumn;
+        this.defaultDescending = defaultDescending;
+        this.sortColumn = defaultSortColumn;
+        this.descending = defaultDescending;
+        this.mapper = mapper;
+        this.searchColumns = List.of(searchColumns);
+
+        // Header clicks re-query in the new order instead of sorting the loaded page
+        table.setSortPolicy(tv -> {
+            applySortOrder();
+            return true;
+        });
+
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> Platform.runLater(this::watchScrolling));
+        if (table.getSkin() != null) watchScrolling();
+    }
+
+    // ============================
+    // 1. CONFIGURATION
+    // ============================
+
+    /**
+     * Lets the column with the given header order the table by a (NOT NULL) database column.
+     */
+    public PagedTableSource<T> sortable(String header, String dbColumn) {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            if (header.equals(column.getText())) sortColumns.put(column, dbColumn);
+        }
+        return this;
+    }
+
+    /**
+     * Disables header sorting on every column not mapped with {@link #sortable}.
+     * Call once after all mappings.
+     */
+    public PagedTableSource<T> lockUnmappedColumns() {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            if (!sortColumns.containsKey(column)) column.setSortable(false);
+        }
+        return this;
+    }
+
+    /**
+     * Searches through the given column's FULLTEXT index (built WITH PARSER ngram) instead
+     * of LIKE '%text%' on the search columns, which scans the whole table on every
+     * keystroke. The column should hold the search columns' text, e.g. a STORED generated
+     * CONCAT_WS of them.
+     */
+    public PagedTableSource<T> fullText(String column) {
+        this.fullTextColumn = column;
+        return this;
+    }
+
+    /**
+     * Patches the loaded rows whenever the topic reports changes to this table.
+     */
+    public PagedTableSource<T> follow(TableChanges.Topic topic) {
+        topic.subscribe(this::applyChanges);
+        return this;
+    }
+
+    // ============================
+    // 2. LOADING
+    // ============================
+
+    /**
+     * Drops the loaded rows and shows the first page again, keeping order and filter.
+     * Call after inserts, edits and deletes.
+     */
+    public void reload() {
+        generation++;
+        lastSortValue = null;
+        lastId = null;
+        exhausted = false;
+        appending = false;
+        table.getItems().clear();
+        loadedById.clear();
+        keys.clear();
+
+        prefetch();
+        appendNext();
+    }
+
+    /**
+     * Filters by the search text (blank shows everything) and starts from the first page.
+     */
+    public void setFilter(String text) {
+        filter = text == null ? "" : text.trim();
+        reload();
+    }
+
+    private void applySortOrder() {
+        String column = defaultSortColumn;
+        boolean desc = defaultDescending;
+
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<T, ?> first = table.getSortOrder().get(0);
+            String mapped = sortColumns.get(first);
+            if (mapped != null) {
+                column = mapped;
+                desc = first.getSortType() == TableColumn.SortType.DESCENDING;
+            }
+        }
+
+        if (!column.equals(sortColumn) || desc != descending) {
+            sortColumn = column;
+            descending = desc;
+            reload();
+        }
+    }
+
+    private void watchScrolling() {
+        if (table.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+            flow.positionProperty().addListener((obs, oldPos, pos) -> {
+                if (pos.doubleValue() >= LOAD_MORE_AT) appendNext();
+            });
+        }
+    }
+
+    /**
+     * Starts fetching the page after the current cursor.
+     */
+    private void prefetch() {
+        String sql = pageSql();
+        List<Object> params = pageParams();
+        String orderedBy = sortColumn;
+        next = CompletableFuture.supplyAsync(() -> fetch(sql, params, orderedBy), LOADER);
+    }
+
+    /**
+     * Appends the prefetched page once it arrives and prefetches the one after it.
+     */
+    private void appendNext() {
+        if (appending || exhausted || next == null) return;
+        appending = true;
+
+        int requested = generation;
+        next.whenComplete((page, error) -> Platform.runLater(() -> {
+            if (requested != generation) return;   // reloaded meanwhile
+            appending = false;
+
+            if (error != null) {
+                error.printStackTrace();
+                next = null;
+                return;
+            }
+
+            table.getItems().addAll(page.rows);
+            for (int i = 0; i < page.rows.size(); i++) remember(page.rows.get(i), page.keys.get(i));
+
+            if (page.rows.size() < PAGE_SIZE) {
+                exhausted = true;
+                next = null;
+            } else {
+                Key last = page.keys.get(page.keys.size() - 1);
+                lastSortValue = last.sortValue();
+                lastId = last.id();
+                prefetch();
+            }
+        }));
+    }
+
+    // ============================
+    // 3. PATCHING
+    // ============================
+
+    private void applyChanges(Set<String> ids, boolean all) {
+        if (all || ids.size() > MAX_PATCHED_ROWS) {
+            reload();
+            return;
+        }
+
+        // Re-read the changed rows under the current filter; missing ones are gone
+        List<String> changed = List.copyOf(ids);
+        String sql = byIdSql(changed.size());
+        List<Object> params = filterParams();
+        params.addAll(changed);
+        String orderedBy = sortColumn;
+        int requested = generation;
+
+        CompletableFuture.supplyAsync(() -> fetch(sql, params, orderedBy), LOADER)
+                .whenComplete((page, error) -> Platform.runLater(() -> {
+                    if (requested != generation) return;   // reloaded meanwhile, rows are fresh
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    patch(changed, page);
+                }));
+    }
+
+    private void patch(List<String> changed, Page<T> fresh) {
+        Map<String, Integer> freshIndex = new HashMap<>();
+        for (int i = 0; i < fresh.rows.size(); i++) freshIndex.put(fresh.keys.get(i).id(), i);
+
+        boolean beyondCursor = false;
+        for (String id : changed) {
+            T old = loadedById.get(id);
+            int oldIndex = old == null ? -1 : indexOf(keys.get(old));
+            Integer at = freshIndex.get(id);
+            T row = at == null ? null : fresh.rows.get(at);
+            Key key = at == null ? null : fresh.keys.get(at);
+
+            if (old != null) forget(old);
+
+            // Rows past the last loaded one arrive with a later page
+            if (key != null && !isLoadedRange(key)) {
+                beyondCursor = true;
+                row = null;
+            }
+
+            if (row == null) {
+                if (oldIndex >= 0) table.getItems().remove(oldIndex);
+            } else if (oldIndex >= 0 && staysAt(oldIndex, key)) {
+                replace(oldIndex, row);
+                remember(row, key);
+            } else {
+                if (oldIndex >= 0) table.getItems().remove(oldIndex);
+                table.getItems().add(insertionPoint(key), row);
+                remember(row, key);
+            }
+        }
+
+        // The page fetched ahead may predate these rows
+        if (beyondCursor && !appending && !exhausted) prefetch();
+    }
+
+    /** Replaces a row in place, keeping it selected if it was. */
+    private void replace(int index, T row) {
+        boolean selected = table.getSelectionModel().isSelected(index);
+        table.getItems().set(index, row);
+        if (selected) table.getSelectionModel().select(index);
+    }
+
+    private boolean isLoadedRange(Key key) {
+        if (exhausted) return true;
+        if (lastId == null) return false;   // first page still on its way
+        return compare(key, new Key(lastSortValue, lastId)) <= 0;
+    }
+
+    /** @return true if the key still sorts between the row's current neighbours */
+    private boolean staysAt(int index, Key key) {
+        List<T> items = table.getItems();
+        boolean afterPrevious = index == 0 || compare(keys.get(items.get(index - 1)), key) < 0;
+        boolean beforeNext = index == items.size() - 1 || compare(key, keys.get(items.get(index + 1))) < 0;
+        return afterPrevious && beforeNext;
+    }
+
+    /** Binary search for a loaded row's index, or -1. */
+    private int indexOf(Key key) {
+        int at = insertionPoint(key);
+        List<T> items = table.getItems();
+        return at < items.size() && keys.get(items.get(at)).id().equals(key.id()) ? at : -1;
+    }
+
+    /** First index whose row does not sort before the key. */
+    private int insertionPoint(Key key) {
+        List<T> items = table.getItems();
+        int low = 0, high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keys.get(items.get(mid)), key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** Orders keys the way the current query does. */
+    private int compare(Key a, Key b) {
+        int c = sortColumn.equals(idColumn) ? 0 : compareValues(a.sortValue(), b.sortValue());
+        if (c == 0) c = compareValues(a.id(), b.id());
+        return descending ? -c : c;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object a, Object b) {
+        // Text columns use a case-insensitive collation on the server
+        if (a instanceof String s && b instanceof String t) return s.compareToIgnoreCase(t);
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private void remember(T row, Key key) {
+        loadedById.put(key.id(), row);
+        keys.put(row, key);
+    }
+
+    private void forget(T row) {
+        Key key = keys.remove(row);
+        if (key != null) loadedById.remove(key.id());
+    }
+
+    // ============================
+    // 4. QUERY
+    // ============================
+
+    private String pageSql() {
+        String after = descending ? "<" : ">";
+        String direction = descending ? "DESC" : "ASC";
+        List<String> conditions = new ArrayList<>();
+
+        String filterCondition = filterCondition();
+        if (filterCondition != null) conditions.add(filterCondition);
+
+        if (lastId != null) {
+            conditions.add(sortColumn.equals(idColumn)
+                    ? idColumn + " " + after + " ?"
+                    : "(" + sortColumn + " " + after + " ? OR (" + sortColumn + " = ? AND " + idColumn + " " + after + " ?))");
+        }
+
+        String order = sortColumn.equals(idColumn)
+                ? idColumn + " " + direction
+                : sortColumn + " " + direction + ", " + idColumn + " " + direction;
+
+        return "SELECT * FROM " + tableName
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + order
+                + " LIMIT " + PAGE_SIZE;
+    }
+
+    private String byIdSql(int count) {
+        String ids = idColumn + " IN (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+        String condition = filterCondition();
+        return "SELECT * FROM " + tableName + " WHERE " + (condition == null ? ids : condition + " AND " + ids);
+    }
+
+    /** @return the search condition, or null if no filter is set */
+    private String filterCondition() {
+        if (fullTextColumn != null) {
+            return fullTextQuery() == null ? null : "MATCH(" + fullTextColumn + ") AGAINST (? IN BOOLEAN MODE)";
+        }
+        if (filter.isEmpty() || searchColumns.isEmpty()) return null;
+        List<String> likes = new ArrayList<>();
+        for (String column : searchColumns) likes.add(column + " LIKE ?");
+        return "(" + String.join(" OR ", likes) + ")";
+    }
+
+    private List<Object> filterParams() {
+        List<Object> params = new ArrayList<>();
+        if (fullTextColumn != null) {
+            String query = fullTextQuery();
+            if (query != null) params.add(query);
+        } else if (filterCondition() != null) {
+            String pattern = "%" + filter.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            for (int i = 0; i < searchColumns.size(); i++) params.add(pattern);
+        }
+        return params;
+    }
+
+    /**
+     * The search text as a boolean-mode query: a quoted phrase, whose n-grams must appear
+     * in order, so it matches the same substrings LIKE would. A single character is
+     * shorter than an n-gram and is searched as a prefix of one instead.
+     *
+     * @return the query, or null if nothing searchable is left
+     */
+    private String fullTextQuery() {
+        String text = filter.replace("\"", " ").trim();
+        if (text.isEmpty()) return null;
+        if (text.length() == 1) {
+            return Character.isLetterOrDigit(text.charAt(0)) ? text + "*" : null;
+        }
+        return "\"" + text + "\"";
+    }
+
+    private List<Object> pageParams() {
+        List<Object> params = filterParams();
+
+        if (lastId != null) {
+            if (sortColumn.equals(idColumn)) {
+                params.add(lastId);
+            } else {
+                params.add(lastSortValue);
+                params.add(lastSortValue);
+                params.add(lastId);
+            }
+        }
+        return params;
+    }
+
+    private Page<T> fetch(String sql, List<Object> params, String orderedBy) {
+        Page<T> page = new Page<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                page.rows.add(mapper.map(rs));
+                page.keys.add(new Key(rs.getObject(orderedBy), rs.getString(idColumn)));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.dbcarrentalsapp;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tiered penalty tariffs from the penalty_tariff table, compiled into flat arrays.
+ *
+ * A tariff is every row sharing (violation type, branch, effective date); each row is
+ * one tier: a flat fee charged once when the tier is reached plus an hourly rate for
+ * the hours inside it. Branch-specific tariffs win over the all-branches (NULL) one,
+ * and the latest tariff effective on the violation date applies.
+ *
+ * Pricing only reads primitive arrays, so {@link #priceAll} can re-price large batches
+ * without allocating.
+ */
+public class PenaltyRuleEngine {
+
+    public static final List<String> VIOLATION_TYPES =
+            List.of("Late Return", "Car Damage", "Traffic Violation", "Cleaning Fee", "Other");
+
+    /**
+     * Types whose fee is always the tariff price of the billed hours, so re-pricing them
+     * is safe. Other types may carry a fee entered by hand (damage quotes, fines from the
+     * authorities) and are never re-priced.
+     */
+    public static final List<String> TARIFF_PRICED_TYPES = List.of("Late Return");
+
+    private static PenaltyRuleEngine current;
+
+    // ===== Compiled tiers, tariffs s owns tiers [tariffFirstTier[s], tariffFirstTier[s + 1]) =====
+    private final double[] tierStart;
+    private final double[] tierEnd;
+    private final double[] tierRate;
+    private final double[] tierFlat;
+    private final int[] tariffFirstTier;
+
+    // ===== Lookup: slot = type * (branches + 1) + (0 = all branches, 1.. = branch) =====
+    private final long[][] slotEffectiveDays;   // ascending epoch days
+    private final int[][] slotTariffs;
+    private final Map<String, Integer> branchIndex;
+
+    private PenaltyRuleEngine(List<TariffRow> rows) {
+        // intern branches
+        branchIndex = new HashMap<>();
+        for (TariffRow r : rows) {
+            if (r.branchId != null) branchIndex.putIfAbsent(r.branchId, branchIndex.size() + 1);
+        }
+        int slotsPerType = branchIndex.size() + 1;
+
+        List<List<long[]>> slots = new ArrayList<>();   // per slot: {effectiveDay, tariff}
+        for (int i = 0; i < VIOLATION_TYPES.size() * slotsPerType; i++) slots.add(new ArrayList<>());
+
+        List<Integer> firstTier = new ArrayList<>();
+        tierStart = new double[rows.size()];
+        tierEnd = new double[rows.size()];
+        tierRate = new double[rows.size()];
+        tierFlat = new double[rows.size()];
+
+        // rows arrive grouped by tariff and ordered by tier start
+        for (int i = 0; i < rows.size(); i++) {
+            TariffRow r = rows.get(i);
+            boolean newTariff = i == 0 || !rows.get(i - 1).sameTariff(r);
+
+            if (newTariff) {
+                int slot = typeIndex(r.violationType) * slotsPerType
+                        + (r.branchId == null ? 0 : branchIndex.get(r.branchId));
+                slots.get(slot).add(new long[] { r.effectiveFrom.toEpochDay(), firstTier.size() });
+                firstTier.add(i);
+            }
+
+            boolean lastOfTariff = i == rows.size() - 1 || !rows.get(i + 1).sameTariff(r);
+            tierStart[i] = r.tierStartHours;
+            tierEnd[i] = lastOfTariff ? Double.POSITIVE_INFINITY : rows.get(i + 1).tierStartHours;
+            tierRate[i] = r.hourlyRate;
+            tierFlat[i] = r.flatFee;
+        }
+        firstTier.add(rows.size());
+
+        tariffFirstTier = firstTier.stream().mapToInt(Integer::intValue).toArray();
+
+        slotEffectiveDays = new long[slots.size()][];
+        slotTariffs = new int[slots.size()][];
+        for (int s = 0; s < slots.size(); s++) {
+            List<long[]> list = slots.get(s);
+            list.sort((a, b) -> Long.compare(a[0], b[0]));
+            slotEffectiveDays[s] = list.stream().mapToLong(a -> a[0]).toArray();
+            slotTariffs[s] = list.stream().mapToInt(a -> (int) a[1]).toArray();
+        }
+    }
+
+    // ============================
+    // 1. LOADING
+    // ============================
+
+    /**
+     * @return the compiled tariffs, loading them on first use
+     */
+    public static synchronized PenaltyRuleEngine get() {
+        if (current == null) {
+            reload();
+        }
+        return current;
+    }
+
+    /**
+     * Re-reads penalty_tariff, e.g. after a tariff change. Falls back to the original
+     * built-in rates if the table cannot be read.
+     */
+    public static synchronized void reload() {
+        String sql = """
+            SELECT violation_type, branch_id, effective_from, tier_start_hours, flat_fee, hourly_rate
+            FROM penalty_tariff
+            ORDER BY violation_type, branch_id, effective_from, tier_start_hours
+            """;
+
+        List<TariffRow> rows = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                if (typeIndex(rs.getString("violation_type")) < 0) continue;
+                rows.add(new TariffRow(
+                        rs.getString("violation_type"),
+                        rs.getString("branch_id"),
+                        rs.getDate("effective_from").toLocalDate(),
+                        rs.getInt("tier_start_hours"),
+                        rs.getDouble("flat_fee"),
+                        rs.getDouble("hourly_rate")
+                ));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            rows.clear();
+        }
+
+        current = new PenaltyRuleEngine(rows.isEmpty() ? defaultRows() : rows);
+    }
+
+    // Rates used before tariffs moved into the database
+    private static List<TariffRow> defaultRows() {
+        LocalDate since = CompanyRevenueLedger.COMPANY_ESTABLISHED;
+        return List.of(
+                new TariffRow("Car Damage", null, since, 0, 200.0, 0),
+                new TariffRow("Cleaning Fee", null, since, 0, 75.0, 0),
+                new TariffRow("Late Return", null, since, 0, 0, 50.0),
+                new TariffRow("Late Return", null, since, 6, 0, 100.0),
+                new TariffRow("Traffic Violation", null, since, 0, 150.0, 0)
+        );
+    }
+
+    // ============================
+    // 2. PRICING
+    // ============================
+
+    public static int typeIndex(String violationType) {
+        return VIOLATION_TYPES.indexOf(violationType);
+    }
+
+    /**
+     * @return branch slot for {@link #priceAll}, 0 if the branch has no own tariffs
+     */
+    public int branchIndex(String branchId) {
+        Integer idx = branchId != null ? branchIndex.get(branchId) : null;
+        return idx != null ? idx : 0;
+    }
+
+    /**
+     * @return the fee, or NaN if no tariff covers this type on this date
+     */
+    public double price(String violationType, String branchId, LocalDate date, int hours) {
+        int type = typeIndex(violationType);
+        if (type < 0) return Double.NaN;
+        return evaluate(findTariff(type, branchIndex(branchId), date.toEpochDay()), hours);
+    }
+
+    /**
+     * Prices a batch in one pass over parallel arrays; out[i] is NaN where no tariff applies.
+     */
+    public void priceAll(int[] types, int[] branches, long[] epochDays, int[] hours, double[] out) {
+        priceRange(types, branches, epochDays, hours, out, 0, out.length);
+    }
+
+    /**
+     * Prices entries [from, to) only. The engine is immutable once built, so disjoint
+     * ranges can be priced concurrently.
+     */
+    public void priceRange(int[] types, int[] branches, long[] epochDays, int[] hours, double[] out,
+                           int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = types[i] < 0 ? Double.NaN
+                    : evaluate(findTariff(types[i], branches[i], epochDays[i]), hours[i]);
+        }
+    }
+
+    /**
+     * One receipt line per tier that contributed to the fee.
+     */
+    public List<String> describe(String violationType, String branchId, LocalDate date, int hours) {
+        List<String> lines = new ArrayList<>();
+        int type = typeIndex(violationType);
+        int tariff = type < 0 ? -1 : findTariff(type, branchIndex(branchId), date.toEpochDay());
+        if (tariff < 0) return lines;
+
+        for (int t = tariffFirstTier[tariff]; t < tariffFirstTier[tariff + 1]; t++) {
+            if (tierStart[t] > 0 && hours <= tierStart[t]) break;
+
+            if (tierFlat[t] > 0) {
+                lines.add(String.format("  Flat fee: ₱%.2f", tierFlat[t]));
+            }
+            double inTier = Math.min(hours, tierEnd[t]) - tierStart[t];
+            if (tierRate[t] > 0 && inTier > 0) {
+                String range = tierEnd[t] == Double.POSITIVE_INFINITY
+                        ? String.format("After %d hours", (int) tierStart[t])
+                        : String.format("Hours %d-%d", (int) tierStart[t] + 1, (int) tierEnd[t]);
+                lines.add(String.format("  %s: %d × ₱%.2f/hour = ₱%.2f",
+                        range, (int) inTier, tierRate[t], inTier * tierRate[t]));
+            }
+        }
+        return lines;
+    }
+
+    private int findTariff(int type, int branch, long epochDay) {
+        int slotsPerType = branchIndex.size() + 1;
+        int tariff = branch > 0 ? latestEffective(type * slotsPerType + branch, epochDay) : -1;
+        return tariff >= 0 ? tariff : latestEffective(type * slotsPerType, epochDay);
+    }
+
+    private int latestEffective(int slot, long epochDay) {
+        long[] days = slotEffectiveDays[slot];
+        int pos = Arrays.binarySearch(days, epochDay);
+        if (pos < 0) pos = -pos - 2;   // last effective date before epochDay
+        return pos >= 0 ? slotTariffs[slot][pos] : -1;
+    }
+
+    private double evaluate(int tariff, int hours) {
+        if (tariff < 0) return Double.NaN;
+
+        double fee = 0;
+        for (int t = tariffFirstTier[tariff]; t < tariffFirstTier[tariff + 1]; t++) {
+            if (tierStart[t] > 0 && hours <= tierStart[t]) break;
+            fee += tierFlat[t];
+            double inTier = Math.min(hours, tierEnd[t]) - tierStart[t];
+            if (inTier > 0) fee += inTier * tierRate[t];
+        }
+        return fee;
+    }
+
+    private static class TariffRow {
+        final String violationType;
+        final String branchId;
+        final LocalDate effectiveFrom;
+        final int tierStartHours;
+        final double flatFee;
+        final double hourlyRate;
+
+        TariffRow(String violationType, String branchId, LocalDate effectiveFrom,
+                  int tierStartHours, double flatFee, double hourlyRate) {
+            this.violationType = violationType;
+            this.branchId = branchId;
+            this.effectiveFrom = effectiveFrom;
+            this.tierStartHours = tierStartHours;
+            this.flatFee = flatFee;
+            this.hourlyRate = hourlyRate;
+        }
+
+        boolean sameTariff(TariffRow o) {
+            return violationType.equals(o.violationType)
+                    && Objects.equals(branchId, o.branchId)
+                    && effectiveFrom.equals(o.effectiveFrom);
+        }
+    }
+}
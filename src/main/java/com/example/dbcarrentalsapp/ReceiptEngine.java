@@ -0,0 +1,487 @@
+package com.example.dbcarrentalsapp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders rental, late-return, return and cancellation receipts.
+ *
+ * Templates are parsed once into literal segments and field slots; rendering copies the
+ * literals and the slot buffers into one reused StringBuilder, with money and dates
+ * appended digit by digit instead of through String.format. Rental receipts are read
+ * from a single query that pre-joins renter, car, staff and violations, so a batch
+ * (e.g. every return of a day) costs one round trip.
+ *
+ * Not thread-safe; each DAO/controller keeps its own instance.
+ */
+public class ReceiptEngine {
+
+    /** Values a template can reference as {NAME}. */
+    enum Field {
+        RENTAL_ID, CUSTOMER, CONTACT, RENTER_DL, CAR_MODEL, PLATE, DAILY_RATE,
+        RENTAL_DATE, PICKUP_DATE, EXPECTED_RETURN, ACTUAL_RETURN, PICKUP_STAFF, RETURN_STAFF, STATUS,
+        BASE_PAYMENT, VIOLATION_TYPE, VIOLATION_ID, RECORDED, REASON, DURATION_LINE, PENALTY,
+        VIOLATION_FEES, TOTAL, LATE_HOURS, TIER_LINES, CANCELLED_AT
+    }
+
+    // ============================
+    // 1. TEMPLATES (compiled once)
+    // ============================
+    private static final Template RENTAL_HEADER = Template.compile("""
+            === CAR RENTAL RECEIPT ===
+
+            Rental ID: {RENTAL_ID}
+            Customer: {CUSTOMER}
+            Contact: {CONTACT}
+            Car: {CAR_MODEL} ({PLATE})
+            Daily Rate: ₱{DAILY_RATE}
+            Rental Date: {RENTAL_DATE}
+            Pickup Date: {PICKUP_DATE}
+            Expected Return: {EXPECTED_RETURN}
+            Actual Return: {ACTUAL_RETURN}
+            Pickup Staff: {PICKUP_STAFF}
+            Return Staff: {RETURN_STAFF}
+            Status: {STATUS}
+
+            Base Rental Payment: ₱{BASE_PAYMENT}
+            """);
+
+    private static final String VIOLATIONS_HEADER = "\n--- VIOLATIONS AND PENALTIES ---\n";
+
+    private static final Template VIOLATION = Template.compile("""
+
+            {VIOLATION_TYPE}:
+              Recorded: {RECORDED}
+              Reason: {REASON}
+            {DURATION_LINE}  Penalty: ₱{PENALTY}
+            """);
+
+    private static final Template RENTAL_SUMMARY = Template.compile("""
+
+            --- PAYMENT SUMMARY ---
+            Rental Amount: ₱{BASE_PAYMENT}
+            Violation Fees: ₱{VIOLATION_FEES}
+            TOTAL AMOUNT: ₱{TOTAL}
+
+            Thank you for your business!
+            === END OF RECEIPT ===
+            """);
+
+    private static final Template LATE_NOTICE = Template.compile("""
+            === LATE RETURN NOTICE ===
+
+            Rental ID: {RENTAL_ID}
+            Expected Return: {EXPECTED_RETURN}
+            Late Return Detected: {LATE_HOURS} hours overdue
+            Penalty Calculation:
+            {TIER_LINES}Total Penalty Fee: ₱{PENALTY}
+
+            Please pay the penalty fee at the rental counter.
+            === END OF NOTICE ===
+            """);
+
+    private static final Template RETURN_ON_TIME = Template.compile("""
+            Rental ID: {RENTAL_ID}
+            Renter DL: {RENTER_DL}
+            Car Plate: {PLATE}
+            Date: {ACTUAL_RETURN}
+            Total Payment: ₱{BASE_PAYMENT}""");
+
+    private static final Template RETURN_LATE = Template.compile("""
+            Rental ID: {RENTAL_ID}
+            Car Plate: {PLATE}
+            ------------------------------------------------
+            VIOLATION DETAILS:
+            ID: {VIOLATION_ID}
+            Type: {VIOLATION_TYPE}
+            Hours Late: {LATE_HOURS} hours
+            Penalty Fee: ₱{PENALTY}
+            Reason: {REASON}
+            ------------------------------------------------
+            Base Rental: ₱{BASE_PAYMENT}
+            TOTAL TO PAY: ₱{TOTAL}""");
+
+    private static final Template CANCELLATION = Template.compile("""
+            Rental ID: {RENTAL_ID}
+            Renter DL: {RENTER_DL}
+            Car Plate: {PLATE}
+            Cancellation Date & Time: {CANCELLED_AT}
+            """);
+
+    // Pre-joined read: one row per (rental, violation), violations in time order
+    private static final String RECEIPT_SQL = """
+            SELECT rd.rental_id, rd.rental_branch_id, rd.rental_datetime, rd.rental_status,
+                   rd.rental_actual_pickup_datetime, rd.rental_expected_return_datetime,
+                   rd.rental_actual_return_datetime, rd.rental_total_payment,
+                   cr.car_model, cr.car_rental_fee, cr.car_plate_number,
+                   sr.staff_first_name AS pickup_staff_first_name, sr.staff_last_name AS pickup_staff_last_name,
+                   sr2.staff_first_name AS return_staff_first_name, sr2.staff_last_name AS return_staff_last_name,
+                   rr.renter_first_name, rr.renter_last_name, rr.renter_phone_number,
+                   v.violation_type, v.violation_penalty_fee, v.violation_reason,
+                   v.violation_duration_hours, v.violation_timestamp
+            FROM rental_details rd
+            JOIN car_record cr ON rd.rental_car_plate_number = cr.car_plate_number
+            LEFT JOIN staff_record sr ON rd.rental_staff_id_pickup = sr.staff_id
+            LEFT JOIN staff_record sr2 ON rd.rental_staff_id_return = sr2.staff_id
+            JOIN renter_record rr ON rd.rental_renter_dl_number = rr.renter_dl_number
+            LEFT JOIN violation_details v ON v.violation_rental_id = rd.rental_id
+            WHERE %s
+            ORDER BY rd.rental_id, v.violation_timestamp
+            """;
+
+    // ============================
+    // 2. REUSABLE BUFFERS
+    // ============================
+    private final StringBuilder out = new StringBuilder(2048);
+    private final Map<Field, StringBuilder> slots = new EnumMap<>(Field.class);
+
+    public ReceiptEngine() {
+        for (Field f : Field.values()) {
+            slots.put(f, new StringBuilder(64));
+        }
+    }
+
+    // ============================
+    // 3. RENTAL RECEIPTS
+    // ============================
+
+    /**
+     * Full rental receipt with all violations and the payment summary.
+     *
+     * @return the receipt, empty if the rental does not exist
+     */
+    public String renderRental(String rentalId) throws SQLException {
+        List<String> receipts = new ArrayList<>(1);
+        renderRentals("rd.rental_id = ?", stmt -> stmt.setString(1, rentalId), receipts::add);
+        return receipts.isEmpty() ? "" : receipts.get(0);
+    }
+
+    /**
+     * Receipts for every rental returned on the given day, from one query.
+     */
+    public List<String> renderReturnsOn(LocalDate day) throws SQLException {
+        List<String> receipts = new ArrayList<>();
+        renderRentals("rd.rental_actual_return_datetime >= ? AND rd.rental_actual_return_datetime < ?",
+                stmt -> {
+                    stmt.setTimestamp(1, Timestamp.valueOf(day.atStartOfDay()));
+                    stmt.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+                },
+                receipts::add);
+        return receipts;
+    }
+
+    /**
+     * Writes every receipt of the day to a file: plain text separated by form feeds, or
+     * HTML with one receipt per printed page when the file name ends in .html.
+     *
+     * @return number of receipts written
+     */
+    public int writeReturnsOn(LocalDate day, Path target) throws SQLException, IOException {
+        boolean html = target.getFileName().toString().toLowerCase().endsWith(".html");
+        int[] count = {0};
+
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8), 1 << 16)) {
+            if (html) {
+                writer.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><style>"
+                        + "pre{font-family:monospace;font-size:12px;page-break-after:always}"
+                        + "</style></head><body>\n");
+            }
+
+            IOException[] failure = {null};
+            renderRentals("rd.rental_actual_return_datetime >= ? AND rd.rental_actual_return_datetime < ?",
+                    stmt -> {
+                        stmt.setTimestamp(1, Timestamp.valueOf(day.atStartOfDay()));
+                        stmt.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+                    },
+                    receipt -> {
+                        if (failure[0] != null) return;
+                        try {
+                            if (html) {
+                                writer.write("<pre>");
+                                writer.write(escapeHtml(receipt));
+                                writer.write("</pre>\n");
+                            } else {
+                                if (count[0] > 0) writer.write('\f');
+                                writer.write(receipt);
+                            }
+                            count[0]++;
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    });
+            if (failure[0] != null) throw failure[0];
+
+            if (html) {
+                writer.write("</body></html>\n");
+            }
+        }
+        return count[0];
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private interface Sink {
+        void accept(String receipt);
+    }
+
+    private void renderRentals(String where, Binder binder, Sink sink) throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(String.format(RECEIPT_SQL, where))) {
+
+            binder.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+
+            String currentId = null;
+            double base = 0, fees = 0;
+            boolean hasViolations = false;
+
+            while (rs.next()) {
+                String rentalId = rs.getString("rental_id");
+
+                if (!rentalId.equals(currentId)) {
+                    if (currentId != null) {
+                        sink.accept(finishRental(base, fees));
+                    }
+                    currentId = rentalId;
+                    base = rs.getDouble("rental_total_payment");
+                    fees = 0;
+                    hasViolations = false;
+                    beginRental(rs);
+                }
+
+                if (rs.getString("violation_type") != null) {
+                    if (!hasViolations) {
+                        out.append(VIOLATIONS_HEADER);
+                        hasViolations = true;
+                    }
+                    fees += appendViolation(rs);
+                }
+            }
+            if (currentId != null) {
+                sink.accept(finishRental(base, fees));
+            }
+        }
+    }
+
+    private void beginRental(ResultSet rs) throws SQLException {
+        out.setLength(0);
+
+        set(Field.RENTAL_ID, rs.getString("rental_id"));
+        name(Field.CUSTOMER, rs.getString("renter_first_name"), rs.getString("renter_last_name"));
+        set(Field.CONTACT, rs.getString("renter_phone_number"));
+        set(Field.CAR_MODEL, rs.getString("car_model"));
+        set(Field.PLATE, rs.getString("car_plate_number"));
+        money(Field.DAILY_RATE, rs.getDouble("car_rental_fee"));
+        dateTime(Field.RENTAL_DATE, rs.getTimestamp("rental_datetime"));
+        dateTime(Field.PICKUP_DATE, rs.getTimestamp("rental_actual_pickup_datetime"));
+        dateTime(Field.EXPECTED_RETURN, rs.getTimestamp("rental_expected_return_datetime"));
+        dateTime(Field.ACTUAL_RETURN, rs.getTimestamp("rental_actual_return_datetime"));
+        name(Field.PICKUP_STAFF, rs.getString("pickup_staff_first_name"), rs.getString("pickup_staff_last_name"));
+        name(Field.RETURN_STAFF, rs.getString("return_staff_first_name"), rs.getString("return_staff_last_name"));
+        set(Field.STATUS, rs.getString("rental_status"));
+        money(Field.BASE_PAYMENT, rs.getDouble("rental_total_payment"));
+
+        RENTAL_HEADER.render(out, slots);
+    }
+
+    private double appendViolation(ResultSet rs) throws SQLException {
+        double penalty = rs.getDouble("violation_penalty_fee");
+        int duration = rs.getInt("violation_duration_hours");
+
+        set(Field.VIOLATION_TYPE, rs.getString("violation_type"));
+        dateTime(Field.RECORDED, rs.getTimestamp("violation_timestamp"));
+        set(Field.REASON, rs.getString("violation_reason"));
+        StringBuilder durationLine = clear(Field.DURATION_LINE);
+        if (duration > 0) {
+            durationLine.append("  Duration: ").append(duration).append(" hours\n");
+        }
+        money(Field.PENALTY, penalty);
+
+        VIOLATION.render(out, slots);
+        return penalty;
+    }
+
+    private String finishRental(double base, double fees) {
+        money(Field.VIOLATION_FEES, fees);
+        money(Field.TOTAL, base + fees);
+        RENTAL_SUMMARY.render(out, slots);
+        return out.toString();
+    }
+
+    // ============================
+    // 4. NOTICES AND COUNTER RECEIPTS
+    // ============================
+
+    /**
+     * Late return notice with the tariff breakdown.
+     */
+    public String renderLateNotice(String rentalId, String expectedReturn, int lateHours,
+                                   List<String> tierLines, double penalty) {
+        out.setLength(0);
+        set(Field.RENTAL_ID, rentalId);
+        set(Field.EXPECTED_RETURN, expectedReturn);
+        clear(Field.LATE_HOURS).append(lateHours);
+        StringBuilder tiers = clear(Field.TIER_LINES);
+        for (String line : tierLines) {
+            tiers.append(line).append('\n');
+        }
+        money(Field.PENALTY, penalty);
+
+        LATE_NOTICE.render(out, slots);
+        return out.toString();
+    }
+
+    public String renderOnTimeReturn(String rentalId, String renterDl, String plate,
+                                     LocalDate returnDate, double totalPayment) {
+        out.setLength(0);
+        set(Field.RENTAL_ID, rentalId);
+        set(Field.RENTER_DL, renterDl);
+        set(Field.PLATE, plate);
+        set(Field.ACTUAL_RETURN, returnDate != null ? returnDate.toString() : null);
+        money(Field.BASE_PAYMENT, totalPayment);
+
+        RETURN_ON_TIME.render(out, slots);
+        return out.toString();
+    }
+
+    public String renderLateReturn(String rentalId, String plate, String violationId, String violationType,
+                                   int lateHours, double penalty, String reason, double basePayment) {
+        out.setLength(0);
+        set(Field.RENTAL_ID, rentalId);
+        set(Field.PLATE, plate);
+        set(Field.VIOLATION_ID, violationId);
+        set(Field.VIOLATION_TYPE, violationType);
+        clear(Field.LATE_HOURS).append(lateHours);
+        money(Field.PENALTY, penalty);
+        set(Field.REASON, reason);
+        money(Field.BASE_PAYMENT, basePayment);
+        money(Field.TOTAL, basePayment + penalty);
+
+        RETURN_LATE.render(out, slots);
+        return out.toString();
+    }
+
+    public String renderCancellation(String rentalId, String renterDl, String plate, LocalDateTime cancelledAt) {
+        out.setLength(0);
+        set(Field.RENTAL_ID, rentalId);
+        set(Field.RENTER_DL, renterDl);
+        set(Field.PLATE, plate);
+        dateTime(Field.CANCELLED_AT, cancelledAt);
+
+        CANCELLATION.render(out, slots);
+        return out.toString();
+    }
+
+    // ============================
+    // 5. SLOT WRITERS
+    // ============================
+    private StringBuilder clear(Field f) {
+        StringBuilder sb = slots.get(f);
+        sb.setLength(0);
+        return sb;
+    }
+
+    private void set(Field f, String value) {
+        clear(f).append(value != null ? value : "N/A");
+    }
+
+    private void name(Field f, String first, String last) {
+        if (first == null && last == null) {
+            set(f, null);
+            return;
+        }
+        clear(f).append(first != null ? first : "").append(' ').append(last != null ? last : "");
+    }
+
+    // ₱ amounts as "1234.50", without going through String.format
+    private void money(Field f, double amount) {
+        StringBuilder sb = clear(f);
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        sb.append(cents / 100).append('.');
+        long rest = cents % 100;
+        if (rest < 10) sb.append('0');
+        sb.append(rest);
+    }
+
+    private void dateTime(Field f, Timestamp ts) {
+        dateTime(f, ts != null ? ts.toLocalDateTime() : null);
+    }
+
+    // "yyyy-MM-dd HH:mm"
+    private void dateTime(Field f, LocalDateTime t) {
+        if (t == null) {
+            set(f, null);
+            return;
+        }
+        StringBuilder sb = clear(f);
+        sb.append(t.getYear()).append('-');
+        pad2(sb, t.getMonthValue()).append('-');
+        pad2(sb, t.getDayOfMonth()).append(' ');
+        pad2(sb, t.getHour()).append(':');
+        pad2(sb, t.getMinute());
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int v) {
+        if (v < 10) sb.append('0');
+        return sb.append(v);
+    }
+
+    private static String escapeHtml(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * A template parsed into alternating literals and field references.
+     */
+    static final class Template {
+        private final String[] literals;   // literals[i] precedes fields[i]; one extra trailing literal
+        private final Field[] fields;
+
+        private Template(String[] literals, Field[] fields) {
+            this.literals = literals;
+            this.fields = fields;
+        }
+
+        static Template compile(String source) {
+            List<String> literals = new ArrayList<>();
+            List<Field> fields = new ArrayList<>();
+
+            int pos = 0;
+            while (true) {
+                int open = source.indexOf('{', pos);
+                if (open < 0) break;
+                int close = source.indexOf('}', open);
+                literals.add(source.substring(pos, open));
+                fields.add(Field.valueOf(source.substring(open + 1, close)));
+                pos = close + 1;
+            }
+            literals.add(source.substring(pos));
+
+            return new Template(literals.toArray(new String[0]), fields.toArray(new Field[0]));
+        }
+
+        void render(StringBuilder out, Map<Field, StringBuilder> slots) {
+            for (int i = 0; i < fields.length; i++) {
+                out.append(literals[i]).append(slots.get(fields[i]));
+            }
+            out.append(literals[fields.length]);
+        }
+    }
+}
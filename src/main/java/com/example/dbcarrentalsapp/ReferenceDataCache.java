@@ -0,0 +1,135 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Reference data for combo boxes and lookups, loaded once and shared by every view.
+ *
+ * Each list is a read-only ObservableList that popups bind to directly, so opening a
+ * popup costs no query. DAO writes call {@link Ref#invalidate()}, which bumps the list's
+ * version and reloads it in the background; open combo boxes update in place. A reload
+ * that finishes after a newer invalidation is discarded in favour of the next one.
+ */
+public class ReferenceDataCache {
+
+    // "BRN001 — Makati" style display values, see the DAOs
+    public static final Ref<String> BRANCHES = new Ref<>(() -> new BranchDAO().getAllBranchDisplayValues());
+    public static final Ref<String> JOBS = new Ref<>(() -> new JobDAO().getAllJobDisplayValues());
+    public static final Ref<String> DEPARTMENTS = new Ref<>(() -> new DepartmentDAO().getAllDepartmentDisplayValues());
+    public static final Ref<String> LOCATION_IDS = new Ref<>(() -> new LocationDAO().getAllLocationIds());
+    public static final Ref<String> AVAILABLE_LOCATIONS = new Ref<>(() -> new LocationDAO().getAvailableLocationDisplayValues());
+
+    private static final List<Ref<?>> ALL =
+            List.of(BRANCHES, JOBS, DEPARTMENTS, LOCATION_IDS, AVAILABLE_LOCATIONS);
+
+    /**
+     * One cached list and its version.
+     */
+    public static class Ref<T> {
+        private final Supplier<List<T>> loader;
+        private final ObservableList<T> items = FXCollections.observableArrayList();
+        private final ObservableList<T> readOnly = FXCollections.unmodifiableObservableList(items);
+
+        private long version;               // bumped by every invalidation
+        private long loadedVersion = -1;    // version the items reflect
+        private boolean loading;
+
+        Ref(Supplier<List<T>> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * @return the shared read-only list; loaded on the spot only if nothing has been
+         *         loaded yet (call from the FX thread)
+         */
+        public ObservableList<T> get() {
+            long target;
+            synchronized (this) {
+                target = loadedVersion < 0 ? version : -1;
+                if (target >= 0) loadedVersion = target;
+            }
+            if (target >= 0) {
+                items.setAll(loader.get());
+            } else {
+                refreshIfStale();
+            }
+            return readOnly;
+        }
+
+        /**
+         * Marks the list stale after a write and reloads it in the background.
+         */
+        public void invalidate() {
+            synchronized (this) {
+                version++;
+            }
+            refreshIfStale();
+        }
+
+        private void refreshIfStale() {
+            long target;
+            synchronized (this) {
+                if (loading || loadedVersion < 0 || loadedVersion == version) return;
+                loading = true;
+                target = version;
+            }
+            loadInBackground(target);
+        }
+
+        /** First load on the caller's (background) thread, for {@link #preload()}. */
+        private void preloadNow() {
+            long target;
+            synchronized (this) {
+                if (loading || loadedVersion >= 0) return;
+                loading = true;
+                target = version;
+            }
+            List<T> data = loader.get();
+            Platform.runLater(() -> apply(target, data));
+        }
+
+        private void loadInBackground(long target) {
+            new Thread(() -> {
+                List<T> data = loader.get();
+                Platform.runLater(() -> apply(target, data));
+            }).start();
+        }
+
+        private void apply(long target, List<T> data) {
+            boolean newer;
+            synchronized (this) {
+                loading = false;
+                newer = target >= loadedVersion;
+                if (newer) loadedVersion = target;
+            }
+            if (newer) items.setAll(data);
+            refreshIfStale();   // invalidated again while loading
+        }
+    }
+
+    /**
+     * Loads every list in the background, e.g. at startup, so the first popup is instant too.
+     */
+    public static void preload() {
+        new Thread(() -> {
+            for (Ref<?> ref : ALL) ref.preloadNow();   // one after another, a single connection at a time
+        }).start();
+    }
+
+    /** Branch writes also change which locations are still free. */
+    public static void invalidateBranches() {
+        BRANCHES.invalidate();
+        AVAILABLE_LOCATIONS.invalidate();
+    }
+
+    /** Location writes affect both location lists. */
+    public static void invalidateLocations() {
+        LOCATION_IDS.invalidate();
+        AVAILABLE_LOCATIONS.invalidate();
+    }
+}
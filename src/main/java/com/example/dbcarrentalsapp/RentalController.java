@@ -1,7 +1,5 @@
 package com.example.dbcarrentalsapp;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -18,24 +16,40 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class RentalController {
 
+    private static final int PICKER_MATCHES = 20;   // suggestions shown by the renter and car pickers
+
     private final RentalView view;
     private final Stage stage;
     private final RentalDAO rentalDAO;
-    private final RenterDAO renterDAO;
     private final CarDAO carDAO;
-    private ObservableList<RentalRecord> masterList;
+    private final RenterDAO renterDAO = new RenterDAO();
+    private final PagedTableSource<RentalRecord> rentals;
 
     public RentalController(RentalView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.rentalDAO = new RentalDAO();
-        this.renterDAO = new RenterDAO();
         this.carDAO = new CarDAO();
 
+        // Newest bookings first, one page at a time
+        this.rentals = new PagedTableSource<>(view.tableView, "rental_details", "rental_id",
+                "rental_datetime", true, RentalDAO::mapResultSetToRentalRecord,
+                "rental_id", "rental_car_plate_number", "rental_status", "rental_renter_dl_number")
+                .fullText("rental_search_text")
+                .sortable("ID", "rental_id")
+                .sortable("Renter DL", "rental_renter_dl_number")
+                .sortable("Car Plate", "rental_car_plate_number")
+                .sortable("Branch", "rental_branch_id")
+                .sortable("Pickup (Exp.)", "rental_expected_pickup_datetime")
+                .sortable("Return (Exp.)", "rental_expected_return_datetime")
+                .sortable("Status", "rental_status")
+                .sortable("Total Payment", "rental_total_payment")
+                .lockUnmappedColumns()
+                .follow(TableChanges.RENTALS);   // writes are patched in, no reload
+
         loadRentals();
         setupActions();
     }
@@ -43,26 +57,18 @@ public class RentalController {
     private void setupActions() {
 
         // Return to Manage Transactions
-        view.returnButton.setOnAction(e -> {
-            ManageTransactionsView manageView = new ManageTransactionsView(stage);
-            new ManageTransactionsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.TRANSACTIONS));
+
+        // Export the full rentals table
+        view.exportButton.setOnAction(e -> ExportDialog.exportSource(stage, TableExporter.Source.RENTALS));
 
         // Add Rental: generate id, show popup, validate & insert
         view.addButton.setOnAction(e -> {
             try {
                 String newId = rentalDAO.generateNextRentalId();
 
-                // gather branch list from cars
-                List<CarRecord> allCars = CarDAO.getAllCars();
-                List<String> branches = allCars.stream()
-                        .map(CarRecord::getCarBranchId)
-                        .distinct()
-                        .sorted()
-                        .collect(Collectors.toList());
-
-                List<String> renters = renterDAO.getAllRenterDLs();
+                // Branches are few and cached; renters and cars are searched as the user types
+                List<String> branches = ReferenceDataCache.BRANCHES.get();
 
                 view.showAddRentalPopup(newId, data -> {
                     try {
@@ -102,13 +108,22 @@ public class RentalController {
 
                         // Persist
                         rentalDAO.addRental(r);
-                        loadRentals();
                         showInfo("Success", "Rental added successfully (ID: " + newId + ")");
                     } catch (SQLException ex) {
                         ex.printStackTrace();
                         showError("Database Error", ex.getMessage());
                     }
-                }, branches, renters, allCars);
+                }, branches,
+                        prefix -> renterDAO.findRenterDLsByPrefix(prefix, PICKER_MATCHES),
+                        (branchId, prefix) -> CarDAO.findAvailableCarsByPrefix(branchId, prefix, PICKER_MATCHES),
+                        dl -> {
+                    try {
+                        return RenterProfileDAO.getProfile(dl);
+                    } catch (SQLException ex) {
+                        ex.printStackTrace();
+                        return null;   // the form still works without the history
+                    }
+                });
 
             } catch (SQLException ex) {
                 ex.printStackTrace();
@@ -138,7 +153,6 @@ public class RentalController {
             }
 
             view.showPickupPopup(selected);
-            loadRentals();
         });
 
         // VIEW RENTAL DETAILS
@@ -153,38 +167,17 @@ public class RentalController {
 
         // Search
         view.searchField.setOnAction(e -> applyFilter());
+        DebouncedSearch.attach(view.searchField, rentals::setFilter);
     }
 
-    /** Loads all rentals */
+    /** Reloads the first page of rentals (current order and search kept) */
     public void loadRentals() {
-        try {
-            List<RentalRecord> rentals = rentalDAO.getAllRentals();
-            masterList = FXCollections.observableArrayList(rentals);
-            view.tableView.setItems(masterList);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showError("Database Error", "Failed to load rentals.");
-        }
+        rentals.reload();
     }
 
-    /** Filtering */
+    /** Filtering: matched on the server by ID, plate, status or renter DL */
     private void applyFilter() {
-        String filterText = view.searchField.getText().toLowerCase().trim();
-
-        if (filterText.isEmpty()) {
-            view.tableView.setItems(masterList);
-            return;
-        }
-
-        ObservableList<RentalRecord> filteredList = masterList.filtered(record ->
-                record.getRentalId().toLowerCase().contains(filterText)
-                        || record.getCarPlateNumber().toLowerCase().contains(filterText)
-                        || record.getRentalStatus().name().toLowerCase().contains(filterText)
-                        || (record.getRenterDlNumber() != null &&
-                        record.getRenterDlNumber().toLowerCase().contains(filterText))
-        );
-
-        view.tableView.setItems(filteredList);
+        rentals.setFilter(view.searchField.getText());
     }
 
     // ================================================================
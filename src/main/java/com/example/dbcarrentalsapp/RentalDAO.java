@@ -7,12 +7,15 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class RentalDAO {
 
     private static final int PICKUP_GRACE_MINUTES = 5;
-    private final CancellationDAO cancellationDAO = new CancellationDAO();
 
     /**
      * Check if a car is valid to rent:
@@ -158,7 +161,7 @@ public class RentalDAO {
                     rental_actual_return_datetime,
                     rental_total_payment,
                     rental_status
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ) VALUES (?, ?, ?, ?, ?, ?, NOW(), ?, ?, ?, ?, ?, ?)
                 """;
 
                 try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -171,16 +174,16 @@ public class RentalDAO {
                     stmt.setNull(5, Types.VARCHAR); // staff_id_pickup
                     stmt.setNull(6, Types.VARCHAR); // staff_id_return
 
-                    stmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now())); // rental_datetime
+                    // rental_datetime is the database's NOW(), the clock CompanyRevenueLedger settles by
 
-                    stmt.setTimestamp(8, Timestamp.valueOf(rental.getExpectedPickupDateTime()));
-                    stmt.setNull(9, Types.TIMESTAMP); // actual_pickup_datetime
+                    stmt.setTimestamp(7, Timestamp.valueOf(rental.getExpectedPickupDateTime()));
+                    stmt.setNull(8, Types.TIMESTAMP); // actual_pickup_datetime
 
-                    stmt.setTimestamp(10, Timestamp.valueOf(rental.getExpectedReturnDateTime()));
-                    stmt.setNull(11, Types.TIMESTAMP); // actual_return_datetime
+                    stmt.setTimestamp(9, Timestamp.valueOf(rental.getExpectedReturnDateTime()));
+                    stmt.setNull(10, Types.TIMESTAMP); // actual_return_datetime
 
-                    stmt.setBigDecimal(12, rental.getTotalPayment());
-                    stmt.setString(13, RentalRecord.RentalStatus.UPCOMING.name());
+                    stmt.setBigDecimal(11, rental.getTotalPayment());
+                    stmt.setString(12, RentalRecord.RentalStatus.UPCOMING.name());
 
                     stmt.executeUpdate();
                 }
@@ -192,6 +195,7 @@ public class RentalDAO {
                 throw e; // Re-throw the exception
             }
         }
+        TableChanges.RENTALS.changed(rental.getRentalId());
     }
 
 
@@ -216,9 +220,19 @@ public class RentalDAO {
                 WHERE rental_id = ?
                 """;
 
+        LocalDateTime previousReturn = null;
+        Set<String> affectedRenters = new HashSet<>();
+        affectedRenters.add(rental.getRenterDlNumber());
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            RentalRecord before = getRentalById(conn, rental.getRentalId());
+            if (before != null) {
+                previousReturn = before.getActualReturnDateTime();
+                affectedRenters.add(before.getRenterDlNumber());
+            }
+
             stmt.setString(1, rental.getRenterDlNumber());
             stmt.setString(2, rental.getCarPlateNumber());
             stmt.setString(3, rental.getBranchId());
@@ -247,64 +261,40 @@ public class RentalDAO {
 
             stmt.executeUpdate();
 
+            // Payment may have changed on an already counted rental
+            CompanyRevenueLedger.invalidate();
+            ViolationAnalyticsEngine.invalidate();   // branch or car may have changed
+
             // If car plate changed or status changed, ensure car statuses are consistent.
             updateCarStatus(conn, rental.getCarPlateNumber());
         }
+
+        // Rebuild duration histograms from the earliest return day this edit touched
+        LocalDateTime newReturn = rental.getActualReturnDateTime();
+        LocalDateTime firstAffected = previousReturn == null ? newReturn
+                : newReturn == null || previousReturn.isBefore(newReturn) ? previousReturn : newReturn;
+        if (firstAffected != null) {
+            RentalDistributionDAO.invalidateFrom(firstAffected.toLocalDate());
+        }
+
+        // Status or renter may have changed; recount both renters' histories
+        RenterProfileDAO.rebuildRenters(affectedRenters);
+        TableChanges.RENTALS.changed(rental.getRentalId());
     }
 
     /**
-     * Apply pickup grace period: mark UPCOMING rentals as CANCELLED if expected pickup + grace <= now.
+     * Apply pickup grace period: cancel UPCOMING rentals if expected pickup + grace <= now.
+     * Each one gets its cancellation record in the same transaction (see CancellationService).
      */
     public void applyGracePeriod(LocalDateTime now) throws SQLException {
-        String selectSql = """
-                SELECT rental_id, rental_car_plate_number, rental_expected_pickup_datetime
-                FROM rental_details
-                WHERE rental_status = 'UPCOMING'
-                AND rental_expected_pickup_datetime <= ?
-                """;
-
-        String updateRentalSql = """
-                UPDATE rental_details
-                SET rental_status = 'CANCELLED'
-                WHERE rental_id = ?
-                """;
-
-        try (Connection conn = DBConnection.getConnection()) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement selectStmt = conn.prepareStatement(selectSql)) {
-                // Find rentals whose pickup time is *before* (now - grace period)
-                selectStmt.setTimestamp(1, Timestamp.valueOf(now.minusMinutes(PICKUP_GRACE_MINUTES)));
-
-                try (ResultSet rs = selectStmt.executeQuery()) {
-                    while (rs.next()) {
-                        String rentalId = rs.getString("rental_id");
-                        String carPlate = rs.getString("rental_car_plate_number");
-
-                        try (PreparedStatement updateStmt = conn.prepareStatement(updateRentalSql)) {
-                            updateStmt.setString(1, rentalId);
-                            updateStmt.executeUpdate();
-                        }
-
-                        // This car *might* be available now, update its status.
-                        // (This implementation is safe, it only sets to 'Available' if no *other* ACTIVE rental exists)
-                        updateCarStatus(conn, carPlate);
-                    }
-                }
-                conn.commit();
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
-        }
-
-        cancellationDAO.importExistingCancelledRentals();
+        new CancellationService().cancelExpired(now.minusMinutes(PICKUP_GRACE_MINUTES));
     }
 
     /**
      * Update car_record status based on whether there's any ACTIVE rental for the car.
      * Preserves 'Under Maintenance' status when setting Available.
      */
-    private void updateCarStatus(Connection conn, String carPlate) throws SQLException {
+    void updateCarStatus(Connection conn, String carPlate) throws SQLException {
         String rentedSql = """
                 UPDATE car_record
                 SET car_status = 'Rented'
@@ -394,7 +384,7 @@ public class RentalDAO {
     /**
      * Map a resultset row into RentalRecord.
      */
-    private static RentalRecord mapResultSetToRentalRecord(ResultSet rs) throws SQLException {
+    static RentalRecord mapResultSetToRentalRecord(ResultSet rs) throws SQLException {
 
         // Read timestamps using correct column names
         Timestamp rentalTs                  = rs.getTimestamp("rental_datetime");
@@ -471,6 +461,7 @@ public class RentalDAO {
             // update car status (in case status changed to ACTIVE)
             updateCarStatus(conn, rental.getCarPlateNumber());
         }
+        TableChanges.RENTALS.changed(rental.getRentalId());
     }
 
     /**
@@ -491,12 +482,21 @@ public class RentalDAO {
             if (updated > 0) {
                 updateCarStatus(conn, rental.getCarPlateNumber());
             }
-
-            return updated > 0;
+            if (updated == 0) {
+                return false;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
+
+        try {
+            RenterProfileDAO.rebuildForRentals(List.of(rental.getRentalId()));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        TableChanges.RENTALS.changed(rental.getRentalId());
+        return true;
     }
 
     /**
@@ -555,6 +555,7 @@ public class RentalDAO {
                 throw e;
             }
         }
+        TableChanges.RENTALS.changed(rentalId);
     }
 
     private static void updateCarToRented(Connection conn, String rentalId) throws SQLException {
@@ -593,6 +594,31 @@ public class RentalDAO {
         return list;
     }
 
+    /**
+     * The given rentals that are still ACTIVE, read in one query; for patching changed
+     * rows into the return screen.
+     */
+    public List<RentalRecord> getActiveRentalsByIds(Collection<String> ids) throws SQLException {
+        List<RentalRecord> list = new ArrayList<>();
+        if (ids.isEmpty()) return list;
+
+        String sql = "SELECT * FROM rental_details WHERE rental_status = 'ACTIVE' AND rental_id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            for (String id : ids) ps.setString(i++, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapResultSetToRentalRecord(rs));
+                }
+            }
+        }
+        return list;
+    }
+
     // You can create a new method or update your existing updateRentalStatus
     public void updateRentalOnReturn(Connection conn, RentalRecord rental) throws SQLException {
         String sql = "UPDATE rental_details SET rental_status = ?, rental_actual_return_datetime = ? WHERE rental_id = ?";
@@ -602,5 +628,9 @@ public class RentalDAO {
             ps.setString(3, rental.getRentalId());
             ps.executeUpdate();
         }
+
+        if (rental.getRentalStatus() == RentalStatus.COMPLETED) {
+            RenterProfileDAO.recordCompletion(conn, rental.getRentalId());
+        }
     }
 }
@@ -0,0 +1,289 @@
+package com.example.dbcarrentalsapp;
+
+import model.DurationDistribution;
+import model.DurationHistogram;
+
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rental duration / late-return distributions backed by per-branch, per-day histograms.
+ *
+ * Closed days (before today) are folded once into rental_distribution_daily and never
+ * rescanned; rental_distribution_progress remembers how far that has got. Reports then
+ * merge the stored histograms for the requested range and branches, plus today's
+ * returns read live.
+ */
+public class RentalDistributionDAO {
+
+    private static final String PROGRESS_ID = "DAILY";
+    private static final String DURATION = "DURATION";
+    private static final String LATENESS = "LATENESS";
+
+    // ============================
+    // 1. REPORT
+    // ============================
+
+    /**
+     * Percentiles per branch plus an "ALL BRANCHES" row for returns in [from, to].
+     *
+     * @param branchIds branches to include, or null for all
+     * @return one row per branch that had returns, company row last; empty on error
+     */
+    public List<DurationDistribution> getDistribution(LocalDate from, LocalDate to, Collection<String> branchIds) {
+        List<DurationDistribution> rows = new ArrayList<>();
+
+        // branch name -> {duration, lateness}
+        Map<String, DurationHistogram[]> byBranch = new TreeMap<>();
+
+        String sql = """
+            SELECT h.branch_id, b.branch_name, h.metric, h.histogram
+            FROM rental_distribution_daily h
+            INNER JOIN branch_record b ON b.branch_id = h.branch_id
+            WHERE h.day BETWEEN ? AND ?
+            """;
+
+        try {
+            refresh();
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setDate(1, Date.valueOf(from));
+                stmt.setDate(2, Date.valueOf(to));
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    if (branchIds != null && !branchIds.contains(rs.getString("branch_id"))) continue;
+
+                    DurationHistogram[] pair = byBranch.computeIfAbsent(rs.getString("branch_name"), k -> newPair());
+                    DurationHistogram h = DurationHistogram.fromBytes(rs.getBytes("histogram"));
+                    pair[DURATION.equals(rs.getString("metric")) ? 0 : 1].merge(h);
+                }
+            }
+
+            // Today is still open and not materialized yet; it is small enough to read live
+            LocalDate today = LocalDate.now();
+            if (!to.isBefore(today) && !from.isAfter(today)) {
+                addLiveReturns(today, branchIds, byBranch);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return rows;
+        }
+
+        DurationHistogram[] company = newPair();
+        for (Map.Entry<String, DurationHistogram[]> entry : byBranch.entrySet()) {
+            DurationHistogram[] pair = entry.getValue();
+            rows.add(new DurationDistribution(entry.getKey(), pair[0], pair[1]));
+            company[0].merge(pair[0]);
+            company[1].merge(pair[1]);
+        }
+        if (!rows.isEmpty()) {
+            rows.add(new DurationDistribution("ALL BRANCHES", company[0], company[1]));
+        }
+
+        return rows;
+    }
+
+    private void addLiveReturns(LocalDate today, Collection<String> branchIds,
+                                Map<String, DurationHistogram[]> byBranch) throws SQLException {
+        String sql = """
+            SELECT r.rental_branch_id, b.branch_name,
+                   r.rental_actual_pickup_datetime, r.rental_actual_return_datetime,
+                   r.rental_expected_return_datetime
+            FROM rental_details r
+            INNER JOIN branch_record b ON b.branch_id = r.rental_branch_id
+            WHERE r.rental_status = 'COMPLETED'
+              AND r.rental_actual_pickup_datetime IS NOT NULL
+              AND r.rental_actual_return_datetime >= ?
+            """;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(today.atStartOfDay()));
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                if (branchIds != null && !branchIds.contains(rs.getString("rental_branch_id"))) continue;
+                record(byBranch.computeIfAbsent(rs.getString("branch_name"), k -> newPair()), rs);
+            }
+        }
+    }
+
+    // ============================
+    // 2. MATERIALIZATION
+    // ============================
+
+    /**
+     * Folds every closed day not yet materialized into rental_distribution_daily.
+     * Rows arrive ordered by return time, so only one day's histograms are held at once.
+     */
+    public static synchronized void refresh() throws SQLException {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        try (Connection conn = DBConnection.getConnection()) {
+            LocalDate builtThrough = readProgress(conn);
+            if (builtThrough != null && !builtThrough.isBefore(yesterday)) {
+                return; // up to date
+            }
+
+            String scanSql = """
+                SELECT rental_branch_id,
+                       rental_actual_pickup_datetime, rental_actual_return_datetime,
+                       rental_expected_return_datetime
+                FROM rental_details
+                WHERE rental_status = 'COMPLETED'
+                  AND rental_actual_pickup_datetime IS NOT NULL
+                  AND rental_actual_return_datetime >= ?
+                  AND rental_actual_return_datetime < ?
+                ORDER BY rental_actual_return_datetime
+                """;
+
+            Timestamp start = builtThrough != null
+                    ? Timestamp.valueOf(builtThrough.plusDays(1).atStartOfDay())
+                    : new Timestamp(0);
+            Timestamp end = Timestamp.valueOf(yesterday.plusDays(1).atStartOfDay());
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement clear = conn.prepareStatement(
+                         "DELETE FROM rental_distribution_daily WHERE day >= ? AND day <= ?");
+                 PreparedStatement scan = conn.prepareStatement(scanSql);
+                 PreparedStatement insert = conn.prepareStatement("""
+                         INSERT INTO rental_distribution_daily (branch_id, day, metric, histogram)
+                         VALUES (?, ?, ?, ?)
+                         """)) {
+
+                // Drop anything left in the range by an earlier, invalidated build
+                clear.setDate(1, new Date(start.getTime()));
+                clear.setDate(2, Date.valueOf(yesterday));
+                clear.executeUpdate();
+
+                scan.setTimestamp(1, start);
+                scan.setTimestamp(2, end);
+
+                LocalDate currentDay = null;
+                Map<String, DurationHistogram[]> dayHistograms = new HashMap<>();
+
+                ResultSet rs = scan.executeQuery();
+                while (rs.next()) {
+                    LocalDate day = rs.getTimestamp("rental_actual_return_datetime").toLocalDateTime().toLocalDate();
+                    if (!day.equals(currentDay)) {
+                        addDay(insert, currentDay, dayHistograms);
+                        currentDay = day;
+                    }
+                    record(dayHistograms.computeIfAbsent(rs.getString("rental_branch_id"), k -> newPair()), rs);
+                }
+                addDay(insert, currentDay, dayHistograms);
+                insert.executeBatch();
+
+                writeProgress(conn, yesterday);
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Marks every day from the given one onwards for rebuilding, e.g. after a
+     * completed rental's pickup or return time was edited.
+     */
+    public static synchronized void invalidateFrom(LocalDate day) {
+        String sql = """
+            UPDATE rental_distribution_progress
+            SET built_through = LEAST(built_through, ?)
+            WHERE id_type = ?
+            """;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(day.minusDays(1)));
+            stmt.setString(2, PROGRESS_ID);
+            stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void addDay(PreparedStatement insert, LocalDate day,
+                               Map<String, DurationHistogram[]> dayHistograms) throws SQLException {
+        if (day == null) return;
+
+        for (Map.Entry<String, DurationHistogram[]> entry : dayHistograms.entrySet()) {
+            DurationHistogram[] pair = entry.getValue();
+            addRow(insert, entry.getKey(), day, DURATION, pair[0]);
+            if (pair[1].getTotalCount() > 0) {
+                addRow(insert, entry.getKey(), day, LATENESS, pair[1]);
+            }
+        }
+        dayHistograms.clear();
+    }
+
+    private static void addRow(PreparedStatement insert, String branchId, LocalDate day,
+                               String metric, DurationHistogram h) throws SQLException {
+        insert.setString(1, branchId);
+        insert.setDate(2, Date.valueOf(day));
+        insert.setString(3, metric);
+        insert.setBytes(4, h.toBytes());
+        insert.addBatch();
+    }
+
+    private static LocalDate readProgress(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT built_through FROM rental_distribution_progress WHERE id_type = ?")) {
+            stmt.setString(1, PROGRESS_ID);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getDate("built_through").toLocalDate() : null;
+        }
+    }
+
+    private static void writeProgress(Connection conn, LocalDate builtThrough) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO rental_distribution_progress (id_type, built_through) VALUES (?, ?)
+                ON DUPLICATE KEY UPDATE built_through = VALUES(built_through)
+                """)) {
+            stmt.setString(1, PROGRESS_ID);
+            stmt.setDate(2, Date.valueOf(builtThrough));
+            stmt.executeUpdate();
+        }
+    }
+
+    // ============================
+    // 3. HELPERS
+    // ============================
+
+    /** Records one completed rental: total minutes rented, and minutes late if any. */
+    private static void record(DurationHistogram[] pair, ResultSet rs) throws SQLException {
+        LocalDateTime pickup = rs.getTimestamp("rental_actual_pickup_datetime").toLocalDateTime();
+        LocalDateTime returned = rs.getTimestamp("rental_actual_return_datetime").toLocalDateTime();
+        LocalDateTime expected = rs.getTimestamp("rental_expected_return_datetime").toLocalDateTime();
+
+        pair[0].record(Duration.between(pickup, returned).toMinutes());
+
+        long lateMinutes = Duration.between(expected, returned).toMinutes();
+        if (lateMinutes > 0) {
+            pair[1].record(lateMinutes);
+        }
+    }
+
+    private static DurationHistogram[] newPair() {
+        return new DurationHistogram[] { new DurationHistogram(), new DurationHistogram() };
+    }
+}
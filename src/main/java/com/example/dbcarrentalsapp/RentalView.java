@@ -12,6 +12,7 @@ import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.RentalRecord;
+import model.RenterProfile;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
@@ -20,12 +21,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public class RentalView {
 
-    public Button addButton, modifyButton, viewButton, returnButton;
+    public Button addButton, modifyButton, viewButton, returnButton, exportButton;
     public TextField searchField;
     public TableView<RentalRecord> tableView;
     private final Scene scene;
@@ -34,7 +37,7 @@ public class RentalView {
 
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png"));
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png");
         BackgroundImage backgroundImage = new BackgroundImage(
                 bgImage,
                 BackgroundRepeat.NO_REPEAT,
@@ -139,18 +142,21 @@ public class RentalView {
         });
 
         returnButton = new Button("Return");
+        exportButton = new Button("Export");
 
         addButton.getStyleClass().add("small-button");
         modifyButton.getStyleClass().add("small-button");
         viewButton.getStyleClass().add("small-button");
         returnButton.getStyleClass().add("small-button");
+        exportButton.getStyleClass().add("small-button");
 
         addButton.setPrefWidth(120);
         modifyButton.setPrefWidth(120);
         viewButton.setPrefWidth(120);
         returnButton.setPrefWidth(120);
+        exportButton.setPrefWidth(120);
 
-        HBox buttonBox = new HBox(15, addButton, modifyButton, viewButton, returnButton);
+        HBox buttonBox = new HBox(15, addButton, modifyButton, viewButton, exportButton, returnButton);
         buttonBox.setAlignment(Pos.CENTER);
 
         // ===== Card Container =====
@@ -191,8 +197,9 @@ public class RentalView {
     public void showAddRentalPopup(String newRentalId,
                                    Consumer<RentalInputData> callback,
                                    List<String> branches,
-                                   List<String> renterDLs,
-                                   List<model.CarRecord> allCars) {
+                                   Function<String, List<String>> renterSearch,
+                                   BiFunction<String, String, List<model.CarRecord>> carSearch,
+                                   Function<String, RenterProfile> profileLookup) {
 
         Stage popup = new Stage();
         popup.initModality(javafx.stage.Modality.APPLICATION_MODAL);
@@ -203,12 +210,27 @@ public class RentalView {
 
         Label renterLabel = new Label("Renter DL:");
         renterLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
-        ComboBox<String> renterBox = new ComboBox<>();
-        renterBox.getItems().addAll(renterDLs);
+        AutoCompleteField<String> renterBox = new AutoCompleteField<>(renterSearch, dl -> dl);
         renterBox.setPrefWidth(240);
-        renterBox.setPromptText("Select Renter DL");
+        renterBox.setPromptText("Type a Renter DL");
         renterBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white;");
 
+        // Renter history at a glance, read from renter_profile when a DL is picked
+        Label profileLabel = new Label();
+        profileLabel.setWrapText(true);
+        renterBox.valueProperty().addListener((obs, old, dl) -> {
+            RenterProfile profile = dl != null ? profileLookup.apply(dl) : null;
+            if (profile == null) {
+                profileLabel.setText("");
+                return;
+            }
+            boolean flagged = profile.getLateReturns() > 0 || profile.getDamageIncidents() > 0;
+            profileLabel.setText(profile.summary());
+            profileLabel.setStyle(flagged
+                    ? "-fx-text-fill: #ffcc66; -fx-font-size: 12px;"
+                    : "-fx-text-fill: #bbbbbb; -fx-font-size: 12px;");
+        });
+
         Label branchLabel = new Label("Branch:");
         branchLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
         ComboBox<String> branchBox = new ComboBox<>();
@@ -219,24 +241,23 @@ public class RentalView {
 
         Label carLabel = new Label("Car:");
         carLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
-        ComboBox<String> carBox = new ComboBox<>();
+        // Available cars of the selected branch, searched by plate prefix
+        AtomicReference<String> selectedBranchId = new AtomicReference<>();
+        AutoCompleteField<model.CarRecord> carBox = new AutoCompleteField<>(prefix -> {
+            String branchId = selectedBranchId.get();
+            return branchId == null ? List.of() : carSearch.apply(branchId, prefix);
+        }, model.CarRecord::getCarPlateNumber);
         carBox.setPrefWidth(240);
-        carBox.setPromptText("Select Car (filtered by branch)");
+        carBox.setPromptText("Type a Plate (select a branch first)");
         carBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white;");
+        carBox.setDisable(true);
 
-        // When branch selected, populate carBox with available cars in branch
-        // When branch selected, populate carBox with available cars in branch
+        // A new branch means a new set of cars to pick from
         branchBox.setOnAction(e -> {
             String branch = branchBox.getValue();
-            carBox.getItems().clear();
-            if (branch != null) {
-                List<String> plates = allCars.stream()
-                        .filter(c -> branch.equals(c.getCarBranchId()))
-                        .filter(c -> "Available".equalsIgnoreCase(c.getCarStatus())) // Enforce status
-                        .map(model.CarRecord::getCarPlateNumber)
-                        .collect(Collectors.toList());
-                carBox.getItems().addAll(plates);
-            }
+            selectedBranchId.set(branch != null ? branchIdOf(branch) : null);
+            carBox.clear();
+            carBox.setDisable(branch == null);
         });
 
         Label pickupLabel = new Label("Expected Pickup Date:");
@@ -334,25 +355,18 @@ public class RentalView {
 
         // --- Recompute total rental fee when car or dates change ---
         Runnable updatePrice = () -> {
-            String plate = carBox.getValue();
+            model.CarRecord car = carBox.getValue();
             LocalDate p = pickupDate.getValue();
             LocalDate r = returnDate.getValue();
 
-            if (plate == null || p == null || r == null) return;
-
-            // Find car record
-            model.CarRecord car = allCars.stream()
-                    .filter(c -> c.getCarPlateNumber().equals(plate))
-                    .findFirst().orElse(null);
-
-            if (car == null) return;
+            if (car == null || p == null || r == null) return;
 
             BigDecimal computed = computeTotal(p, r, BigDecimal.valueOf(car.getCarRentalFee()));
             computedLabel.setText("Computed Total: ₱" + computed);
         };
 
         // Attach listeners
-        carBox.setOnAction(e -> updatePrice.run());
+        carBox.valueProperty().addListener((obs, o, n) -> updatePrice.run());
         pickupDate.setOnAction(e -> updatePrice.run());
         returnDate.setOnAction(e -> updatePrice.run());
 
@@ -405,15 +419,7 @@ public class RentalView {
                 return;
             }
 
-            model.CarRecord car = allCars.stream()
-                    .filter(c -> c.getCarPlateNumber().equals(carBox.getValue()))
-                    .findFirst().orElse(null);
-
-            if (car == null) {
-                msg.setText("Car data not found.");
-                return;
-            }
-
+            model.CarRecord car = carBox.getValue();
             BigDecimal computed = computeTotal(p, r, BigDecimal.valueOf(car.getCarRentalFee()));
 
             if (payment.compareTo(computed) != 0) {
@@ -424,10 +430,10 @@ public class RentalView {
             RentalInputData data = new RentalInputData(
                     newRentalId,
                     renterBox.getValue(),
-                    carBox.getValue(),
+                    car.getCarPlateNumber(),
                     pickup,
                     ret,
-                    branchBox.getValue(),
+                    branchIdOf(branchBox.getValue()),
                     payment
             );
 
@@ -439,7 +445,7 @@ public class RentalView {
 
         VBox box = new VBox(14,
                 idLabel,
-                renterLabel, renterBox,
+                renterLabel, renterBox, profileLabel,
                 branchLabel, branchBox,
                 carLabel, carBox,
                 pickupLabel, pickupDate,
@@ -467,6 +473,11 @@ public class RentalView {
         return dailyFee.multiply(BigDecimal.valueOf(days));
     }
 
+    /** "BRN001 — Makati" (ReferenceDataCache.BRANCHES) to "BRN001" */
+    private static String branchIdOf(String branchDisplay) {
+        return branchDisplay.split("—")[0].trim();
+    }
+
     void showPickupPopup(RentalRecord rental) {
         try {
             StaffDAO staffDAO = new StaffDAO();
@@ -578,7 +589,6 @@ public class RentalView {
                             staffDropdown.getValue(),
                             actualPickup
                     );
-                    loadRentals();
                     popup.close();
                     showInfo("Success", "Pickup processed successfully.");
                 } catch (SQLException ex) {
@@ -656,15 +666,6 @@ public class RentalView {
         alert.showAndWait();
     }
 
-    private void loadRentals() {
-        try {
-            List<RentalRecord> rentals = RentalDAO.getAllRentals();
-            tableView.getItems().setAll(rentals);
-        } catch (SQLException ex) {
-            showError("Error", "Failed to load rentals: " + ex.getMessage());
-        }
-    }
-
     public void showViewRentalPopup(RentalRecord record) {
 
         Stage popup = new Stage();
@@ -1,17 +1,22 @@
 package com.example.dbcarrentalsapp;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javafx.scene.control.Alert;
 import model.BranchReport;
+import model.DurationDistribution;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors; 
 
 public class RentalsReportController {
 
     private final RentalsReportDAO rentalsReportDAO = new RentalsReportDAO();
+    private final RentalDistributionDAO distributionDAO = new RentalDistributionDAO();
     private final RentalsReportView view;
     private final Stage stage;
 
@@ -24,10 +29,43 @@ public class RentalsReportController {
 
     private void setupActions() {
         view.returnButton.setOnAction(e -> goBack());
+        view.exportButton.setOnAction(e -> ExportDialog.exportTable(stage, view.getTableView(), "rentals_report"));
         view.getFilterButton().setOnAction(e -> applyFilter());
+        view.distributionButton.setOnAction(e -> showDistribution());
     }
 
-    private void loadReportData() {
+    private void showDistribution() {
+        LocalDate from = view.fromPicker.getValue();
+        LocalDate to = view.toPicker.getValue();
+
+        if (from == null || to == null || to.isBefore(from)) {
+            showError("Please select a valid date range.");
+            return;
+        }
+
+        // First call may materialize past days; keep it off the FX thread
+        new Thread(() -> {
+            List<DurationDistribution> rows = distributionDAO.getDistribution(from, to, null);
+
+            Platform.runLater(() -> {
+                if (rows.isEmpty()) {
+                    showError("No completed rentals in the selected range.");
+                    return;
+                }
+                view.showDistributionPopup(rows);
+            });
+        }).start();
+    }
+
+    private void showError(String msg) {
+        Alert a = new Alert(Alert.AlertType.ERROR);
+        a.setTitle("Error");
+        a.setHeaderText(null);
+        a.setContentText(msg);
+        a.showAndWait();
+    }
+
+    public void loadReportData() {
         try {
             List<BranchReport> reportList = rentalsReportDAO.getRentalsByBranch();
             ObservableList<BranchReport> observableList = FXCollections.observableArrayList(reportList);
@@ -55,9 +93,7 @@ public class RentalsReportController {
     }
 
     private void goBack() {
-        ManageReportsView mtv = new ManageReportsView(stage);
-        new ManageReportsController(mtv, stage);
-        stage.setScene(mtv.getScene());
+        Navigator.go(Navigator.Screen.REPORTS);
     }
 }
 
@@ -11,11 +11,16 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import model.BranchReport;
+import model.DurationDistribution;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public class RentalsReportView {
 
     public TableView<BranchReport> tableView;
-    public Button returnButton, filterButton;
+    public Button returnButton, filterButton, exportButton, distributionButton;
+    public DatePicker fromPicker, toPicker;
     public TextField searchField;
     private final Scene scene;
 
@@ -26,9 +31,7 @@ public class RentalsReportView {
 
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -63,7 +66,17 @@ public class RentalsReportView {
         filterButton.getStyleClass().add("small-button");
         filterButton.setPrefWidth(120);
 
-        HBox searchBox = new HBox(10, searchField, filterButton);
+        // ===== Distribution window =====
+        fromPicker = new DatePicker(LocalDate.now().minusDays(29));
+        toPicker = new DatePicker(LocalDate.now());
+        fromPicker.setPrefWidth(130);
+        toPicker.setPrefWidth(130);
+
+        distributionButton = new Button("Distribution");
+        distributionButton.getStyleClass().add("small-button");
+        distributionButton.setPrefWidth(140);
+
+        HBox searchBox = new HBox(10, searchField, filterButton, fromPicker, toPicker, distributionButton);
         searchBox.setAlignment(Pos.CENTER);
 
         // ===== Table Config =====
@@ -96,7 +109,10 @@ public class RentalsReportView {
         returnButton = new Button("Return");
         returnButton.getStyleClass().add("small-button");
         returnButton.setPrefWidth(120);
-        HBox buttonBox = new HBox(15, returnButton);
+        exportButton = new Button("Export");
+        exportButton.getStyleClass().add("small-button");
+        exportButton.setPrefWidth(120);
+        HBox buttonBox = new HBox(15, exportButton, returnButton);
         buttonBox.setAlignment(Pos.CENTER);
 
         // ===== Card =====
@@ -125,6 +141,66 @@ public class RentalsReportView {
         );
     }
 
+    /**
+     * Shows duration and late-return percentiles (hours) per branch for the selected window.
+     */
+    public void showDistributionPopup(List<DurationDistribution> rows) {
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Rental Duration Distribution");
+        dialog.setHeaderText(null);
+
+        dialog.getDialogPane().setStyle("""
+            -fx-background-color: rgba(20,20,30,0.95);
+            -fx-border-color: linear-gradient(to right, #7a40ff, #b46bff);
+            -fx-border-width: 2;
+            -fx-border-radius: 10;
+            -fx-background-radius: 10;
+            """);
+
+        TableView<DurationDistribution> table = new TableView<>();
+        table.setPrefSize(820, 320);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        table.getStyleClass().add("custom-table");
+
+        TableColumn<DurationDistribution, String> branchCol = new TableColumn<>("Branch");
+        branchCol.setCellValueFactory(new PropertyValueFactory<>("groupName"));
+
+        TableColumn<DurationDistribution, Long> rentalsCol = new TableColumn<>("Rentals");
+        rentalsCol.setCellValueFactory(new PropertyValueFactory<>("rentals"));
+
+        TableColumn<DurationDistribution, Double> p50Col = new TableColumn<>("p50 h");
+        p50Col.setCellValueFactory(new PropertyValueFactory<>("durationP50"));
+
+        TableColumn<DurationDistribution, Double> p90Col = new TableColumn<>("p90 h");
+        p90Col.setCellValueFactory(new PropertyValueFactory<>("durationP90"));
+
+        TableColumn<DurationDistribution, Double> p99Col = new TableColumn<>("p99 h");
+        p99Col.setCellValueFactory(new PropertyValueFactory<>("durationP99"));
+
+        TableColumn<DurationDistribution, Long> lateCol = new TableColumn<>("Late");
+        lateCol.setCellValueFactory(new PropertyValueFactory<>("lateReturns"));
+
+        TableColumn<DurationDistribution, Double> lateP50Col = new TableColumn<>("Late p50 h");
+        lateP50Col.setCellValueFactory(new PropertyValueFactory<>("lateP50"));
+
+        TableColumn<DurationDistribution, Double> lateP90Col = new TableColumn<>("Late p90 h");
+        lateP90Col.setCellValueFactory(new PropertyValueFactory<>("lateP90"));
+
+        TableColumn<DurationDistribution, Double> lateP99Col = new TableColumn<>("Late p99 h");
+        lateP99Col.setCellValueFactory(new PropertyValueFactory<>("lateP99"));
+
+        table.getColumns().addAll(branchCol, rentalsCol, p50Col, p90Col, p99Col,
+                lateCol, lateP50Col, lateP90Col, lateP99Col);
+        table.getItems().setAll(rows);
+
+        VBox box = new VBox(12, table);
+        box.setPadding(new Insets(20));
+
+        dialog.getDialogPane().setContent(box);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
+        dialog.showAndWait();
+    }
+
     public Scene getScene() { return scene; }
     public Button getFilterButton() { return filterButton; }
     public TextField getSearchField() { return searchField; }
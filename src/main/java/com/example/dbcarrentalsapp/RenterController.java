@@ -1,10 +1,14 @@
 package com.example.dbcarrentalsapp;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.Stage;
 import model.RenterRecord;
 
+import java.sql.SQLException;
+import java.util.List;
+
 public class RenterController {
 
     private final RenterView view;
@@ -13,20 +17,22 @@ public class RenterController {
 
     private final ObservableList<RenterRecord> renterList =
             FXCollections.observableArrayList();
+    private final TableLoader<RenterRecord> loader;
 
     public RenterController(RenterView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new RenterDAO();
+        this.loader = new TableLoader<>("renters", view.tableView, renterList::setAll);
+        view.tableView.setItems(renterList);
 
         loadRenters();
         setupActions();
     }
 
     /** Load all renters from DB */
-    private void loadRenters() {
-        renterList.setAll(dao.getAllRenters());
-        view.tableView.setItems(renterList);
+    public void loadRenters() {
+        loader.load(dao::getAllRenters);
     }
 
     /** Setup button actions */
@@ -64,7 +70,8 @@ public class RenterController {
                 return;
             }
 
-            renterList.setAll(
+            // Replaces a search still running for an older keyword
+            loader.load(() ->
                     dao.getAllRenters().stream()
                             .filter(r ->
                                     r.getRenterFirstName().toLowerCase().contains(keyword)||
@@ -77,11 +84,23 @@ public class RenterController {
             );
         });
 
-        // Return
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView mr = new ManageRecordsView();
-            new ManageRecordsController(mr, stage);
-            stage.setScene(mr.getScene());
+        // Recompute every renter_profile row from rentals and violations (backfill)
+        view.rebuildProfilesButton.setOnAction(e -> {
+            view.rebuildProfilesButton.setDisable(true);
+            new Thread(() -> {
+                try {
+                    RenterProfileDAO.rebuildAll();
+                    Platform.runLater(() -> view.showSuccessPopup("Profiles Rebuilt", "All renter profiles are up to date."));
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                    Platform.runLater(() -> view.showSuccessPopup("Error", "Failed to rebuild profiles: " + ex.getMessage()));
+                } finally {
+                    Platform.runLater(() -> view.rebuildProfilesButton.setDisable(false));
+                }
+            }).start();
         });
+
+        // Return
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
     }
 }
\ No newline at end of file
@@ -84,6 +84,7 @@ public class RenterDAO {
             ps.setString(4, r.getRenterEmailAddress());
             ps.setString(5, r.getRenterDlNumber());
 
+
             return ps.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -108,6 +109,32 @@ public class RenterDAO {
         }
     }
 
+    /**
+     * DL numbers starting with the given prefix, for the rental picker. A range scan on
+     * the primary key, so it reads at most {@code limit} rows however many renters there are.
+     */
+    public List<String> findRenterDLsByPrefix(String prefix, int limit) {
+        List<String> dlNumbers = new ArrayList<>();
+        String sql = "SELECT renter_dl_number FROM renter_record " +
+                "WHERE renter_dl_number LIKE ? ORDER BY renter_dl_number LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, DBConnection.likePrefix(prefix));
+            ps.setInt(2, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    dlNumbers.add(rs.getString("renter_dl_number"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return dlNumbers;
+    }
+
     public List<String> getAllRenterDLs() {
         List<String> dlNumbers = new ArrayList<>();
         String sql = "SELECT renter_dl_number FROM renter_record ORDER BY renter_dl_number";
@@ -0,0 +1,214 @@
+package com.example.dbcarrentalsapp;
+
+import model.RenterProfile;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps renter_profile current so a renter's history is one primary-key read.
+ *
+ * Completions and new violations are applied as increments by the DAOs that write
+ * them, inside their own statements/transactions. Increments only touch existing rows;
+ * a renter without a row is aggregated in full on first read, so a partial history is
+ * never stored. Edits and deletes, which could move or shrink a count, re-aggregate the
+ * affected renters instead. {@link #rebuildAll()} recomputes every profile (backfill).
+ */
+public class RenterProfileDAO {
+
+    // Aggregate for the renters selected by %s; renters without history get a zero row
+    private static final String REBUILD_SQL = """
+        INSERT INTO renter_profile (renter_dl_number, rentals_completed, late_returns, damage_incidents,
+                                    total_penalties, last_violation_type, last_violation_at)
+        SELECT rr.renter_dl_number,
+               COALESCE(c.completed, 0),
+               COALESCE(v.late_returns, 0),
+               COALESCE(v.damage_incidents, 0),
+               COALESCE(v.total_penalties, 0),
+               (SELECT v2.violation_type
+                FROM violation_details v2
+                JOIN rental_details r2 ON r2.rental_id = v2.violation_rental_id
+                WHERE r2.rental_renter_dl_number = rr.renter_dl_number
+                ORDER BY v2.violation_timestamp DESC
+                LIMIT 1),
+               v.last_violation_at
+        FROM renter_record rr
+        LEFT JOIN (
+            SELECT rental_renter_dl_number AS dl, COUNT(*) AS completed
+            FROM rental_details
+            WHERE rental_status = 'COMPLETED'
+            GROUP BY rental_renter_dl_number
+        ) c ON c.dl = rr.renter_dl_number
+        LEFT JOIN (
+            SELECT r.rental_renter_dl_number AS dl,
+                   SUM(v.violation_type = 'Late Return') AS late_returns,
+                   SUM(v.violation_type = 'Car Damage') AS damage_incidents,
+                   SUM(v.violation_penalty_fee) AS total_penalties,
+                   MAX(v.violation_timestamp) AS last_violation_at
+            FROM violation_details v
+            JOIN rental_details r ON r.rental_id = v.violation_rental_id
+            GROUP BY r.rental_renter_dl_number
+        ) v ON v.dl = rr.renter_dl_number
+        WHERE %s
+        """;
+
+    // ============================
+    // 1. READ
+    // ============================
+
+    /**
+     * @return the renter's profile; built on first access for renters not yet profiled
+     */
+    public static RenterProfile getProfile(String renterDl) throws SQLException {
+        RenterProfile profile = read(renterDl);
+        if (profile == null) {
+            rebuildRenters(List.of(renterDl));
+            profile = read(renterDl);
+        }
+        return profile;
+    }
+
+    private static RenterProfile read(String renterDl) throws SQLException {
+        String sql = "SELECT * FROM renter_profile WHERE renter_dl_number = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, renterDl);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                Timestamp last = rs.getTimestamp("last_violation_at");
+                return new RenterProfile(
+                        rs.getString("renter_dl_number"),
+                        rs.getInt("rentals_completed"),
+                        rs.getInt("late_returns"),
+                        rs.getInt("damage_incidents"),
+                        rs.getDouble("total_penalties"),
+                        rs.getString("last_violation_type"),
+                        last != null ? last.toLocalDateTime() : null
+                );
+            }
+        }
+        return null;
+    }
+
+    // ============================
+    // 2. INCREMENTAL UPDATES (caller's connection / transaction)
+    // ============================
+
+    /**
+     * Counts one more completed rental for the rental's renter.
+     */
+    public static void recordCompletion(Connection conn, String rentalId) throws SQLException {
+        String sql = """
+            UPDATE renter_profile
+            SET rentals_completed = rentals_completed + 1
+            WHERE renter_dl_number = (SELECT rental_renter_dl_number FROM rental_details WHERE rental_id = ?)
+            """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, rentalId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds a newly recorded violation to the rental's renter.
+     */
+    public static void recordViolation(Connection conn, String rentalId, String violationType,
+                                       double penaltyFee, LocalDateTime at) throws SQLException {
+        // Single-table UPDATE assigns left to right: the type is decided before the time moves
+        String sql = """
+            UPDATE renter_profile
+            SET late_returns = late_returns + ?,
+                damage_incidents = damage_incidents + ?,
+                total_penalties = total_penalties + ?,
+                last_violation_type = IF(last_violation_at IS NULL OR ? >= last_violation_at,
+                                         ?, last_violation_type),
+                last_violation_at = IF(last_violation_at IS NULL OR ? >= last_violation_at,
+                                       ?, last_violation_at)
+            WHERE renter_dl_number = (SELECT rental_renter_dl_number FROM rental_details WHERE rental_id = ?)
+            """;
+
+        Timestamp ts = Timestamp.valueOf(at);
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, "Late Return".equals(violationType) ? 1 : 0);
+            stmt.setInt(2, "Car Damage".equals(violationType) ? 1 : 0);
+            stmt.setDouble(3, penaltyFee);
+            stmt.setTimestamp(4, ts);
+            stmt.setString(5, violationType);
+            stmt.setTimestamp(6, ts);
+            stmt.setTimestamp(7, ts);
+            stmt.setString(8, rentalId);
+            stmt.executeUpdate();
+        }
+    }
+
+    // ============================
+    // 3. REBUILDS
+    // ============================
+
+    /**
+     * Re-aggregates the renters of the given rentals, e.g. after a violation was edited,
+     * deleted or imported in bulk.
+     */
+    public static void rebuildForRentals(Collection<String> rentalIds) throws SQLException {
+        if (rentalIds.isEmpty()) return;
+        rebuild("rr.renter_dl_number IN (SELECT rental_renter_dl_number FROM rental_details WHERE rental_id IN ("
+                + placeholders(rentalIds.size()) + "))", rentalIds);
+    }
+
+    /**
+     * Re-aggregates the given renters.
+     */
+    public static void rebuildRenters(Collection<String> renterDls) throws SQLException {
+        if (renterDls.isEmpty()) return;
+        rebuild("rr.renter_dl_number IN (" + placeholders(renterDls.size()) + ")", renterDls);
+    }
+
+    /**
+     * Backfill: recomputes every renter's profile from scratch.
+     */
+    public static void rebuildAll() throws SQLException {
+        rebuild("TRUE", List.of());
+    }
+
+    private static synchronized void rebuild(String where, Collection<String> params) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            // the DELETE reuses the same renter filter through renter_record
+            String deleteSql = "DELETE FROM renter_profile WHERE renter_dl_number IN ("
+                    + "SELECT rr.renter_dl_number FROM renter_record rr WHERE " + where + ")";
+
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(String.format(REBUILD_SQL, where))) {
+
+                int i = 1;
+                for (String p : params) {
+                    delete.setString(i, p);
+                    insert.setString(i, p);
+                    i++;
+                }
+                delete.executeUpdate();
+                insert.executeUpdate();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static String placeholders(int n) {
+        return String.join(", ", Collections.nCopies(n, "?"));
+    }
+}
@@ -16,7 +16,7 @@ import model.RenterRecord;
 
 public class RenterView {
 
-    public Button addButton, modifyButton, deleteButton, returnButton, filterButton;
+    public Button addButton, modifyButton, deleteButton, returnButton, filterButton, rebuildProfilesButton;
     public TextField searchField;
     public TableView<RenterRecord> tableView;
     private final Scene scene;
@@ -25,9 +25,7 @@ public class RenterView {
 
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -108,7 +106,11 @@ public class RenterView {
         deleteButton.setPrefWidth(120);
         returnButton.setPrefWidth(120);
 
-        HBox buttonBox = new HBox(15, addButton, modifyButton, deleteButton, returnButton);
+        rebuildProfilesButton = new Button("Rebuild Profiles");
+        rebuildProfilesButton.getStyleClass().add("small-button");
+        rebuildProfilesButton.setPrefWidth(140);
+
+        HBox buttonBox = new HBox(15, addButton, modifyButton, deleteButton, rebuildProfilesButton, returnButton);
         buttonBox.setAlignment(Pos.CENTER);
 
         // ===== Card =====
@@ -1,21 +1,29 @@
 package com.example.dbcarrentalsapp;
 
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.RentalRecord;
-import model.ReturnRecord;
 import model.ViolationRecord;
 
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ReturnController {
@@ -24,9 +32,14 @@ public class ReturnController {
     private final RentalDAO rentalDAO = new RentalDAO();
     // 1. Add ViolationDAO instance
     private final ViolationDAO violationDAO = new ViolationDAO();
+    private final ReceiptEngine receipts = new ReceiptEngine();
 
     private final ReturnView view;
     private final Stage stage;
+    private final TableLoader<RentalRecord> patcher;
+
+    private final Set<String> unpatched = new HashSet<>();   // changed rentals not yet patched in
+    private Set<String> patching = Set.of();                 // the rentals the patch in flight re-reads
 
     // Hardcoded staff ID for context (ideally this comes from a Login Session)
     private final String CURRENT_STAFF_ID = "STF001";
@@ -35,20 +48,25 @@ public class ReturnController {
         this.view = view;
         this.stage = stage;
         this.view.setController(this);
+        this.patcher = new TableLoader<>("changed rentals", view.tableView, this::patchRows);
         setupActions();
         loadTable();
+
+        // Rentals returned, picked up or edited anywhere are patched into the table
+        TableChanges.RENTALS.subscribe(this::applyRentalChanges);
     }
 
     private void setupActions() {
         view.getBackButton().setOnAction(e -> goBack());
         view.getReturnButton().setOnAction(e -> processSelectedReturn());
+        view.getBatchReturnButton().setOnAction(e -> processBatchReturn());
         view.getFilterButton().setOnAction(e -> applyFilter());
+        view.getExportButton().setOnAction(e -> ExportDialog.exportSource(stage, TableExporter.Source.RETURNS));
+        view.getReceiptsButton().setOnAction(e -> exportDayReceipts());
     }
 
     private void goBack() {
-        ManageTransactionsView mtv = new ManageTransactionsView(stage);
-        new ManageTransactionsController(mtv, stage);
-        stage.setScene(mtv.getScene());
+        Navigator.go(Navigator.Screen.TRANSACTIONS);
     }
 
     private void processSelectedReturn() {
@@ -61,58 +79,117 @@ public class ReturnController {
         processReturn(selected);
     }
 
+    /**
+     * Returns one rental through {@link ViolationDAO#processCarReturn}, which writes the
+     * return, the car/rental update and any late violation in one transaction. The
+     * return is recorded under the current staff member when they are Operations staff
+     * of the rental's branch, otherwise under that branch's first Operations staff.
+     */
     public void processReturn(RentalRecord rental) {
-        boolean returnSuccess = false;
-
-        // Step 1: Process the standard Return (Update Rental Table + Add Return Record)
-        try (Connection conn = DBConnection.getConnection()) {
-            conn.setAutoCommit(false); // Start transaction
+        if (rental.getRentalStatus() != RentalRecord.RentalStatus.ACTIVE) {
+            showPopup("Error", "Rental is not active.", Alert.AlertType.ERROR);
+            return;
+        }
 
-            if (rental.getRentalStatus() != RentalRecord.RentalStatus.ACTIVE) {
-                showPopup("Error", "Rental is not active.", Alert.AlertType.ERROR);
-                conn.rollback();
+        try {
+            String staffId = returningStaff(rental.getBranchId());
+            if (staffId == null) {
+                showPopup("Error", "No Operations staff in branch " + rental.getBranchId()
+                        + " to record the return under.", Alert.AlertType.ERROR);
                 return;
             }
 
-            ReturnRecord newReturn = new ReturnRecord(null, rental.getRentalId(), CURRENT_STAFF_ID);
-            returnDAO.addReturn(conn, newReturn);
+            ViolationRecord violation = violationDAO.processCarReturn(rental.getRentalId(), staffId);
 
             rental.setRentalStatus(RentalRecord.RentalStatus.COMPLETED);
-            // IMPORTANT: The Database must have the Actual Return Time to calculate the delay
-            rental.setActualReturnDateTime(LocalDateTime.now());
-
-            rentalDAO.updateRentalOnReturn(conn, rental);
-
-            conn.commit();
-            returnSuccess = true;
+            rental.setActualReturnDateTime(violation != null ? violation.getTimestamp() : LocalDateTime.now());
+
+            if (violation != null) {
+                // Case A: Late Return Detected
+                showLateReturnReceipt(rental, violation);
+            } else {
+                // Case B: On-Time Return
+                showReturnReceipt(rental);
+            }
 
         } catch (SQLException ex) {
             ex.printStackTrace();
-            showPopup("Error", "Failed to process return. Rolling back.", Alert.AlertType.ERROR);
+            showPopup("Error", "Failed to process return: " + ex.getMessage(), Alert.AlertType.ERROR);
         }
+    }
 
-        // Step 2: IF Return was successful, Check for Automatic Violations
-        if (returnSuccess) {
-            try {
-                // This method (from your ViolationDAO) calculates the time difference
-                // between 'Expected' and 'Actual' (which we just saved above).
-                ViolationRecord violation = violationDAO.createAutomaticLateViolation(rental.getRentalId(), CURRENT_STAFF_ID);
+    private String returningStaff(String branchId) throws SQLException {
+        StaffEligibilityCache eligibility = StaffEligibilityCache.get();
+        if (eligibility.isEligible(CURRENT_STAFF_ID, branchId)) return CURRENT_STAFF_ID;
+        List<String> operations = eligibility.operationsStaff(branchId);
+        return operations.isEmpty() ? null : operations.get(0);
+    }
 
-                loadTable(); // Refresh table to remove the item
+    /**
+     * End-of-day mode: returns every selected ACTIVE rental in one transaction and
+     * refreshes the table once.
+     */
+    private void processBatchReturn() {
+        List<String> rentalIds = view.getSelectedRecords().stream()
+                .filter(r -> r.getRentalStatus() == RentalRecord.RentalStatus.ACTIVE)
+                .map(RentalRecord::getRentalId)
+                .collect(Collectors.toList());
 
-                if (violation != null) {
-                    // Case A: Late Return Detected
-                    showLateReturnReceipt(rental, violation);
-                } else {
-                    // Case B: On-Time Return
-                    showReturnReceipt(rental);
-                }
+        if (rentalIds.isEmpty()) {
+            showPopup("No Selection", "Select one or more ACTIVE rentals (Ctrl/Shift-click) to return.", Alert.AlertType.WARNING);
+            return;
+        }
 
-            } catch (SQLException e) {
-                e.printStackTrace();
-                showPopup("System Warning", "Return saved, but failed to check for violations: " + e.getMessage(), Alert.AlertType.WARNING);
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Batch Return");
+        confirm.setHeaderText(null);
+        confirm.setContentText("Return " + rentalIds.size() + " rental(s) now?");
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+
+        view.getBatchReturnButton().setDisable(true);
+        new Thread(() -> {
+            try {
+                ReturnDAO.BatchReturnResult result = returnDAO.processReturns(rentalIds, CURRENT_STAFF_ID);
+                Platform.runLater(() -> showBatchSummary(result));
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() -> showPopup("Error",
+                        "Batch return failed and was rolled back: " + ex.getMessage(), Alert.AlertType.ERROR));
+            } finally {
+                Platform.runLater(() -> view.getBatchReturnButton().setDisable(false));
+            }
+        }).start();
+    }
+
+    private void showBatchSummary(ReturnDAO.BatchReturnResult result) {
+        StringBuilder content = new StringBuilder();
+        content.append("Returned: ").append(result.getReturned().size()).append("\n");
+        if (!result.getSkipped().isEmpty()) {
+            content.append("Skipped (no longer active): ").append(String.join(", ", result.getSkipped())).append("\n");
+        }
+
+        double totalPenalties = 0;
+        if (!result.getLateViolations().isEmpty()) {
+            content.append("\nLATE RETURNS:\n");
+            for (ViolationRecord v : result.getLateViolations()) {
+                content.append(String.format("%s  %s  %d h  ₱%.2f%n",
+                        v.getRentalId(), v.getViolationId(), v.getDurationHours(), v.getPenaltyFee()));
+                totalPenalties += v.getPenaltyFee();
             }
+            content.append(String.format("%nTotal penalties: ₱%.2f", totalPenalties));
         }
+
+        Alert alert = new Alert(result.getLateViolations().isEmpty() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+        alert.setTitle("Batch Return");
+        alert.setHeaderText(result.getLateViolations().size() + " late return(s) recorded");
+
+        TextArea textArea = new TextArea(content.toString());
+        textArea.setEditable(false);
+        textArea.setPrefRowCount(12);
+        textArea.setPrefColumnCount(40);
+        alert.getDialogPane().setContent(textArea);
+
+        alert.showAndWait();
     }
 
     /**
@@ -122,13 +199,12 @@ public class ReturnController {
         Alert receipt = new Alert(Alert.AlertType.INFORMATION);
         receipt.setTitle("Return Receipt");
         receipt.setHeaderText("Car Returned Successfully (On Time)");
-        receipt.setContentText(
-                "Rental ID: " + rental.getRentalId() + "\n" +
-                        "Renter DL: " + rental.getRenterDlNumber() + "\n" +
-                        "Car Plate: " + rental.getCarPlateNumber() + "\n" +
-                        "Date: " + rental.getActualReturnDateTime().toLocalDate() + "\n" +
-                        "Total Payment: ₱" + rental.getTotalPayment()
-        );
+        receipt.setContentText(receipts.renderOnTimeReturn(
+                rental.getRentalId(),
+                rental.getRenterDlNumber(),
+                rental.getCarPlateNumber(),
+                rental.getActualReturnDateTime().toLocalDate(),
+                rental.getTotalPayment() != null ? rental.getTotalPayment().doubleValue() : 0.0));
         receipt.showAndWait();
     }
 
@@ -143,21 +219,11 @@ public class ReturnController {
         // Calculate Total locally to ensure it is accurate
         double baseTotal = (rental.getTotalPayment() != null) ? rental.getTotalPayment().doubleValue() : 0.0;
         double penalty = violation.getPenaltyFee();
-        double grandTotal = baseTotal + penalty;
-
-        // Create the content string
-        String content = "Rental ID: " + rental.getRentalId() + "\n" +
-                "Car Plate: " + rental.getCarPlateNumber() + "\n" +
-                "------------------------------------------------\n" +
-                "VIOLATION DETAILS:\n" +
-                "ID: " + violation.getViolationId() + "\n" +
-                "Type: " + violation.getViolationType() + "\n" +
-                "Hours Late: " + violation.getDurationHours() + " hours\n" +
-                "Penalty Fee: ₱" + String.format("%.2f", penalty) + "\n" +
-                "Reason: " + violation.getReason() + "\n" +
-                "------------------------------------------------\n" +
-                "Base Rental: ₱" + String.format("%.2f", baseTotal) + "\n" +
-                "TOTAL TO PAY: ₱" + String.format("%.2f", grandTotal);
+
+        String content = receipts.renderLateReturn(
+                rental.getRentalId(), rental.getCarPlateNumber(),
+                violation.getViolationId(), violation.getViolationType(), violation.getDurationHours(),
+                penalty, violation.getReason(), baseTotal);
 
         TextArea textArea = new TextArea(content);
         textArea.setEditable(false);
@@ -185,6 +251,44 @@ public class ReturnController {
         alert.showAndWait();
     }
 
+    /**
+     * Writes the receipts of every rental returned on a chosen day to one printable file.
+     */
+    private void exportDayReceipts() {
+        Dialog<LocalDate> dayDialog = new Dialog<>();
+        dayDialog.setTitle("Day Receipts");
+        dayDialog.setHeaderText("Print receipts for returns on:");
+        DatePicker dayPicker = new DatePicker(LocalDate.now());
+        dayDialog.getDialogPane().setContent(dayPicker);
+        dayDialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dayDialog.setResultConverter(button -> button == ButtonType.OK ? dayPicker.getValue() : null);
+
+        LocalDate day = dayDialog.showAndWait().orElse(null);
+        if (day == null) return;
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save Receipts");
+        chooser.setInitialFileName("receipts_" + day);
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Printable page (*.html)", "*.html"),
+                new FileChooser.ExtensionFilter("Text (*.txt)", "*.txt")
+        );
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) return;
+
+        new Thread(() -> {
+            try {
+                int count = new ReceiptEngine().writeReturnsOn(day, file.toPath());
+                Platform.runLater(() -> showPopup("Day Receipts",
+                        count + " receipt(s) written to " + file.getName(), Alert.AlertType.INFORMATION));
+            } catch (SQLException | IOException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() -> showPopup("Error",
+                        "Failed to write receipts: " + ex.getMessage(), Alert.AlertType.ERROR));
+            }
+        }).start();
+    }
+
     private void showPopup(String title, String message, Alert.AlertType type) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -198,6 +302,39 @@ public class ReturnController {
         view.refreshTable(list);
     }
 
+    /**
+     * Re-reads only the changed rentals, in one query, and patches them in; rentals no
+     * longer ACTIVE (or not matching the search) leave the table. A newer batch replaces
+     * the patch in flight and re-reads its rentals too.
+     */
+    private void applyRentalChanges(Set<String> ids, boolean all) {
+        if (all) {
+            unpatched.clear();
+            patcher.cancel();
+            applyFilter();
+            return;
+        }
+        String keyword = view.getSearchField().getText().toLowerCase().trim();
+        unpatched.addAll(ids);
+        Set<String> batch = Set.copyOf(unpatched);
+        patching = batch;
+
+        patcher.load(() -> {
+            try {
+                return rentalDAO.getActiveRentalsByIds(batch).stream()
+                        .filter(r -> matches(r, keyword))
+                        .collect(Collectors.toList());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);   // reported by the loader
+            }
+        });
+    }
+
+    private void patchRows(List<RentalRecord> current) {
+        view.patchRows(patching, current);
+        unpatched.removeAll(patching);
+    }
+
     private void applyFilter() {
         String keyword = view.getSearchField().getText().toLowerCase().trim();
         List<RentalRecord> allActiveRentals = rentalDAO.getActiveRentals();
@@ -207,12 +344,16 @@ public class ReturnController {
         }
 
         List<RentalRecord> filteredList = allActiveRentals.stream()
-                .filter(r ->(r.getRentalId() != null && r.getRentalId().toLowerCase().contains(keyword)) ||
-                        (r.getCarPlateNumber() != null && r.getCarPlateNumber().toLowerCase().contains(keyword)) ||
-                        (r.getRenterDlNumber() != null && r.getRenterDlNumber().toLowerCase().contains(keyword))
-                )
+                .filter(r -> matches(r, keyword))
                 .collect(Collectors.toList());
 
         view.refreshTable(filteredList);
     }
+
+    private static boolean matches(RentalRecord r, String keyword) {
+        return keyword.isEmpty() ||
+                (r.getRentalId() != null && r.getRentalId().toLowerCase().contains(keyword)) ||
+                (r.getCarPlateNumber() != null && r.getCarPlateNumber().toLowerCase().contains(keyword)) ||
+                (r.getRenterDlNumber() != null && r.getRenterDlNumber().toLowerCase().contains(keyword));
+    }
 }
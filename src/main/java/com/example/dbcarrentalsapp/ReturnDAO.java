@@ -2,9 +2,15 @@
 package com.example.dbcarrentalsapp;
 
 import model.ReturnRecord;
+import model.ViolationRecord;
 import java.sql.*;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for handling return-related database operations.
@@ -14,37 +20,35 @@ import java.util.List;
 
 public class ReturnDAO {
 
-    private String generateNewReturnID(Connection conn) throws SQLException {
-        String sql = "SELECT return_id FROM return_details ORDER BY return_id DESC LIMIT 1";
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+    private static final String INSERT_RETURN_SQL =
+            "INSERT INTO return_details (return_id, return_rental_id, return_staff_id) VALUES (?, ?, ?)";
 
-            if (rs.next()) {
-                String lastId = rs.getString("return_id"); // R0001
-                int number = Integer.parseInt(lastId.substring(1)) + 1;
-                return String.format("R%04d", number);
-            }
-            return "R0001"; // first record
-        }
+    /**
+     * Reserves {@code count} consecutive return numbers from return_id_sequence; the
+     * row stays locked until the caller's transaction ends.
+     *
+     * @return the first reserved number
+     */
+    private static int allocateIds(Connection conn, int count) throws SQLException {
+        return IdSequence.allocate(conn, "return_id_sequence", "RETURN", count);
+    }
+
+    private static String formatId(int number) {
+        return String.format("R%04d", number);
     }
 
     // Add return record
     public boolean addReturn(ReturnRecord record) {
-        String sql = "INSERT INTO return_details (return_id, return_rental_id, return_staff_id) VALUES (?, ?, ?)";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            // Generate new return ID
-            String newId = generateNewReturnID(conn);
-            record.setReturnID(newId);
-
-            ps.setString(1, record.getReturnID());
-            ps.setString(2, record.getReturnRentalID());
-            ps.setString(3, record.getReturnStaffID());
-
-            return ps.executeUpdate() > 0;
-
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean added = addReturn(conn, record);
+                conn.commit();
+                return added;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -108,19 +112,214 @@ public class ReturnDAO {
         }
     }
 
-        public boolean addReturn(Connection conn, ReturnRecord record) throws SQLException {
-        String sql = "INSERT INTO return_details (return_id, return_rental_id, return_staff_id) VALUES (?, ?, ?)";
-        // generate new ID
-        String newId = generateNewReturnID(conn);
-        record.setReturnID(newId);
+    /**
+     * Adds a return record inside the caller's transaction; its ID is allocated from
+     * return_id_sequence and set on the record.
+     */
+    public boolean addReturn(Connection conn, ReturnRecord record) throws SQLException {
+        record.setReturnID(formatId(allocateIds(conn, 1)));
 
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_RETURN_SQL)) {
             ps.setString(1, record.getReturnID());
             ps.setString(2, record.getReturnRentalID());
             ps.setString(3, record.getReturnStaffID());
             return ps.executeUpdate() > 0;
         }
     }
+
+    // =====================================================
+    // BATCH RETURNS (end of day)
+    // =====================================================
+
+    /** Outcome of {@link #processReturns}. */
+    public static class BatchReturnResult {
+        private final List<String> returned = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+        private final List<ViolationRecord> lateViolations = new ArrayList<>();
+
+        /** Rentals returned by this batch */
+        public List<String> getReturned() { return returned; }
+        /** Requested rentals that were no longer ACTIVE */
+        public List<String> getSkipped() { return skipped; }
+        /** Late Return violations created or refreshed */
+        public List<ViolationRecord> getLateViolations() { return lateViolations; }
+    }
+
+    /**
+     * Returns many ACTIVE rentals in one transaction: one locking read, one batch of
+     * return_details rows, one joined UPDATE for rentals and cars, and one batch of late
+     * violations priced in memory. Rentals that are no longer ACTIVE are skipped.
+     * Return and violation IDs come from their locked sequences; a rental that already
+     * has a Late Return violation gets that violation updated by its ID.
+     */
+    public BatchReturnResult processReturns(Collection<String> rentalIds, String staffId) throws SQLException {
+        BatchReturnResult result = new BatchReturnResult();
+        Set<String> requested = new LinkedHashSet<>(rentalIds);
+        if (requested.isEmpty()) return result;
+
+        // Compiled tariffs are cached; load them before taking a connection
+        PenaltyRuleEngine tariffs = PenaltyRuleEngine.get();
+        String in = String.join(", ", Collections.nCopies(requested.size(), "?"));
+
+        String readSql = """
+            SELECT rd.rental_id, rd.rental_branch_id, rd.rental_expected_return_datetime,
+                   NOW() AS returned_at,
+                   (SELECT v.violation_id FROM violation_details v
+                    WHERE v.violation_rental_id = rd.rental_id AND v.violation_type = 'Late Return'
+                    LIMIT 1) AS late_violation_id
+            FROM rental_details rd
+            WHERE rd.rental_id IN (%s) AND rd.rental_status = 'ACTIVE'
+            ORDER BY rd.rental_id
+            FOR UPDATE
+            """.formatted(in);
+
+        String returnSql = """
+            UPDATE rental_details rd
+            JOIN car_record c ON c.car_plate_number = rd.rental_car_plate_number
+            SET c.car_status = 'Available',
+                rd.rental_status = 'COMPLETED',
+                rd.rental_staff_id_return = ?,
+                rd.rental_actual_return_datetime = ?
+            WHERE rd.rental_id IN (%s) AND rd.rental_status = 'ACTIVE'
+            """;
+
+        String insertLateSql = """
+            INSERT INTO violation_details (
+                violation_id, violation_rental_id, violation_staff_id, violation_type,
+                violation_penalty_fee, violation_reason, violation_duration_hours, violation_timestamp
+            ) VALUES (?, ?, ?, 'Late Return', ?, ?, ?, ?)
+            """;
+
+        String refreshLateSql = """
+            UPDATE violation_details
+            SET violation_penalty_fee = ?, violation_reason = ?,
+                violation_duration_hours = ?, violation_timestamp = ?
+            WHERE violation_id = ?
+            """;
+
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        boolean refreshedExisting = false;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement read = conn.prepareStatement(readSql);
+                 PreparedStatement insertReturn = conn.prepareStatement(INSERT_RETURN_SQL);
+                 PreparedStatement insertLate = conn.prepareStatement(insertLateSql);
+                 PreparedStatement refreshLate = conn.prepareStatement(refreshLateSql)) {
+
+                // 1. Lock the rentals still ACTIVE
+                int i = 1;
+                for (String id : requested) read.setString(i++, id);
+
+                List<String> branches = new ArrayList<>();
+                List<Timestamp> expected = new ArrayList<>();
+                List<String> existingLate = new ArrayList<>();
+                Timestamp returnedAt = null;
+
+                ResultSet rs = read.executeQuery();
+                while (rs.next()) {
+                    result.returned.add(rs.getString("rental_id"));
+                    branches.add(rs.getString("rental_branch_id"));
+                    expected.add(rs.getTimestamp("rental_expected_return_datetime"));
+                    existingLate.add(rs.getString("late_violation_id"));
+                    returnedAt = rs.getTimestamp("returned_at");
+                }
+                for (String id : requested) {
+                    if (!result.returned.contains(id)) result.skipped.add(id);
+                }
+                if (result.returned.isEmpty()) {
+                    conn.rollback();
+                    return result;
+                }
+
+                // 2. Return records, ids reserved from return_id_sequence in one step
+                int nextReturn = allocateIds(conn, result.returned.size());
+                for (String id : result.returned) {
+                    insertReturn.setString(1, formatId(nextReturn++));
+                    insertReturn.setString(2, id);
+                    insertReturn.setString(3, staffId);
+                    insertReturn.addBatch();
+                }
+                insertReturn.executeBatch();
+
+                // 3. Rentals and their cars in one statement
+                try (PreparedStatement ret = conn.prepareStatement(returnSql.formatted(
+                        String.join(", ", Collections.nCopies(result.returned.size(), "?"))))) {
+                    ret.setString(1, staffId);
+                    ret.setTimestamp(2, returnedAt);
+                    int p = 3;
+                    for (String id : result.returned) ret.setString(p++, id);
+                    ret.executeUpdate();
+                }
+
+                // 4. Late violations, priced in memory; new ones get ids afterwards
+                List<ViolationRecord> newLate = new ArrayList<>();
+                for (int r = 0; r < result.returned.size(); r++) {
+                    Timestamp due = expected.get(r);
+                    if (due == null || !returnedAt.after(due)) continue;
+
+                    int lateHours = (int) Math.ceil((returnedAt.getTime() - due.getTime()) / (1000.0 * 60 * 60));
+                    double penalty = tariffs.price("Late Return", branches.get(r),
+                            returnedAt.toLocalDateTime().toLocalDate(), lateHours);
+                    if (Double.isNaN(penalty) || penalty <= 0) continue;
+
+                    String reason = String.format("Late return: %d hours overdue. Expected return: %s",
+                            lateHours, due.toLocalDateTime().format(fmt));
+                    ViolationRecord violation = new ViolationRecord(existingLate.get(r), result.returned.get(r),
+                            staffId, "Late Return", penalty, reason, lateHours, returnedAt.toLocalDateTime());
+
+                    if (violation.getViolationId() != null) {
+                        refreshLate.setDouble(1, penalty);
+                        refreshLate.setString(2, reason);
+                        refreshLate.setInt(3, lateHours);
+                        refreshLate.setTimestamp(4, returnedAt);
+                        refreshLate.setString(5, violation.getViolationId());
+                        refreshLate.addBatch();
+                        refreshedExisting = true;
+                    } else {
+                        newLate.add(violation);
+                    }
+                    result.lateViolations.add(violation);
+                }
+                refreshLate.executeBatch();
+
+                if (!newLate.isEmpty()) {
+                    int nextViolation = ViolationDAO.allocateIds(conn, newLate.size());
+                    for (ViolationRecord v : newLate) {
+                        v.setViolationId(ViolationDAO.formatId(nextViolation++));
+                        insertLate.setString(1, v.getViolationId());
+                        insertLate.setString(2, v.getRentalId());
+                        insertLate.setString(3, staffId);
+                        insertLate.setDouble(4, v.getPenaltyFee());
+                        insertLate.setString(5, v.getReason());
+                        insertLate.setInt(6, v.getDurationHours());
+                        insertLate.setTimestamp(7, returnedAt);
+                        insertLate.addBatch();
+                    }
+                    insertLate.executeBatch();
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        if (refreshedExisting) {
+            CompanyRevenueLedger.invalidate();   // an already counted fee changed
+            ViolationAnalyticsEngine.invalidate();
+        }
+        RenterProfileDAO.rebuildForRentals(result.returned);
+        TableChanges.RENTALS.changed(result.returned);
+        TableChanges.VIOLATIONS.changed(result.lateViolations.stream().map(ViolationRecord::getViolationId).toList());
+
+        return result;
+    }
 }
 
 
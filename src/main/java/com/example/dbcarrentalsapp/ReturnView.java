@@ -10,11 +10,15 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import model.RentalRecord;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ReturnView {
 
-    public Button backButton, returnButton, filterButton;
+    public Button backButton, returnButton, filterButton, exportButton, receiptsButton, batchReturnButton;
     public TextField searchField;
     public TableView<RentalRecord> tableView;
     private final Scene scene;
@@ -24,7 +28,7 @@ public class ReturnView {
 
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png"));
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/audi_r_zero_concept_black-normal.png");
         BackgroundImage backgroundImage = new BackgroundImage(
                 bgImage,
                 BackgroundRepeat.NO_REPEAT,
@@ -68,6 +72,7 @@ public class ReturnView {
         tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         tableView.getStyleClass().add("custom-table");
         tableView.setPlaceholder(new Label("No active rental records found"));
+        tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);   // for batch returns
         tableView.setMaxWidth(Double.MAX_VALUE);
         VBox.setVgrow(tableView, Priority.ALWAYS);
         tableView.setPadding(new Insets(5, 8, 5, 8));
@@ -93,7 +98,16 @@ public class ReturnView {
         returnButton = new Button("Process Return");
         returnButton.getStyleClass().add("small-button");
         returnButton.setPrefWidth(120);
-        HBox buttonBox = new HBox(15, returnButton, backButton);
+        exportButton = new Button("Export Returns");
+        exportButton.getStyleClass().add("small-button");
+        exportButton.setPrefWidth(140);
+        receiptsButton = new Button("Day Receipts");
+        receiptsButton.getStyleClass().add("small-button");
+        receiptsButton.setPrefWidth(140);
+        batchReturnButton = new Button("Batch Return");
+        batchReturnButton.getStyleClass().add("small-button");
+        batchReturnButton.setPrefWidth(140);
+        HBox buttonBox = new HBox(15, returnButton, batchReturnButton, exportButton, receiptsButton, backButton);
         buttonBox.setAlignment(Pos.CENTER);
 
         // ===== Layout Card =====
@@ -127,10 +141,50 @@ public class ReturnView {
         tableView.getItems().setAll(data);
     }
 
+    /**
+     * Patches changed rentals into the table without reloading it: rows in {@code current}
+     * replace their old version in place (staying selected) or are inserted by expected
+     * pickup, newest first; other changed rows are removed.
+     *
+     * @param changedIds rentals that were written
+     * @param current the changed rentals that still belong in the table
+     */
+    public void patchRows(Set<String> changedIds, List<RentalRecord> current) {
+        Map<String, RentalRecord> byId = new HashMap<>();
+        for (RentalRecord r : current) byId.put(r.getRentalId(), r);
+
+        List<RentalRecord> items = tableView.getItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            String id = items.get(i).getRentalId();
+            if (!changedIds.contains(id)) continue;
+
+            RentalRecord updated = byId.remove(id);
+            if (updated == null) {
+                items.remove(i);
+            } else {
+                boolean selected = tableView.getSelectionModel().isSelected(i);
+                items.set(i, updated);
+                if (selected) tableView.getSelectionModel().select(i);
+            }
+        }
+
+        // Newly active rentals, at their place in the expected pickup order
+        Comparator<RentalRecord> order = Comparator.comparing(RentalRecord::getExpectedPickupDateTime).reversed();
+        for (RentalRecord added : byId.values()) {
+            int at = 0;
+            while (at < items.size() && order.compare(items.get(at), added) <= 0) at++;
+            items.add(at, added);
+        }
+    }
+
     public RentalRecord getSelectedRecord() {
         return tableView.getSelectionModel().getSelectedItem();
     }
 
+    public List<RentalRecord> getSelectedRecords() {
+        return List.copyOf(tableView.getSelectionModel().getSelectedItems());
+    }
+
     public void setController(ReturnController controller) {
         this.controller = controller;
     }
@@ -139,5 +193,8 @@ public class ReturnView {
     public Button getBackButton() { return backButton; }
     public Button getReturnButton() { return returnButton; }
     public Button getFilterButton() { return filterButton; }
+    public Button getExportButton() { return exportButton; }
+    public Button getReceiptsButton() { return receiptsButton; }
+    public Button getBatchReturnButton() { return batchReturnButton; }
     public TextField getSearchField() { return searchField; }
 }
@@ -4,8 +4,12 @@ import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import model.RevenueByBranchRecord;
+import model.RevenueTrendPoint;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 
 public class RevenueByBranchController {
@@ -13,6 +17,9 @@ public class RevenueByBranchController {
     private final RevenueByBranchView view;
     private final RevenueByBranchDAO dao;
 
+    // company total of the period currently shown in the table (null until loaded)
+    private RevenueByBranchRecord loadedPeriodTotal;
+
     public RevenueByBranchController(RevenueByBranchView view, RevenueByBranchDAO dao) {
         this.view = view;
         this.dao = dao;
@@ -21,6 +28,9 @@ public class RevenueByBranchController {
 
     private void initialize() {
 
+        // Warm the cumulative ledger so the company button answers from cache
+        new Thread(() -> dao.getCompanyRevenue(LocalDate.now(), null)).start();
+
         // Load per-branch revenue when user clicks Load
         view.getLoadButton().setOnAction(e -> handleLoadBranchRevenue());
 
@@ -34,6 +44,9 @@ public class RevenueByBranchController {
             view.showPieChartPopup(items);
         });
 
+        // TREND CHART (branch x period series in one query)
+        view.getTrendButton().setOnAction(e -> handleTrend());
+
         // COMPANY TOTAL REVENUE POPUP
         view.getCompanyButton().setOnAction(e -> {
             String granularity = view.getSelectedGranularityToggle().getText();
@@ -46,11 +59,14 @@ public class RevenueByBranchController {
                         showError("No company revenue found.");
                         return;
                     }
-                    view.showCompanyPopup(company);
+                    view.showCompanyPopup(company, loadedPeriodTotal);
                 });
             }).start();
         });
 
+        view.getExportButton().setOnAction(e -> ExportDialog.exportTable(
+                view.getScene().getWindow(), view.getTableView(), "revenue_by_branch"));
+
         view.getReturnButton().setOnAction(e -> handleReturn());
     }
 
@@ -60,13 +76,104 @@ public class RevenueByBranchController {
     private void handleLoadBranchRevenue() {
 
         String granularity = view.getSelectedGranularityToggle().getText();
+        LocalDate dateToUse = resolveSelectedDate(granularity);
+        if (dateToUse == null) return;
+
+        final LocalDate finalDate = dateToUse;
+        final String finalGranularity = granularity;
+
+        new Thread(() -> {
+            RevenueByBranchDAO.RevenueReport report =
+                    dao.getRevenueReport(finalDate, finalGranularity);
+
+            Platform.runLater(() -> {
+                loadedPeriodTotal = report.getCompanyTotal();
+                view.getTableView().getItems().setAll(report.getBranches());
+            });
+        }).start();
+    }
+
+    // ============================================================
+    // TREND: Daily = last 30 days by day, Monthly = last 12 months
+    // by month, Yearly = the selected year by week
+    // ============================================================
+    private void handleTrend() {
+
+        String granularity = view.getSelectedGranularityToggle().getText();
+        LocalDate selected = resolveSelectedDate(granularity);
+        if (selected == null) return;
+
+        LocalDate today = LocalDate.now();
+        LocalDate from;
+        LocalDate to;
+        String bucket;
+
+        switch (granularity) {
+            case "Daily" -> {
+                bucket = "day";
+                to = selected;
+                from = selected.minusDays(29);
+            }
+            case "Monthly" -> {
+                bucket = "month";
+                to = selected.with(TemporalAdjusters.lastDayOfMonth());
+                from = selected.minusMonths(11);
+            }
+            default -> {
+                bucket = "week";
+                to = selected.with(TemporalAdjusters.lastDayOfYear());
+                from = selected;
+            }
+        }
+        if (to.isAfter(today)) to = today;
+
+        final LocalDate finalFrom = from;
+        final LocalDate finalTo = to;
+
+        new Thread(() -> {
+            List<RevenueTrendPoint> points = dao.getRevenueTrend(finalFrom, finalTo, bucket);
+            List<LocalDate> periods = periodStarts(finalFrom, finalTo, bucket);
+
+            Platform.runLater(() -> {
+                if (points.isEmpty()) {
+                    showError("No revenue found for the selected range.");
+                    return;
+                }
+                view.showTrendPopup(points, periods, bucket);
+            });
+        }).start();
+    }
+
+    // Every bucket start in [from, to], matching the period_start the DAO groups by
+    private List<LocalDate> periodStarts(LocalDate from, LocalDate to, String bucket) {
+        List<LocalDate> periods = new ArrayList<>();
+        LocalDate p = switch (bucket) {
+            case "week" -> from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> from.withDayOfMonth(1);
+            default -> from;
+        };
+        while (!p.isAfter(to)) {
+            periods.add(p);
+            p = switch (bucket) {
+                case "week" -> p.plusWeeks(1);
+                case "month" -> p.plusMonths(1);
+                default -> p.plusDays(1);
+            };
+        }
+        return periods;
+    }
+
+    // ============================================================
+    // SELECTED PERIOD (null + error popup if incomplete)
+    // ============================================================
+    private LocalDate resolveSelectedDate(String granularity) {
         LocalDate dateToUse;
 
         switch (granularity) {
             case "Daily":
                 if (view.dailyPicker.getValue() == null) {
                     showError("Please select a date.");
-                    return;
+                    return null;
                 }
                 dateToUse = view.dailyPicker.getValue();
                 break;
@@ -74,11 +181,11 @@ public class RevenueByBranchController {
             case "Monthly":
                 if (view.monthPicker.getValue() == null) {
                     showError("Please select a month.");
-                    return;
+                    return null;
                 }
                 if (view.yearPicker.getValue() == null) {
                     showError("Please select a year.");
-                    return;
+                    return null;
                 }
                 dateToUse = LocalDate.of(
                         view.yearPicker.getValue(),
@@ -90,32 +197,22 @@ public class RevenueByBranchController {
             case "Yearly":
                 if (view.yearPicker.getValue() == null) {
                     showError("Please select a year.");
-                    return;
+                    return null;
                 }
                 dateToUse = LocalDate.of(view.yearPicker.getValue(), 1, 1);
                 break;
 
             default:
                 showError("Invalid granularity.");
-                return;
+                return null;
         }
 
         if (dateToUse.isAfter(LocalDate.now())) {
             showError("Cannot load future revenue.");
-            return;
+            return null;
         }
 
-        final LocalDate finalDate = dateToUse;
-        final String finalGranularity = granularity;
-
-        new Thread(() -> {
-            List<RevenueByBranchRecord> records =
-                    dao.getRevenueByBranch(finalDate, finalGranularity);
-
-            Platform.runLater(() -> {
-                view.getTableView().getItems().setAll(records);
-            });
-        }).start();
+        return dateToUse;
     }
 
     private int monthToNumber(String m) {
@@ -151,6 +248,6 @@ public class RevenueByBranchController {
     // RETURN (Navigation)
     // ============================================================
     private void handleReturn() {
-        System.out.println("Return button clicked — implement navigation here.");
+        Navigator.go(Navigator.Screen.REPORTS);
     }
 }
\ No newline at end of file
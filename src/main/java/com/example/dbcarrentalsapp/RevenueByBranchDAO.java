@@ -1,16 +1,15 @@
 package com.example.dbcarrentalsapp;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import model.RevenueByBranchRecord;
+import model.RevenueTrendPoint;
 
 public class RevenueByBranchDAO {
 
-    // company establishment (inclusive)
-    private static final LocalDate COMPANY_ESTABLISHED = LocalDate.of(2025, 1, 1);
-
     // ============================
     // 1. BRANCH REVENUE (rental + penalties)
     // ============================
@@ -93,54 +92,126 @@ public class RevenueByBranchDAO {
     }
 
     // ============================
-    // 2. COMPANY CUMULATIVE REVENUE (SINCE ESTABLISHMENT)
+    // 1b. BRANCH x PERIOD TREND (one grouped query)
     // ============================
-    public RevenueByBranchRecord getCompanyRevenue(LocalDate ignoreDate, String ignoreGranularity) {
-        // We intentionally ignore the date/granularity passed by the UI for company totals.
-        // Company total = sum(rental_total_payment) + sum(violation_penalty_fee) from company establishment -> now
-
-        String rentalQuery = """
-            SELECT COALESCE(SUM(r.rental_total_payment), 0) AS rental_income
+    /**
+     * Revenue per branch per period for [from, to], in a single grouped query over a
+     * rental_datetime range instead of one full aggregate per period.
+     *
+     * @param bucket "day", "week" (Monday-based) or "month"
+     * @return one point per branch and period that had rentals, ordered by branch then period
+     */
+    public List<RevenueTrendPoint> getRevenueTrend(LocalDate from, LocalDate to, String bucket) {
+
+        List<RevenueTrendPoint> points = new ArrayList<>();
+
+        String periodExpr = switch (bucket.toLowerCase()) {
+            case "day" -> "DATE(r.rental_datetime)";
+            case "week" -> "DATE_SUB(DATE(r.rental_datetime), INTERVAL WEEKDAY(r.rental_datetime) DAY)";
+            case "month" -> "DATE_SUB(DATE(r.rental_datetime), INTERVAL DAYOFMONTH(r.rental_datetime) - 1 DAY)";
+            default -> throw new IllegalArgumentException("Invalid bucket: " + bucket);
+        };
+
+        // Penalties are attributed to the rental's date, same as getRevenueByBranch;
+        // they are pre-summed per rental so the join cannot multiply rental payments.
+        String query = String.format("""
+            SELECT
+                b.branch_id,
+                b.branch_name,
+                %s AS period_start,
+                COALESCE(SUM(r.rental_total_payment), 0) AS rental_income,
+                COALESCE(SUM(p.penalty), 0) AS penalty_income
             FROM rental_details r
-            WHERE r.rental_datetime >= ? AND r.rental_datetime <= NOW()
-            """;
-
-        String penaltyQuery = """
-            SELECT COALESCE(SUM(v.violation_penalty_fee), 0) AS penalty_income
-            FROM violation_details v
-            INNER JOIN rental_details rd ON v.violation_rental_id = rd.rental_id
-            WHERE rd.rental_datetime >= ? AND rd.rental_datetime <= NOW()
-            """;
+            INNER JOIN branch_record b ON b.branch_id = r.rental_branch_id
+            LEFT JOIN (
+                SELECT v.violation_rental_id, SUM(v.violation_penalty_fee) AS penalty
+                FROM violation_details v
+                INNER JOIN rental_details rd ON v.violation_rental_id = rd.rental_id
+                WHERE rd.rental_datetime >= ? AND rd.rental_datetime < ?
+                GROUP BY v.violation_rental_id
+            ) p ON p.violation_rental_id = r.rental_id
+            WHERE r.rental_datetime >= ? AND r.rental_datetime < ?
+              AND r.rental_datetime <= NOW()
+            GROUP BY b.branch_id, b.branch_name, period_start
+            ORDER BY b.branch_name, period_start;
+            """, periodExpr);
+
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmtRental = conn.prepareStatement(rentalQuery);
-             PreparedStatement stmtPenalty = conn.prepareStatement(penaltyQuery)) {
-
-            Date established = Date.valueOf(COMPANY_ESTABLISHED);
-
-            // rental
-            stmtRental.setDate(1, established);
-            ResultSet rs1 = stmtRental.executeQuery();
-            java.math.BigDecimal rentalIncome = java.math.BigDecimal.ZERO;
-            if (rs1.next()) rentalIncome = rs1.getBigDecimal("rental_income");
-
-            // penalty
-            stmtPenalty.setDate(1, established);
-            ResultSet rs2 = stmtPenalty.executeQuery();
-            java.math.BigDecimal penaltyIncome = java.math.BigDecimal.ZERO;
-            if (rs2.next()) penaltyIncome = rs2.getBigDecimal("penalty_income");
-
-            return new RevenueByBranchRecord(
-                    "ALL",
-                    "WHOLE COMPANY (since " + COMPANY_ESTABLISHED.toString() + ")",
-                    rentalIncome,
-                    penaltyIncome
-            );
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setTimestamp(1, start); // penalty range
+            stmt.setTimestamp(2, end);
+            stmt.setTimestamp(3, start); // rental range
+            stmt.setTimestamp(4, end);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                points.add(new RevenueTrendPoint(
+                        rs.getString("branch_id"),
+                        rs.getString("branch_name"),
+                        rs.getDate("period_start").toLocalDate(),
+                        rs.getBigDecimal("rental_income"),
+                        rs.getBigDecimal("penalty_income")
+                ));
+            }
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        return points;
+    }
+
+    // ============================
+    // 2. COMBINED REPORT (branch rows + period company total)
+    // ============================
+    /**
+     * Per-branch rows for the selected period together with the company total for
+     * the same period, summed in memory from those rows instead of re-scanning.
+     */
+    public static class RevenueReport {
+        private final List<RevenueByBranchRecord> branches;
+        private final RevenueByBranchRecord companyTotal;
+
+        RevenueReport(List<RevenueByBranchRecord> branches, RevenueByBranchRecord companyTotal) {
+            this.branches = branches;
+            this.companyTotal = companyTotal;
+        }
+
+        public List<RevenueByBranchRecord> getBranches() { return branches; }
+        public RevenueByBranchRecord getCompanyTotal() { return companyTotal; }
+    }
+
+    public RevenueReport getRevenueReport(LocalDate date, String granularity) {
+        List<RevenueByBranchRecord> branches = getRevenueByBranch(date, granularity);
+        return new RevenueReport(branches, companyTotalOf(branches, "WHOLE COMPANY (selected period)"));
+    }
+
+    public static RevenueByBranchRecord companyTotalOf(List<RevenueByBranchRecord> branches, String label) {
+        BigDecimal rental = BigDecimal.ZERO;
+        BigDecimal penalty = BigDecimal.ZERO;
+        for (RevenueByBranchRecord r : branches) {
+            rental = rental.add(r.getRentalIncome());
+            penalty = penalty.add(r.getPenaltyIncome());
+        }
+        return new RevenueByBranchRecord("ALL", label, rental, penalty);
+    }
+
+    // ============================
+    // 3. COMPANY CUMULATIVE REVENUE (SINCE ESTABLISHMENT)
+    // ============================
+    public RevenueByBranchRecord getCompanyRevenue(LocalDate ignoreDate, String ignoreGranularity) {
+        // We intentionally ignore the date/granularity passed by the UI for company totals.
+        // Served from the incrementally advanced ledger instead of two full aggregates.
+        try {
+            return CompanyRevenueLedger.current();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
         return null;
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,11 @@ import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.PieChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.Image;
@@ -17,11 +21,16 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import model.RevenueByBranchRecord;
+import model.RevenueTrendPoint;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class RevenueByBranchView {
 
@@ -34,7 +43,7 @@ public class RevenueByBranchView {
 
     public RadioButton dailyButton, monthlyButton, yearlyButton;
     private final ToggleGroup granularityGroup = new ToggleGroup();
-    public Button pieChartButton;
+    public Button pieChartButton, trendButton, exportButton;
 
     private final Scene scene;
     private final NumberFormat moneyFmt = NumberFormat.getCurrencyInstance(new Locale("en", "PH"));
@@ -46,9 +55,7 @@ public class RevenueByBranchView {
         // ============================================================
         StackPane root = new StackPane();
 
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -229,7 +236,15 @@ public class RevenueByBranchView {
         returnButton.setPrefWidth(120);
         returnButton.getStyleClass().add("small-button");
 
-        HBox bottomButtons = new HBox(20, loadButton, companyButton, pieChartButton, returnButton);
+        trendButton = new Button("Trend");
+        trendButton.setPrefWidth(120);
+        trendButton.getStyleClass().add("small-button");
+
+        exportButton = new Button("Export");
+        exportButton.setPrefWidth(120);
+        exportButton.getStyleClass().add("small-button");
+
+        HBox bottomButtons = new HBox(20, loadButton, companyButton, pieChartButton, trendButton, exportButton, returnButton);
         bottomButtons.setAlignment(Pos.CENTER);
         bottomButtons.setPadding(new Insets(10, 0, 0, 0));
 
@@ -464,8 +479,136 @@ public class RevenueByBranchView {
         dialog.showAndWait();
     }
 
+    // Trend popup: one line per branch plus a sparkline column, net = rental + penalty
+    public void showTrendPopup(List<RevenueTrendPoint> points, List<LocalDate> periods, String bucket) {
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Branch Revenue Trend");
+        dialog.setHeaderText(null);
+
+        dialog.getDialogPane().setStyle("""
+        -fx-background-color: rgba(25,25,35,0.97);
+        -fx-border-color: linear-gradient(to right, #7a40ff, #b46bff);
+        -fx-border-width: 2;
+        -fx-border-radius: 15;
+        -fx-background-radius: 15;
+    """);
+
+        DateTimeFormatter labelFmt = switch (bucket) {
+            case "month" -> DateTimeFormatter.ofPattern("MMM yyyy");
+            default -> DateTimeFormatter.ofPattern("MMM d");
+        };
+
+        // branch name -> (period -> net); periods pre-filled with 0 so every series is dense
+        Map<String, Map<LocalDate, BigDecimal>> byBranch = new LinkedHashMap<>();
+        for (RevenueTrendPoint p : points) {
+            Map<LocalDate, BigDecimal> series = byBranch.computeIfAbsent(p.getBranchName(), k -> {
+                Map<LocalDate, BigDecimal> empty = new LinkedHashMap<>();
+                for (LocalDate period : periods) empty.put(period, BigDecimal.ZERO);
+                return empty;
+            });
+            series.merge(p.getPeriodStart(), p.getTotalRevenue(), BigDecimal::add);
+        }
+
+        Label title = new Label("NET REVENUE TREND BY BRANCH (" + bucket.toUpperCase() + "LY)");
+        title.setStyle("""
+        -fx-text-fill: white;
+        -fx-font-size: 20px;
+        -fx-font-weight: bold;
+    """);
+
+        // ----- main line chart -----
+        CategoryAxis xAxis = new CategoryAxis();
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel("Net Revenue (PHP)");
+
+        LineChart<String, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setCreateSymbols(periods.size() <= 31);
+        chart.setAnimated(false);
+        chart.setPrefSize(650, 450);
+        chart.setStyle("-fx-background-color: transparent;");
+
+        // ----- sparkline column -----
+        VBox sparkBox = new VBox(6);
+        sparkBox.setPadding(new Insets(10));
+
+        for (Map.Entry<String, Map<LocalDate, BigDecimal>> branch : byBranch.entrySet()) {
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName(branch.getKey());
+            BigDecimal total = BigDecimal.ZERO;
+
+            for (Map.Entry<LocalDate, BigDecimal> e : branch.getValue().entrySet()) {
+                series.getData().add(new XYChart.Data<>(e.getKey().format(labelFmt), e.getValue()));
+                total = total.add(e.getValue());
+            }
+            chart.getData().add(series);
+
+            Label name = new Label(branch.getKey() + " — " + formatMoney(total));
+            name.setStyle("-fx-text-fill: white; -fx-font-size: 12px;");
+            sparkBox.getChildren().addAll(name, buildSparkline(branch.getValue()));
+        }
+
+        ScrollPane sparkScroll = new ScrollPane(sparkBox);
+        sparkScroll.setPrefSize(300, 450);
+        sparkScroll.setFitToWidth(true);
+        sparkScroll.setStyle("""
+        -fx-background: transparent;
+        -fx-background-color: transparent;
+        -fx-border-color: rgba(255,255,255,0.15);
+        -fx-border-width: 1.2;
+        -fx-border-radius: 10;
+    """);
+
+        HBox content = new HBox(20, chart, sparkScroll);
+        content.setAlignment(Pos.CENTER);
+
+        VBox box = new VBox(15, title, content);
+        box.setPadding(new Insets(20));
+        box.setAlignment(Pos.CENTER);
+
+        dialog.getDialogPane().setContent(box);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
+
+        dialog.showAndWait();
+    }
+
+    // Axis-less mini chart for the sparkline column
+    private LineChart<Number, Number> buildSparkline(Map<LocalDate, BigDecimal> values) {
+        NumberAxis x = new NumberAxis();
+        NumberAxis y = new NumberAxis();
+        for (NumberAxis axis : new NumberAxis[]{x, y}) {
+            axis.setTickLabelsVisible(false);
+            axis.setTickMarkVisible(false);
+            axis.setMinorTickVisible(false);
+            axis.setOpacity(0);
+        }
+
+        LineChart<Number, Number> spark = new LineChart<>(x, y);
+        spark.setLegendVisible(false);
+        spark.setCreateSymbols(false);
+        spark.setAnimated(false);
+        spark.setHorizontalGridLinesVisible(false);
+        spark.setVerticalGridLinesVisible(false);
+        spark.setPrefSize(260, 50);
+        spark.setMinHeight(50);
+        spark.setPadding(Insets.EMPTY);
+
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        int i = 0;
+        for (BigDecimal v : values.values()) {
+            series.getData().add(new XYChart.Data<>(i++, v));
+        }
+        spark.getData().add(series);
+        return spark;
+    }
+
     // Company popup shows rental + penalty as net (salary intentionally omitted)
     public void showCompanyPopup(RevenueByBranchRecord r) {
+        showCompanyPopup(r, null);
+    }
+
+    // periodTotal (nullable) = company total of the currently loaded period, summed from the table rows
+    public void showCompanyPopup(RevenueByBranchRecord r, RevenueByBranchRecord periodTotal) {
 
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle("Company Revenue");
@@ -504,6 +647,14 @@ public class RevenueByBranchView {
 
         box.getChildren().addAll(title, rentalLbl, penaltyLbl, netLbl);
 
+        if (periodTotal != null) {
+            Label periodLbl = new Label("Loaded period — Net Revenue: " + formatMoney(periodTotal.getTotalRevenue())
+                    + "  (Rental " + formatMoney(periodTotal.getRentalIncome())
+                    + ", Penalty " + formatMoney(periodTotal.getPenaltyIncome()) + ")");
+            periodLbl.setStyle("-fx-text-fill: #c7b3ff; -fx-font-size: 14px;");
+            box.getChildren().add(periodLbl);
+        }
+
         dialog.getDialogPane().setContent(box);
         dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
 
@@ -527,6 +678,8 @@ public class RevenueByBranchView {
     public Button getLoadButton() { return loadButton; }
     public Button getReturnButton() { return returnButton; }
     public Button getCompanyButton() { return companyButton; }
+    public Button getTrendButton() { return trendButton; }
+    public Button getExportButton() { return exportButton; }
 
     public TableView<RevenueByBranchRecord> getTableView() { return tableView; }
 
@@ -0,0 +1,187 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Substring search over the rows of an ObservableList, for table filters.
+ *
+ * Each row's searchable fields are lower-cased once, when the row enters the list, and
+ * every 3-character window of that text is posted under the row's id. A query is
+ * answered by intersecting the posting lists of its own trigrams and confirming the few
+ * surviving candidates, so a keystroke neither touches every row nor allocates per row.
+ * Queries shorter than a trigram fall back to scanning the pre-normalised text.
+ *
+ * The index follows the list: added rows are posted and removed rows are dropped; once
+ * dropped rows are as many as live ones (e.g. after setAll) the index is rebuilt.
+ *
+ * @param <T> row type
+ */
+public class SearchIndex<T> {
+
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\n';   // never part of a query
+
+    private final List<Function<T, ?>> fields;
+
+    // Row ids are positions in these lists; removed rows leave a null behind
+    private final List<T> rows = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<T, Integer> ids = new IdentityHashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int removed;
+
+    /**
+     * Ascending row ids for one trigram.
+     */
+    private static class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return;   // trigram repeats within the row
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Indexes the list's current rows and keeps following it.
+     *
+     * @param source rows to search, e.g. a controller's master list
+     * @param fields searchable fields; null values are skipped, others use toString()
+     */
+    @SafeVarargs
+    public SearchIndex(ObservableList<T> source, Function<T, ?>... fields) {
+        // Copied element by element; handing the varargs array itself on risks heap pollution
+        List<Function<T, ?>> copy = new ArrayList<>(fields.length);
+        for (Function<T, ?> field : fields) copy.add(field);
+        this.fields = List.copyOf(copy);
+
+        rebuild(source);
+        source.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                for (T row : change.getRemoved()) remove(row);
+                for (T row : change.getAddedSubList()) add(row);
+            }
+            if (removed >= rows.size() - removed) rebuild(source);
+        });
+    }
+
+    // ============================
+    // 1. SEARCH
+    // ============================
+
+    /**
+     * @return rows whose searchable text contains the query (case-insensitive), in indexing order;
+     *         every row if the query is blank
+     */
+    public List<T> search(String query) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<T> result = new ArrayList<>();
+
+        if (q.length() < GRAM) {
+            for (int id = 0; id < rows.size(); id++) {
+                if (rows.get(id) != null && texts.get(id).contains(q)) result.add(rows.get(id));
+            }
+            return result;
+        }
+
+        // Posting lists of the query's trigrams, shortest first
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Postings p = postings.get(gram(q, i));
+            if (p == null) return result;                  // a trigram no row has
+            if (!lists.contains(p)) lists.add(p);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            count = intersect(candidates, count, lists.get(l));
+        }
+
+        // Trigrams can match out of order; confirm the real substring
+        for (int i = 0; i < count; i++) {
+            int id = candidates[i];
+            if (rows.get(id) != null && texts.get(id).contains(q)) result.add(rows.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps in candidates[0..count) only the ids also present in the postings.
+     * @return the new count
+     */
+    private static int intersect(int[] candidates, int count, Postings other) {
+        int kept = 0, j = 0;
+        for (int i = 0; i < count && j < other.size; i++) {
+            int id = candidates[i];
+            while (j < other.size && other.ids[j] < id) j++;
+            if (j < other.size && other.ids[j] == id) candidates[kept++] = id;
+        }
+        return kept;
+    }
+
+    // ============================
+    // 2. MAINTENANCE
+    // ============================
+
+    private void add(T row) {
+        int id = rows.size();
+        String text = normalize(row);
+
+        rows.add(row);
+        texts.add(text);
+        ids.put(row, id);
+
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            if (text.charAt(i) == FIELD_SEPARATOR || text.charAt(i + 1) == FIELD_SEPARATOR
+                    || text.charAt(i + 2) == FIELD_SEPARATOR) continue;   // spans two fields
+            postings.computeIfAbsent(gram(text, i), k -> new Postings()).add(id);
+        }
+    }
+
+    private void remove(T row) {
+        Integer id = ids.remove(row);
+        if (id == null) return;
+        rows.set(id, null);
+        texts.set(id, null);
+        removed++;
+    }
+
+    private void rebuild(List<T> source) {
+        rows.clear();
+        texts.clear();
+        ids.clear();
+        postings.clear();
+        removed = 0;
+        for (T row : source) add(row);
+    }
+
+    private String normalize(T row) {
+        StringBuilder sb = new StringBuilder();
+        for (Function<T, ?> field : fields) {
+            Object value = field.apply(row);
+            if (value == null) continue;
+            if (sb.length() > 0) sb.append(FIELD_SEPARATOR);
+            sb.append(value.toString().toLowerCase(Locale.ROOT));
+        }
+        return sb.toString();
+    }
+
+    /** Packs three chars into one key. */
+    private static long gram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+}
@@ -14,12 +14,14 @@ public class StaffController {
     private final Stage stage;
     private final StaffView view;
     private final StaffDAO dao;
-    private ObservableList<StaffRecord> masterList;
+    private final ObservableList<StaffRecord> masterList = FXCollections.observableArrayList();
+    private final TableLoader<StaffRecord> loader;
 
     public StaffController(StaffView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.dao = new StaffDAO();
+        this.loader = new TableLoader<>("staff", view.tableView, this::showStaff);
 
         loadStaff();
         setupActions();
@@ -27,20 +29,19 @@ public class StaffController {
 
     /** Load all staff into the table */
     public void loadStaff() {
-        List<StaffRecord> staff = dao.getAllStaff();
-        if (staff == null) staff = List.of(); // avoid NPE
-        masterList = FXCollections.observableArrayList(staff);
-        view.tableView.setItems(masterList);
+        loader.load(StaffDAO::getAllStaff);
+    }
+
+    /** Shows freshly loaded rows, keeping the current search */
+    private void showStaff(List<StaffRecord> staff) {
+        masterList.setAll(staff);
+        applyFilter();
     }
 
     /** Set up button actions */
     private void setupActions() {
         // ===== Return to Manage Records =====
-        view.returnButton.setOnAction(e -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            new ManageRecordsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.RECORDS));
 
         // Add Staff with auto-generated ID
         view.addButton.setOnAction(e -> {
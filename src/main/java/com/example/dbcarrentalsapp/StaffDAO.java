@@ -80,6 +80,7 @@ public class StaffDAO {
                     }
                 }
 
+                if (rows > 0) StaffEligibilityCache.invalidate();
                 return rows > 0;
             }
         } catch (SQLException e){
@@ -110,6 +111,7 @@ public class StaffDAO {
                 pstmt.setString(4, branchId);
                 pstmt.setString(5, staffId);
                 int rows = pstmt.executeUpdate();
+                if (rows > 0) StaffEligibilityCache.invalidate();
                 return rows > 0;
             }
         } catch (SQLException e){
@@ -130,6 +132,7 @@ public class StaffDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)){
             pstmt.setString(1, staffId);
             int rows = pstmt.executeUpdate();
+            if (rows > 0) StaffEligibilityCache.invalidate();
             return rows > 0;
         } catch (SQLException e){
             e.printStackTrace();
@@ -203,27 +206,7 @@ public class StaffDAO {
     }
 
     public List<String> getOperationsStaffForBranch(String branchId) throws SQLException {
-        String sql = """
-        SELECT staff_id
-        FROM staff_record
-        WHERE staff_branch_id = ?
-          AND staff_job_id LIKE 'OPS%'
-        """;
-
-        List<String> staff = new ArrayList<>();
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, branchId);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    staff.add(rs.getString("staff_id"));
-                }
-            }
-        }
-
-        return staff;
+        // Same Operations-department rule as the violation and cancellation checks
+        return new ArrayList<>(StaffEligibilityCache.get().operationsStaff(branchId));
     }
 }
@@ -0,0 +1,147 @@
+package com.example.dbcarrentalsapp;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Who may process rentals where, answered from memory.
+ *
+ * One query maps every staff member to their branch and department; the snapshot is
+ * kept until StaffDAO or JobDAO changes a staff member or job. The single rule used
+ * everywhere: a staff member may process a rental if they belong to the Operations
+ * department (DEPT_OPS) of the rental's branch.
+ */
+public class StaffEligibilityCache {
+
+    public static final String OPERATIONS_DEPARTMENT = "DEPT_OPS";
+
+    private static volatile StaffEligibilityCache current;
+    private static final AtomicLong version = new AtomicLong();   // bumped by every invalidation
+
+    private final Map<String, String> branchOf;
+    private final Map<String, String> departmentOf;
+    private final Map<String, List<String>> operationsByBranch;   // sorted, unmodifiable
+
+    private StaffEligibilityCache(Map<String, String> branchOf, Map<String, String> departmentOf,
+                                  Map<String, List<String>> operationsByBranch) {
+        this.branchOf = branchOf;
+        this.departmentOf = departmentOf;
+        this.operationsByBranch = operationsByBranch;
+    }
+
+    // ============================
+    // 1. LOADING
+    // ============================
+
+    /**
+     * @return the current snapshot, loading it on first use or after an invalidation
+     */
+    public static StaffEligibilityCache get() throws SQLException {
+        StaffEligibilityCache cache = current;
+        if (cache == null) {
+            synchronized (StaffEligibilityCache.class) {
+                cache = current;
+                while (cache == null) {
+                    long loading = version.get();
+                    cache = load();
+                    // A write invalidated while loading: what was read may predate it, so read again
+                    if (version.get() != loading) {
+                        cache = null;
+                        continue;
+                    }
+                    current = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Drops the snapshot; the next lookup reloads it. Called after staff or job writes.
+     * A load already in flight is not published.
+     */
+    public static void invalidate() {
+        version.incrementAndGet();
+        current = null;
+    }
+
+    private static StaffEligibilityCache load() throws SQLException {
+        String sql = """
+            SELECT sr.staff_id, sr.staff_branch_id, jr.job_department_id
+            FROM staff_record sr
+            LEFT JOIN job_record jr ON sr.staff_job_id = jr.job_id
+            ORDER BY sr.staff_id
+            """;
+
+        Map<String, String> branchOf = new HashMap<>();
+        Map<String, String> departmentOf = new HashMap<>();
+        Map<String, List<String>> operations = new HashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                String staffId = rs.getString("staff_id");
+                String branchId = rs.getString("staff_branch_id");
+                String departmentId = rs.getString("job_department_id");
+
+                branchOf.put(staffId, branchId);
+                if (departmentId != null) departmentOf.put(staffId, departmentId);
+
+                if (OPERATIONS_DEPARTMENT.equals(departmentId) && branchId != null) {
+                    operations.computeIfAbsent(branchId, k -> new ArrayList<>()).add(staffId);   // already sorted
+                }
+            }
+        }
+
+        operations.replaceAll((branch, ids) -> Collections.unmodifiableList(ids));
+        return new StaffEligibilityCache(branchOf, departmentOf, operations);
+    }
+
+    // ============================
+    // 2. LOOKUPS
+    // ============================
+
+    /**
+     * @return true if the staff member is Operations staff of the given branch
+     */
+    public boolean isEligible(String staffId, String branchId) {
+        return staffId != null && branchId != null
+                && branchId.equals(branchOf.get(staffId))
+                && OPERATIONS_DEPARTMENT.equals(departmentOf.get(staffId));
+    }
+
+    /**
+     * @return Operations staff of the branch, sorted by ID; empty if none
+     */
+    public List<String> operationsStaff(String branchId) {
+        return operationsByBranch.getOrDefault(branchId, List.of());
+    }
+
+    /**
+     * @return the lowest Operations staff ID of any branch, or null if there is none;
+     *         the fallback for automatic actions in a branch without Operations staff
+     */
+    public String anyOperationsStaff() {
+        String lowest = null;
+        for (List<String> ids : operationsByBranch.values()) {
+            String first = ids.get(0);
+            if (lowest == null || first.compareTo(lowest) < 0) lowest = first;
+        }
+        return lowest;
+    }
+
+    public String branchOf(String staffId) {
+        return branchOf.get(staffId);
+    }
+
+    public String departmentOf(String staffId) {
+        return departmentOf.get(staffId);
+    }
+}
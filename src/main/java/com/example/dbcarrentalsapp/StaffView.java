@@ -24,9 +24,7 @@ public class StaffView {
     public StaffView() {
         // ===== Background =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -167,8 +165,7 @@ public class StaffView {
         staffJobIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate job IDs
-        JobDAO jobDAO = new JobDAO();
-        staffJobIDComboBox.getItems().addAll(jobDAO.getAllJobDisplayValues());
+        staffJobIDComboBox.setItems(ReferenceDataCache.JOBS.get());
 
         Label staffBranchIDLabel = new Label("Staff Branch ID:");
         staffBranchIDLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
@@ -177,8 +174,7 @@ public class StaffView {
         staffBranchIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate branch IDs
-        BranchDAO branchDAO = new BranchDAO();
-        staffBranchIDComboBox.getItems().addAll(branchDAO.getAllBranchDisplayValues());
+        staffBranchIDComboBox.setItems(ReferenceDataCache.BRANCHES.get());
 
         Button addBtn = new Button("Add");
         Button cancelBtn = new Button("Cancel");
@@ -279,8 +275,7 @@ public class StaffView {
         staffJobIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate job IDs and set current value
-        JobDAO jobDAO = new JobDAO();
-        staffJobIDComboBox.getItems().addAll(jobDAO.getAllJobDisplayValues());
+        staffJobIDComboBox.setItems(ReferenceDataCache.JOBS.get());
         staffJobIDComboBox.setValue(selected.getStaffJobId());
 
         Label staffBranchIDLabel= new Label("Staff Branch ID:");
@@ -290,8 +285,7 @@ public class StaffView {
         staffBranchIDComboBox.setStyle("-fx-background-color: #2a2a3a; -fx-text-fill: white; -fx-border-color: #7a40ff; -fx-border-radius: 5;");
 
         // Populate branch IDs and set current value
-        BranchDAO branchDAO = new BranchDAO();
-        staffBranchIDComboBox.getItems().addAll(branchDAO.getAllBranchDisplayValues());
+        staffBranchIDComboBox.setItems(ReferenceDataCache.BRANCHES.get());
         staffBranchIDComboBox.setValue(selected.getStaffBranchId());
 
         Button saveBtn = new Button("Save");
@@ -0,0 +1,76 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Startup measurement and the class-data-sharing training run, switched on with the
+ * {@code forza.startup} system property:
+ *
+ *   report  prints the time from process start to the first frame
+ *   exit    prints it and exits, for scripts/startup-benchmark.sh
+ *   train   prints it, opens every screen once and exits, so that a run with
+ *           -XX:DumpLoadedClassList records the classes of a whole session
+ *           (see the cds profile in pom.xml)
+ *
+ * Without the property nothing is installed.
+ */
+public class StartupProbe {
+
+    private static final String MODE = System.getProperty("forza.startup", "");
+
+    /**
+     * Watches for the first pulse of the stage's scene; call before stage.show().
+     */
+    public static void watch(Stage stage) {
+        if (MODE.isEmpty()) return;
+
+        Scene scene = stage.getScene();
+        Runnable listener = new Runnable() {
+            private boolean seen;
+
+            @Override
+            public void run() {
+                if (seen) return;
+                seen = true;
+                // Laid out and about to be drawn in this pulse
+                System.out.println("First frame after " + millisSinceLaunch() + " ms");
+                Platform.runLater(() -> {
+                    scene.removePostLayoutPulseListener(this);
+                    afterFirstFrame();
+                });
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+
+    private static void afterFirstFrame() {
+        switch (MODE) {
+            case "exit" -> System.exit(0);
+            case "train" -> visitEveryScreen();
+            default -> { }
+        }
+    }
+
+    private static void visitEveryScreen() {
+        for (Navigator.Screen screen : Navigator.Screen.values()) {
+            try {
+                Navigator.go(screen);
+            } catch (RuntimeException e) {
+                e.printStackTrace();   // e.g. no database on the build machine; the classes are loaded anyway
+            }
+        }
+        Navigator.go(Navigator.Screen.USER);
+        Platform.runLater(() -> System.exit(0));
+    }
+
+    private static long millisSinceLaunch() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.application.Platform;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Row-level change notifications for the transaction tables.
+ *
+ * DAOs report the ids of the rows they inserted, updated or deleted once their write has
+ * committed; open screens subscribe and patch just those rows into their tables instead
+ * of reloading everything. A notification only carries ids: the subscriber re-reads them,
+ * and a row that is gone or no longer matches was deleted. Bulk writes report
+ * {@link Topic#changedAll()} instead, after which subscribers reload.
+ *
+ * Ids reported from any thread are collected and delivered together on the FX thread,
+ * so a burst of writes reaches each subscriber as a single batch.
+ */
+public class TableChanges {
+
+    public static final Topic RENTALS = new Topic();
+    public static final Topic CANCELLATIONS = new Topic();
+    public static final Topic VIOLATIONS = new Topic();
+
+    /** Receives one batch of changes on the FX thread. */
+    public interface Listener {
+        /**
+         * @param ids rows that were inserted, updated or deleted
+         * @param all true if the whole table may have changed; ids is then empty
+         */
+        void onChange(Set<String> ids, boolean all);
+    }
+
+    /**
+     * Changes to one table.
+     */
+    public static class Topic {
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+        private final Set<String> pending = new LinkedHashSet<>();
+        private boolean pendingAll;
+        private boolean flushQueued;
+
+        Topic() {
+        }
+
+        public void subscribe(Listener listener) {
+            listeners.add(listener);
+        }
+
+        /** Reports rows written by a committed transaction. */
+        public void changed(String... ids) {
+            changed(List.of(ids));
+        }
+
+        /** Reports rows written by a committed transaction. */
+        public void changed(Collection<String> ids) {
+            if (ids.isEmpty()) return;
+            synchronized (this) {
+                pending.addAll(ids);
+            }
+            queueFlush();
+        }
+
+        /** Reports a write that may have touched any row. */
+        public void changedAll() {
+            synchronized (this) {
+                pendingAll = true;
+                pending.clear();
+            }
+            queueFlush();
+        }
+
+        private void queueFlush() {
+            if (listeners.isEmpty()) {
+                // No screen is showing this table (or the UI is not up yet)
+                synchronized (this) {
+                    pending.clear();
+                    pendingAll = false;
+                }
+                return;
+            }
+            synchronized (this) {
+                if (flushQueued) return;
+                flushQueued = true;
+            }
+            Platform.runLater(this::flush);
+        }
+
+        private void flush() {
+            Set<String> ids;
+            boolean all;
+            synchronized (this) {
+                flushQueued = false;
+                all = pendingAll;
+                ids = all ? Set.of() : Set.copyOf(pending);
+                pending.clear();
+                pendingAll = false;
+            }
+            if (!all && ids.isEmpty()) return;
+            for (Listener listener : listeners) {
+                listener.onChange(ids, all);
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes report and transaction tables to disk.
+ *
+ * Transaction tables are streamed straight from a forward-only ResultSet, so an export
+ * holds one row (CSV) or one row group (columnar) in memory no matter how large the
+ * table is. Report tables are already in a TableView and are written from its cells.
+ *
+ * Columnar layout (gzip compressed, big-endian):
+ *   magic "DBCRCOL1", column count, column names,
+ *   then row groups of up to {@link #ROW_GROUP_SIZE} rows: row count, followed by every
+ *   value of column 0, then column 1, ... (each value length-prefixed UTF-8, -1 = NULL),
+ *   terminated by a row group with row count 0.
+ */
+public class TableExporter {
+
+    public enum Format { CSV, COLUMNAR }
+
+    /**
+     * Transaction tables that can be exported, keyed by the name shown to the user.
+     * Columns are listed explicitly so derived columns, e.g. the generated search text
+     * behind the FULLTEXT indexes, stay out of the export.
+     */
+    public enum Source {
+        RENTALS("rental_details", "rental_id",
+                "rental_id, rental_renter_dl_number, rental_car_plate_number, rental_branch_id, "
+                + "rental_staff_id_pickup, rental_staff_id_return, rental_datetime, "
+                + "rental_expected_pickup_datetime, rental_actual_pickup_datetime, "
+                + "rental_expected_return_datetime, rental_actual_return_datetime, "
+                + "rental_total_payment, rental_status"),
+        VIOLATIONS("violation_details", "violation_id",
+                "violation_id, violation_rental_id, violation_staff_id, violation_type, "
+                + "violation_penalty_fee, violation_reason, violation_duration_hours, violation_timestamp"),
+        CANCELLATIONS("cancellation_details", "cancellation_id",
+                "cancellation_id, cancellation_rental_id, cancellation_staff_id, "
+                + "cancellation_date, cancellation_reason"),
+        RETURNS("return_details", "return_id",
+                "return_id, return_rental_id, return_staff_id");
+
+        private final String table;
+        private final String orderBy;
+        private final String columns;
+
+        Source(String table, String orderBy, String columns) {
+            this.table = table;
+            this.orderBy = orderBy;
+            this.columns = columns;
+        }
+
+        String query() {
+            return "SELECT " + columns + " FROM " + table + " ORDER BY " + orderBy;
+        }
+    }
+
+    static final int ROW_GROUP_SIZE = 4096;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] MAGIC = "DBCRCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    // ============================
+    // 1. DATABASE TABLES (streamed)
+    // ============================
+
+    /**
+     * Streams a whole transaction table to the target file.
+     *
+     * @return number of rows written
+     */
+    public long export(Source source, Path target, Format format) throws SQLException, IOException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // MySQL streams row by row only with this fetch size
+            stmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = stmt.executeQuery(source.query())) {
+                return write(new ResultSetRows(rs), target, format);
+            }
+        }
+    }
+
+    // ============================
+    // 2. REPORT TABLES (already loaded)
+    // ============================
+
+    /**
+     * Writes the visible columns and current rows of a report table.
+     * Must be called on the FX thread; report tables are small.
+     *
+     * @return number of rows written
+     */
+    public long export(TableView<?> table, Path target, Format format) throws IOException {
+        try {
+            return write(new TableViewRows(table), target, format);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e); // TableViewRows never touches the database
+        }
+    }
+
+    private long write(Rows rows, Path target, Format format) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return format == Format.CSV ? writeCsv(rows, channel) : writeColumnar(rows, channel);
+        }
+    }
+
+    // ============================
+    // 3. CSV
+    // ============================
+    private long writeCsv(Rows rows, FileChannel channel) throws SQLException, IOException {
+        ChannelWriter out = new ChannelWriter(channel);
+        List<String> names = rows.columnNames();
+        StringBuilder line = new StringBuilder();
+
+        appendCsvLine(line, names);
+        out.write(line);
+
+        long count = 0;
+        String[] values = new String[names.size()];
+        while (rows.next(values)) {
+            line.setLength(0);
+            appendCsvLine(line, Arrays.asList(values));
+            out.write(line);
+            count++;
+        }
+
+        out.flush();
+        return count;
+    }
+
+    private static void appendCsvLine(StringBuilder line, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) line.append(',');
+            String v = values.get(i);
+            if (v == null) continue; // NULL -> empty field
+
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                line.append('"').append(v.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(v);
+            }
+        }
+        line.append("\r\n");
+    }
+
+    /**
+     * Encodes text into one reused direct buffer and drains it to the channel when full.
+     * Characters UTF-8 cannot encode, e.g. a lone surrogate, are written as '?'.
+     */
+    private static class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private String pending = "";   // a high surrogate that ended the last write, awaiting its pair
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(pending.isEmpty() ? text : pending + text);
+            encode(chars, false);
+            pending = chars.hasRemaining() ? chars.toString() : "";
+        }
+
+        /** Ends the text: encodes what is pending, flushes the encoder and writes everything out. */
+        void flush() throws IOException {
+            encode(CharBuffer.wrap(pending), true);
+            pending = "";
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            drain();
+            encoder.reset();
+            channel.force(false);
+        }
+
+        private void encode(CharBuffer chars, boolean endOfInput) throws IOException {
+            // With REPLACE the encoder only stops when the buffer is full or the input used up
+            while (encoder.encode(chars, buffer, endOfInput).isOverflow()) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // ============================
+    // 4. COLUMNAR (gzip, row groups)
+    // ============================
+    private long writeColumnar(Rows rows, FileChannel channel) throws SQLException, IOException {
+        List<String> names = rows.columnNames();
+        int columns = names.size();
+
+        // Channel -> buffer -> gzip -> buffer, so gzip sees large writes and the channel large blocks
+        OutputStream raw = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        GZIPOutputStream gzip = new GZIPOutputStream(raw, BUFFER_SIZE);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+
+        out.write(MAGIC);
+        out.writeInt(columns);
+        for (String name : names) {
+            writeValue(out, name);
+        }
+
+        String[][] group = new String[ROW_GROUP_SIZE][columns];
+        long count = 0;
+        int filled = 0;
+
+        while (rows.next(group[filled])) {
+            filled++;
+            count++;
+            if (filled == ROW_GROUP_SIZE) {
+                writeRowGroup(out, group, filled, columns);
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            writeRowGroup(out, group, filled, columns);
+        }
+        out.writeInt(0); // end marker
+
+        out.flush();
+        gzip.finish();
+        raw.flush();
+        channel.force(false);
+        return count;
+    }
+
+    private static void writeRowGroup(DataOutputStream out, String[][] group, int rows, int columns) throws IOException {
+        out.writeInt(rows);
+        for (int c = 0; c < columns; c++) {
+            for (int r = 0; r < rows; r++) {
+                writeValue(out, group[r][c]);
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // ============================
+    // 5. ROW SOURCES
+    // ============================
+
+    /** Forward-only row source; fills the caller's array so no per-row allocation is needed. */
+    private interface Rows {
+        List<String> columnNames() throws SQLException;
+        boolean next(String[] into) throws SQLException;
+    }
+
+    private static class ResultSetRows implements Rows {
+        private final ResultSet rs;
+        private final int columns;
+
+        ResultSetRows(ResultSet rs) throws SQLException {
+            this.rs = rs;
+            this.columns = rs.getMetaData().getColumnCount();
+        }
+
+        @Override
+        public List<String> columnNames() throws SQLException {
+            ResultSetMetaData meta = rs.getMetaData();
+            List<String> names = new ArrayList<>(columns);
+            for (int i = 1; i <= columns; i++) {
+                names.add(meta.getColumnLabel(i));
+            }
+            return names;
+        }
+
+        @Override
+        public boolean next(String[] into) throws SQLException {
+            if (!rs.next()) return false;
+            for (int i = 0; i < columns; i++) {
+                into[i] = rs.getString(i + 1);
+            }
+            return true;
+        }
+    }
+
+    private static class TableViewRows implements Rows {
+        private final TableView<?> table;
+        private final List<TableColumn<?, ?>> columns = new ArrayList<>();
+        private int index = 0;
+
+        TableViewRows(TableView<?> table) {
+            this.table = table;
+            for (TableColumn<?, ?> col : table.getVisibleLeafColumns()) {
+                // skip action columns (buttons) that have no value
+                if (col.getCellValueFactory() != null) {
+                    columns.add(col);
+                }
+            }
+        }
+
+        @Override
+        public List<String> columnNames() {
+            List<String> names = new ArrayList<>(columns.size());
+            for (TableColumn<?, ?> col : columns) {
+                names.add(col.getText());
+            }
+            return names;
+        }
+
+        @Override
+        public boolean next(String[] into) {
+            if (index >= table.getItems().size()) return false;
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = columns.get(i).getCellData(index);
+                into[i] = value != null ? value.toString() : null;
+            }
+            index++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.dbcarrentalsapp;
+
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads a table's rows off the FX thread.
+ *
+ * The screen is shown right away; while its table is still empty it shows a progress
+ * placeholder, and the rows are handed to the screen when the query returns. Starting
+ * a new load (a reload or a new search) cancels the one in flight, and so does leaving
+ * the screen, so a stale result never overwrites a newer one. How long each load took
+ * is logged at debug level.
+ *
+ * Use from the FX thread only.
+ */
+public class TableLoader<T> {
+
+    private static final System.Logger LOG = System.getLogger(TableLoader.class.getName());
+
+    // Loads run one at a time, so opening screens never holds more than one connection
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String name;
+    private final TableView<T> table;
+    private final Consumer<List<T>> onLoaded;
+    private final Node idlePlaceholder;
+    private final Node loadingPlaceholder;
+
+    private Supplier<List<T>> query;
+    private long startedAt;
+
+    private final Service<List<T>> service = new Service<>() {
+        @Override
+        protected Task<List<T>> createTask() {
+            Supplier<List<T>> current = query;
+            return new Task<>() {
+                @Override
+                protected List<T> call() {
+                    List<T> rows = current.get();
+                    return rows != null ? rows : List.of();   // DAOs return null on some errors
+                }
+            };
+        }
+    };
+
+    /**
+     * @param name what is loaded, for the placeholder and the timing log (e.g. "branches")
+     * @param table the table that shows the rows
+     * @param onLoaded receives the rows on the FX thread
+     */
+    public TableLoader(String name, TableView<T> table, Consumer<List<T>> onLoaded) {
+        this.name = name;
+        this.table = table;
+        this.onLoaded = onLoaded;
+        this.idlePlaceholder = table.getPlaceholder();
+        this.loadingPlaceholder = loadingPlaceholder();
+
+        service.setExecutor(LOADER);
+        service.setOnSucceeded(e -> {
+            List<T> rows = service.getValue();
+            LOG.log(System.Logger.Level.DEBUG, "Loaded {0} {1} in {2} ms", rows.size(), name, elapsedMillis());
+            table.setPlaceholder(idlePlaceholder);
+            onLoaded.accept(rows);
+        });
+        service.setOnFailed(e -> {
+            service.getException().printStackTrace();
+            table.setPlaceholder(new Label("Could not load " + name + "."));
+        });
+        service.setOnCancelled(e ->
+                LOG.log(System.Logger.Level.DEBUG, "Cancelled loading {0} after {1} ms", name, elapsedMillis()));
+
+        cancelWhenHidden();
+    }
+
+    // ============================
+    // 1. LOADING
+    // ============================
+
+    /**
+     * Runs the query in the background, replacing any load still in flight.
+     * @param query reads the rows; runs off the FX thread, so it must not touch the UI
+     */
+    public void load(Supplier<List<T>> query) {
+        this.query = query;
+        startedAt = System.nanoTime();
+        table.setPlaceholder(loadingPlaceholder);
+        service.restart();
+    }
+
+    /** Drops the load in flight, if any; its rows are never delivered. */
+    public void cancel() {
+        if (service.isRunning()) {
+            service.cancel();
+            table.setPlaceholder(idlePlaceholder);
+        }
+    }
+
+    // ============================
+    // 2. HELPERS
+    // ============================
+
+    private Node loadingPlaceholder() {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setMaxSize(40, 40);
+        Label label = new Label("Loading " + name + "...");
+        VBox box = new VBox(10, spinner, label);
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
+    /** Cancels the load once the table's scene is taken off the stage. */
+    private void cancelWhenHidden() {
+        ChangeListener<Window> onWindow = (obs, oldWindow, newWindow) -> {
+            if (newWindow == null) cancel();
+        };
+        if (table.getScene() != null) table.getScene().windowProperty().addListener(onWindow);
+        table.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) oldScene.windowProperty().removeListener(onWindow);
+            if (newScene != null) newScene.windowProperty().addListener(onWindow);
+        });
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -28,30 +28,18 @@ public class UserController {
     }
 
     private void openRecords() {
-        animateTransition(() -> {
-            ManageRecordsView manageView = new ManageRecordsView();
-            ManageRecordsController manageController = new ManageRecordsController(manageView, stage);
-            return manageView.getScene().getRoot();
-        });
+        animateTransition(Navigator.Screen.RECORDS);
     }
 
     private void openTransactions() {
-        animateTransition(() -> {
-            ManageTransactionsView manageTransView = new ManageTransactionsView(stage);
-            ManageTransactionsController manageTransController = new ManageTransactionsController(manageTransView, stage);
-            return manageTransView.getScene().getRoot();
-        });
+        animateTransition(Navigator.Screen.TRANSACTIONS);
     }
 
     private void openReports() {
-        animateTransition(() -> {
-            ManageReportsView reportsView = new ManageReportsView(stage);
-            ManageReportsController reportsController = new ManageReportsController(reportsView, stage);
-            return reportsView.getScene().getRoot();
-        });
+        animateTransition(Navigator.Screen.REPORTS);
     }
 
-    private void animateTransition(SceneProvider sceneProvider) {
+    private void animateTransition(Navigator.Screen target) {
         // Get the entire scene root to zoom the whole UserView
         Node sceneRoot = view.records.getScene().getRoot();
 
@@ -96,10 +84,6 @@ public class UserController {
             fadeOut.setToValue(0.0);
 
             fadeOut.setOnFinished(fadeEvent -> {
-                // Get the new scene
-                Node newSceneRoot = sceneProvider.getNewSceneRoot();
-                Scene newScene = newSceneRoot.getScene();
-
                 // Reset transformations on old scene root before switching
                 sceneRoot.setScaleX(1.0);
                 sceneRoot.setScaleY(1.0);
@@ -107,8 +91,9 @@ public class UserController {
                 sceneRoot.setTranslateY(0);
                 sceneRoot.setOpacity(1.0);
 
-                // Set the new scene on the stage
-                stage.setScene(newScene);
+                // Set the new scene on the stage (built once, reused afterwards)
+                Scene newScene = Navigator.go(target);
+                Node newSceneRoot = newScene.getRoot();
 
                 // Create fade in for the new scene
                 newSceneRoot.setOpacity(0.0); // Start invisible
@@ -123,9 +108,4 @@ public class UserController {
 
         sequence.play();
     }
-
-    @FunctionalInterface
-    private interface SceneProvider {
-        Node getNewSceneRoot();
-    }
 }
\ No newline at end of file
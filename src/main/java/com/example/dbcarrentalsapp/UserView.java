@@ -28,7 +28,7 @@ public class UserView {
         StackPane stackPane = new StackPane();
 
         // background image
-        Image image = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/dashboard.png"));
+        Image image = ImageCache.background("/com/example/dbcarrentalsapp/dashboard.png");
         ImageView imageView = new ImageView(image);
         imageView.setFitWidth(1152);
         imageView.setFitHeight(761);
@@ -0,0 +1,360 @@
+package com.example.dbcarrentalsapp;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * In-memory violation cube for fleet analytics (damage and cleaning hotspots).
+ *
+ * Every violation is folded once into a cell keyed by branch, brand, model, model year,
+ * mileage band, violation type and month; a cell only holds a count and a penalty sum.
+ * Dimension values are dictionary encoded, so a cell key is a short array of ints and the
+ * whole history fits in a small map. Slice-and-dice queries filter and regroup the cells
+ * without touching the raw tables. The violations report shows {@link #hotspots}.
+ *
+ * Like {@link CompanyRevenueLedger}, the cube advances incrementally: each query first
+ * folds in the violations numbered after the last one seen, looked up by primary key
+ * between that number and the top of violation_id_sequence. Violation edits and deletes,
+ * rental changes, car edits (brand, model, year, mileage) and branch renames call
+ * {@link #invalidate()} so the next query rebuilds from scratch with current labels.
+ */
+public class ViolationAnalyticsEngine {
+
+    /**
+     * The axes a query can filter on and group by.
+     */
+    public enum Dimension { BRANCH, BRAND, MODEL, MODEL_YEAR, MILEAGE_BAND, TYPE, MONTH }
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    private static final int[] MILEAGE_BREAKS = {20_000, 50_000, 100_000};
+    private static final String[] MILEAGE_BANDS = {
+            "< 20,000 km", "20,000 - 49,999 km", "50,000 - 99,999 km", "100,000+ km"
+    };
+
+    private static final String FACT_SQL = """
+        SELECT v.violation_id, v.violation_type, v.violation_penalty_fee, v.violation_timestamp,
+               b.branch_name, c.car_brand, c.car_model, c.car_year_manufactured, c.car_mileage
+        FROM violation_details v
+        JOIN rental_details r ON r.rental_id = v.violation_rental_id
+        JOIN car_record c ON c.car_plate_number = r.rental_car_plate_number
+        JOIN branch_record b ON b.branch_id = r.rental_branch_id
+        """;
+
+    private static final int IDS_PER_QUERY = 500;   // primary keys bound per incremental query
+
+    // Per-dimension dictionaries: code -> label and label -> code
+    private static final List<List<String>> labels = new ArrayList<>();
+    private static final List<Map<String, Integer>> codes = new ArrayList<>();
+
+    private static final Map<Key, Cell> cells = new HashMap<>();
+    private static long watermark = 0;                     // highest violation number folded in
+    private static boolean valid = false;
+
+    static {
+        for (Dimension ignored : DIMENSIONS) {
+            labels.add(new ArrayList<>());
+            codes.add(new HashMap<>());
+        }
+    }
+
+    // ============================
+    // 1. QUERY TYPES
+    // ============================
+
+    /**
+     * Dictionary codes of a cell (one per dimension) or of a result group (one per group-by).
+     */
+    private static final class Key {
+        final int[] codes;
+        private final int hash;
+
+        Key(int[] codes) {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Arrays.equals(codes, other.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Accumulated count and penalty total of one cell (or one result group).
+     */
+    private static class Cell {
+        int count;
+        long penaltyCents;
+
+        void add(int count, long penaltyCents) {
+            this.count += count;
+            this.penaltyCents += penaltyCents;
+        }
+    }
+
+    /**
+     * Restricts a query to some values per dimension and to a month range.
+     * An empty filter selects everything.
+     */
+    public static class Filter {
+        private final Map<Dimension, Set<String>> values = new EnumMap<>(Dimension.class);
+        private YearMonth from;
+        private YearMonth to;
+
+        /** Keeps only cells whose value on the dimension is one of the given values. */
+        public Filter where(Dimension dimension, String... allowed) {
+            values.computeIfAbsent(dimension, d -> new HashSet<>()).addAll(Arrays.asList(allowed));
+            return this;
+        }
+
+        /** Keeps only months in [from, to]; either bound may be null. */
+        public Filter between(YearMonth from, YearMonth to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+    }
+
+    /**
+     * One group of a slice: its labels (in group-by order), count and penalty total.
+     */
+    public static class Row {
+        private final List<String> labels;
+        private final int count;
+        private final double penaltyTotal;
+
+        Row(List<String> labels, int count, double penaltyTotal) {
+            this.labels = labels;
+            this.count = count;
+            this.penaltyTotal = penaltyTotal;
+        }
+
+        public List<String> getLabels() { return labels; }
+        public int getCount() { return count; }
+        public double getPenaltyTotal() { return penaltyTotal; }
+
+        @Override
+        public String toString() {
+            return String.join(" / ", labels) + ": " + count + String.format(" (₱%.2f)", penaltyTotal);
+        }
+    }
+
+    // ============================
+    // 2. QUERIES
+    // ============================
+
+    /**
+     * Filters the cube and regroups it by the given dimensions.
+     *
+     * @param filter which cells to include
+     * @param groupBy dimensions of the result rows; none gives a single total row
+     * @return rows ordered by count, then penalty total, descending
+     * @throws SQLException If the incremental refresh fails
+     */
+    public static synchronized List<Row> slice(Filter filter, Dimension... groupBy) throws SQLException {
+        refresh();
+
+        BitSet[] allowed = allowedCodes(filter);
+        Map<Key, Cell> groups = new HashMap<>();
+
+        for (Map.Entry<Key, Cell> entry : cells.entrySet()) {
+            int[] codes = entry.getKey().codes;
+            if (!matches(codes, allowed)) continue;
+
+            int[] groupCodes = new int[groupBy.length];
+            for (int i = 0; i < groupBy.length; i++) {
+                groupCodes[i] = codes[groupBy[i].ordinal()];
+            }
+            Cell cell = entry.getValue();
+            groups.computeIfAbsent(new Key(groupCodes), k -> new Cell()).add(cell.count, cell.penaltyCents);
+        }
+
+        List<Row> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<Key, Cell> entry : groups.entrySet()) {
+            List<String> rowLabels = new ArrayList<>(groupBy.length);
+            int[] groupCodes = entry.getKey().codes;
+            for (int i = 0; i < groupBy.length; i++) {
+                rowLabels.add(labels.get(groupBy[i].ordinal()).get(groupCodes[i]));
+            }
+            rows.add(new Row(rowLabels, entry.getValue().count, entry.getValue().penaltyCents / 100.0));
+        }
+
+        rows.sort(Comparator.comparingInt(Row::getCount)
+                .thenComparingDouble(Row::getPenaltyTotal)
+                .reversed());
+        return rows;
+    }
+
+    /**
+     * Damage and cleaning incidents per car model and branch over a month range.
+     */
+    public static List<Row> hotspots(YearMonth from, YearMonth to) throws SQLException {
+        return slice(new Filter()
+                        .where(Dimension.TYPE, "Car Damage", "Cleaning Fee")
+                        .between(from, to),
+                Dimension.MODEL, Dimension.BRANCH);
+    }
+
+    // ============================
+    // 3. MAINTENANCE
+    // ============================
+
+    /**
+     * Forces the next query to rebuild the cube from every violation.
+     */
+    public static synchronized void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Invalidates only if a newly inserted violation is numbered at or below the watermark,
+     * i.e. it would be skipped by the incremental advance.
+     */
+    public static synchronized void invalidateIfBefore(String violationId) {
+        if (valid && violationId != null && numberOf(violationId) <= watermark) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Folds in violations added since the last refresh, or rebuilds after an invalidation.
+     */
+    private static void refresh() throws SQLException {
+        if (!valid) {
+            cells.clear();
+            for (int i = 0; i < DIMENSIONS.length; i++) {
+                labels.get(i).clear();
+                codes.get(i).clear();
+            }
+            watermark = 0;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            if (watermark == 0) {
+                // Rebuild: every violation is needed anyway
+                try (PreparedStatement stmt = conn.prepareStatement(FACT_SQL)) {
+                    fold(stmt.executeQuery());
+                }
+            } else {
+                // Only ids above the watermark, each an index lookup; none if nothing was allocated
+                long last = IdSequence.peek(conn, "violation_id_sequence", "VIOLATION") - 1;
+                for (long from = watermark + 1; from <= last; from += IDS_PER_QUERY) {
+                    int count = (int) Math.min(IDS_PER_QUERY, last - from + 1);
+                    String sql = FACT_SQL + "WHERE v.violation_id IN ("
+                            + String.join(", ", Collections.nCopies(count, "?")) + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        for (int i = 0; i < count; i++) {
+                            stmt.setString(i + 1, ViolationDAO.formatId((int) (from + i)));
+                        }
+                        fold(stmt.executeQuery());
+                    }
+                }
+            }
+        }
+
+        valid = true;
+    }
+
+    /**
+     * Adds the fact rows to their cells and raises the watermark to the highest number seen.
+     */
+    private static void fold(ResultSet rs) throws SQLException {
+        long highest = watermark;
+        while (rs.next()) {
+            YearMonth month = YearMonth.from(rs.getTimestamp("violation_timestamp").toLocalDateTime());
+            String brand = rs.getString("car_brand");
+
+            int[] key = new int[DIMENSIONS.length];
+            key[Dimension.BRANCH.ordinal()] = encode(Dimension.BRANCH, rs.getString("branch_name"));
+            key[Dimension.BRAND.ordinal()] = encode(Dimension.BRAND, brand);
+            key[Dimension.MODEL.ordinal()] = encode(Dimension.MODEL, brand + " " + rs.getString("car_model"));
+            key[Dimension.MODEL_YEAR.ordinal()] =
+                    encode(Dimension.MODEL_YEAR, String.valueOf(rs.getInt("car_year_manufactured")));
+            key[Dimension.MILEAGE_BAND.ordinal()] =
+                    encode(Dimension.MILEAGE_BAND, mileageBand(rs.getInt("car_mileage")));
+            key[Dimension.TYPE.ordinal()] = encode(Dimension.TYPE, rs.getString("violation_type"));
+            key[Dimension.MONTH.ordinal()] = encode(Dimension.MONTH, month.toString());
+
+            long cents = rs.getBigDecimal("violation_penalty_fee").movePointRight(2).longValue();
+            cells.computeIfAbsent(new Key(key), k -> new Cell()).add(1, cents);
+
+            highest = Math.max(highest, numberOf(rs.getString("violation_id")));
+        }
+        watermark = highest;
+    }
+
+    // ============================
+    // 4. ENCODING HELPERS
+    // ============================
+
+    private static int encode(Dimension dimension, String label) {
+        int d = dimension.ordinal();
+        Integer code = codes.get(d).get(label);
+        if (code == null) {
+            code = labels.get(d).size();
+            codes.get(d).put(label, code);
+            labels.get(d).add(label);
+        }
+        return code;
+    }
+
+    private static boolean matches(int[] codes, BitSet[] allowed) {
+        for (int d = 0; d < allowed.length; d++) {
+            if (allowed[d] != null && !allowed[d].get(codes[d])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Turns the filter's labels into per-dimension code sets; null means unrestricted.
+     */
+    private static BitSet[] allowedCodes(Filter filter) {
+        BitSet[] allowed = new BitSet[DIMENSIONS.length];
+
+        for (Map.Entry<Dimension, Set<String>> entry : filter.values.entrySet()) {
+            int d = entry.getKey().ordinal();
+            allowed[d] = new BitSet();
+            for (String label : entry.getValue()) {
+                Integer code = codes.get(d).get(label);
+                if (code != null) allowed[d].set(code);
+            }
+        }
+
+        if (filter.from != null || filter.to != null) {
+            int d = Dimension.MONTH.ordinal();
+            BitSet months = new BitSet();
+            List<String> monthLabels = labels.get(d);
+            for (int code = 0; code < monthLabels.size(); code++) {
+                YearMonth month = YearMonth.parse(monthLabels.get(code));
+                if ((filter.from == null || !month.isBefore(filter.from))
+                        && (filter.to == null || !month.isAfter(filter.to))
+                        && (allowed[d] == null || allowed[d].get(code))) {
+                    months.set(code);
+                }
+            }
+            allowed[d] = months;
+        }
+        return allowed;
+    }
+
+    private static String mileageBand(int mileage) {
+        int band = 0;
+        while (band < MILEAGE_BREAKS.length && mileage >= MILEAGE_BREAKS[band]) band++;
+        return MILEAGE_BANDS[band];
+    }
+
+    private static long numberOf(String violationId) {
+        try {
+            return Long.parseLong(violationId.substring(Math.min(3, violationId.length())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
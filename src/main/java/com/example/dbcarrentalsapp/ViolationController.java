@@ -1,18 +1,24 @@
 package com.example.dbcarrentalsapp;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.ViolationRecord;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -24,13 +30,28 @@ public class ViolationController {
     private final ViolationView view;
     private final Stage stage;
     private final ViolationDAO violationDAO;
-    private ObservableList<ViolationRecord> masterList;
+    private final PagedTableSource<ViolationRecord> violations;
 
     public ViolationController(ViolationView view, Stage stage) {
         this.view = view;
         this.stage = stage;
         this.violationDAO = new ViolationDAO();
 
+        // Table rows are fetched page by page, ordered by violation ID
+        this.violations = new PagedTableSource<>(view.tableView, "violation_details", "violation_id",
+                "violation_id", false, violationDAO::mapResultSetToViolationRecord,
+                "violation_id", "violation_rental_id", "violation_type", "violation_reason")
+                .fullText("violation_search_text")
+                .sortable("Violation ID", "violation_id")
+                .sortable("Rental ID", "violation_rental_id")
+                .sortable("Staff ID", "violation_staff_id")
+                .sortable("Type", "violation_type")
+                .sortable("Penalty", "violation_penalty_fee")
+                .sortable("Duration", "violation_duration_hours")
+                .sortable("Time", "violation_timestamp")
+                .lockUnmappedColumns()
+                .follow(TableChanges.VIOLATIONS);   // writes are patched in, no reload
+
         loadViolations();
         setupActions();
         checkForOverdueRentals();
@@ -38,14 +59,12 @@ public class ViolationController {
 
     private void setupActions() {
         // Navigation and basic CRUD actions
-        view.returnButton.setOnAction(e -> {
-            ManageTransactionsView manageView = new ManageTransactionsView(stage);
-            new ManageTransactionsController(manageView, stage);
-            stage.setScene(manageView.getScene());
-        });
+        view.returnButton.setOnAction(e -> Navigator.go(Navigator.Screen.TRANSACTIONS));
+
+        view.exportButton.setOnAction(e -> ExportDialog.exportSource(stage, TableExporter.Source.VIOLATIONS));
 
         view.addButton.setOnAction(e ->
-                view.showAddViolationPopup(violationDAO, this::loadViolations)
+                view.showAddViolationPopup(violationDAO)
         );
 
         view.modifyButton.setOnAction(e -> {
@@ -54,15 +73,16 @@ public class ViolationController {
                 view.showSuccessPopup("No Selection", "Please select a violation to modify.");
                 return;
             }
-            view.showModifyViolationPopup(violationDAO, selected, this::loadViolations);
+            view.showModifyViolationPopup(violationDAO, selected);
         });
 
         view.filterButton.setOnAction(e -> applyFilter());
         view.searchField.setOnAction(e -> applyFilter());
+        DebouncedSearch.attach(view.searchField, violations::setFilter);
 
         // Automated processing actions
         view.processReturnButton.setOnAction(e ->
-                view.showProcessReturnPopup(violationDAO, this::loadViolations)
+                view.showProcessReturnPopup(violationDAO)
         );
 
         view.generateReceiptButton.setOnAction(e -> {
@@ -75,6 +95,194 @@ public class ViolationController {
         });
 
         view.checkOverdueButton.setOnAction(e -> checkForOverdueRentals());
+        view.repriceButton.setOnAction(e -> repriceViolations());
+        view.importButton.setOnAction(e -> importCitations());
+        view.recomputeButton.setOnAction(e -> recomputeLatePenalties());
+    }
+
+    /**
+     * Imports a CSV of traffic citations; rejected rows go to a report next to the file.
+     * Only Operations staff are offered, and each citation is only accepted for a rental
+     * of the chosen staff member's own branch.
+     */
+    private void importCitations() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Traffic Citations");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) return;
+
+        List<String> staffIds;
+        try {
+            StaffEligibilityCache eligibility = StaffEligibilityCache.get();
+            staffIds = violationDAO.getAllStaffIds().stream()
+                    .filter(id -> StaffEligibilityCache.OPERATIONS_DEPARTMENT.equals(eligibility.departmentOf(id)))
+                    .toList();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            view.showSuccessPopup("Error", "Failed to load staff: " + ex.getMessage());
+            return;
+        }
+        if (staffIds.isEmpty()) {
+            view.showSuccessPopup("Import Traffic Citations", "No Operations staff found to record the citations.");
+            return;
+        }
+
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(staffIds.get(0), staffIds);
+        dialog.setTitle("Import Traffic Citations");
+        dialog.setHeaderText("Record the citations as entered by:");
+        dialog.setContentText("Staff ID:");
+
+        dialog.showAndWait().ifPresent(staffId -> new Thread(() -> {
+            try {
+                CitationImporter.ImportResult result = new CitationImporter().importFile(file.toPath(), staffId);
+
+                String message = result.getImported() + " citation(s) imported.";
+                if (!result.getErrors().isEmpty()) {
+                    File report = new File(file.getParentFile(), file.getName() + ".errors.csv");
+                    result.writeErrorReport(report.toPath());
+                    message += "\n" + result.getErrors().size() + " row(s) rejected, see " + report.getName();
+                }
+
+                String summary = message;
+                Platform.runLater(() -> view.showSuccessPopup("Import Complete", summary));
+            } catch (SQLException | IOException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() ->
+                        view.showSuccessPopup("Error", "Failed to import citations: " + ex.getMessage()));
+            }
+        }).start());
+    }
+
+    /**
+     * Re-bills the violations of a tariff-priced type against the current penalty_tariff
+     * rows: a dry run first, then apply the reviewed fees. Manually priced types are not offered.
+     */
+    private void repriceViolations() {
+        List<String> types = PenaltyRuleEngine.TARIFF_PRICED_TYPES;
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(types.get(0), types);
+        dialog.setTitle("Re-price Violations");
+        dialog.setHeaderText("Apply current tariffs to all violations of type:");
+        dialog.setContentText("Type:");
+
+        dialog.showAndWait().ifPresent(type -> new Thread(() -> {
+            try {
+                List<ViolationDAO.FeeChange> preview = violationDAO.previewReprice(
+                        type, CompanyRevenueLedger.COMPANY_ESTABLISHED, LocalDate.now());
+                Platform.runLater(() -> confirmReprice(type, preview));
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() ->
+                        view.showSuccessPopup("Error", "Failed to re-price violations: " + ex.getMessage()));
+            }
+        }).start());
+    }
+
+    private void confirmReprice(String type, List<ViolationDAO.FeeChange> preview) {
+        if (preview.isEmpty()) {
+            view.showSuccessPopup("Re-price Violations", "All " + type + " fees already match the current tariffs.");
+            return;
+        }
+
+        double delta = 0;
+        for (ViolationDAO.FeeChange c : preview) delta += c.getNewFee() - c.getOldFee();
+
+        Alert dialog = new Alert(Alert.AlertType.CONFIRMATION, "", ButtonType.OK, ButtonType.CANCEL);
+        dialog.setTitle("Re-price Violations");
+        dialog.setHeaderText("Dry run over " + type + " violations");
+        dialog.setContentText(String.format("Fees to change: %d (net ₱%.2f)%nApply the new fees?",
+                preview.size(), delta));
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+
+        new Thread(() -> {
+            try {
+                int changed = violationDAO.applyReprice(preview);
+                String message = changed + " violation fee(s) updated.";
+                if (changed < preview.size()) {
+                    message += "\n" + (preview.size() - changed) + " changed since the dry run and were left alone.";
+                }
+                String summary = message;
+                Platform.runLater(() -> view.showSuccessPopup("Re-price Complete", summary));
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() ->
+                        view.showSuccessPopup("Error", "Re-price failed and was rolled back: " + ex.getMessage()));
+            }
+        }).start();
+    }
+
+    /**
+     * Audits all Late Return violations: a dry run first, then apply or save the diff
+     */
+    private void recomputeLatePenalties() {
+        view.recomputeButton.setDisable(true);
+        new Thread(() -> {
+            try {
+                LatePenaltyRecomputeJob.Result preview = new LatePenaltyRecomputeJob().run(true);
+                Platform.runLater(() -> confirmRecompute(preview));
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() ->
+                        view.showSuccessPopup("Error", "Failed to recompute late fees: " + ex.getMessage()));
+            } finally {
+                Platform.runLater(() -> view.recomputeButton.setDisable(false));
+            }
+        }).start();
+    }
+
+    private void confirmRecompute(LatePenaltyRecomputeJob.Result preview) {
+        ButtonType apply = new ButtonType("Apply");
+        ButtonType saveDiff = new ButtonType("Save Diff...");
+
+        Alert dialog = new Alert(Alert.AlertType.CONFIRMATION, "", apply, saveDiff, ButtonType.CANCEL);
+        dialog.setTitle("Recompute Late Fees");
+        dialog.setHeaderText("Dry run over " + preview.getScanned() + " late return violation(s)");
+        dialog.setContentText(String.format("""
+                Fees or hours to change: %d (net ₱%.2f)
+                No longer late per rental record: %d (left unchanged)
+                No tariff on violation date: %d (left unchanged)""",
+                preview.getChanges().size(), preview.getTotalDelta(),
+                preview.getNoLongerLate().size(), preview.getUnpriced().size()));
+        if (preview.getChanges().isEmpty()) {
+            dialog.getDialogPane().lookupButton(apply).setDisable(true);
+        }
+
+        ButtonType choice = dialog.showAndWait().orElse(ButtonType.CANCEL);
+
+        if (choice == saveDiff) {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Save Late Fee Diff");
+            chooser.setInitialFileName("late-fee-diff-" + LocalDate.now() + ".csv");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+            File file = chooser.showSaveDialog(stage);
+            if (file == null) return;
+            try {
+                preview.writeDiff(file.toPath());
+                view.showSuccessPopup("Diff Saved", "Diff written to " + file.getName());
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                view.showSuccessPopup("Error", "Failed to write diff: " + ex.getMessage());
+            }
+        } else if (choice == apply) {
+            view.recomputeButton.setDisable(true);
+            new Thread(() -> {
+                try {
+                    // Exactly the reviewed diff; rows edited since the dry run are skipped
+                    List<LatePenaltyRecomputeJob.Change> applied =
+                            new LatePenaltyRecomputeJob().apply(preview.getChanges());
+                    int skipped = preview.getChanges().size() - applied.size();
+                    String message = applied.size() + " late return violation(s) updated."
+                            + (skipped > 0 ? "\n" + skipped + " changed since the dry run and were left alone." : "");
+                    Platform.runLater(() -> view.showSuccessPopup("Recompute Complete", message));
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                    Platform.runLater(() -> view.showSuccessPopup("Error",
+                            "Recompute failed and was rolled back: " + ex.getMessage()));
+                } finally {
+                    Platform.runLater(() -> view.recomputeButton.setDisable(false));
+                }
+            }).start();
+        }
     }
 
     /**
@@ -120,8 +328,6 @@ public class ViolationController {
                         "Car returned successfully and marked as available.\nNo violations detected.");
             }
 
-            loadViolations();
-
         } catch (SQLException e) {
             e.printStackTrace();
             view.showSuccessPopup("Error", "Failed to process car return: " + e.getMessage());
@@ -200,44 +406,18 @@ public class ViolationController {
     }
 
     /**
-     * Loads violations from database and populates the table
+     * Reloads the violation table from its first page, keeping order and search text
      */
     public void loadViolations() {
-        try {
-            List<ViolationRecord> violations = violationDAO.getAllViolations();
-            masterList = FXCollections.observableArrayList(violations);
-            view.tableView.setItems(masterList);
-            sortByViolationId();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            view.showSuccessPopup("Database Error", "Failed to load violations.");
-        }
+        violations.reload();
     }
 
     /**
      * Applies filter to table based on search field text
-     * Filters by violation ID, rental ID, type, or reason
+     * Filters on the server by violation ID, rental ID, type, or reason
      */
     private void applyFilter() {
-        String filterText = view.searchField.getText().toLowerCase().trim();
-
-        if (filterText.isEmpty()) {
-            view.tableView.setItems(masterList);
-            sortByViolationId();
-            return;
-        }
-
-        ObservableList<ViolationRecord> filteredList = masterList.filtered(record -> {
-            boolean matchId = record.getViolationId().toLowerCase().contains(filterText);
-            boolean matchRentalId = record.getRentalId().toLowerCase().contains(filterText);
-            boolean matchType = record.getViolationType().toLowerCase().contains(filterText);
-            boolean matchReason = record.getReason().toLowerCase().contains(filterText);
-
-            return matchId || matchRentalId || matchType || matchReason;
-        });
-
-        view.tableView.setItems(filteredList);
-        sortByViolationId();
+        violations.setFilter(view.searchField.getText());
     }
 
     /**
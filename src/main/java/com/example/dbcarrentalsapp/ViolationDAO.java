@@ -2,11 +2,18 @@ package com.example.dbcarrentalsapp;
 
 import model.ViolationRecord;
 import model.RentalDetails;
+import model.ReturnRecord;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for violation-related database operations
@@ -14,12 +21,10 @@ import java.util.List;
  */
 public class ViolationDAO {
 
-    // Penalty rates configuration
-    private static final double RATE_FIRST_6_HOURS = 50.0;
-    private static final double RATE_AFTER_6_HOURS = 100.0;
-    private static final double DAMAGE_PENALTY_BASE = 200.0;
-    private static final double CLEANING_FEE = 75.0;
-    private static final double TRAFFIC_VIOLATION_FEE = 150.0;
+    // Penalty rates live in penalty_tariff, see PenaltyRuleEngine
+    private static final String LATE_RETURN = "Late Return";
+
+    private final ReceiptEngine receipts = new ReceiptEngine();
 
     /**
      * Checks if rental was returned late by comparing actual vs expected return datetime
@@ -71,83 +76,11 @@ public class ViolationDAO {
 
     /**
      * Calculates late return penalty based on rental duration
-     * Uses tiered pricing: ₱50/hour first 6 hours, ₱100/hour thereafter
+     * Uses the rental branch's current Late Return tariff
      */
     public double calculateLatePenalty(String rentalId) throws SQLException {
         int lateHours = calculateLateHours(rentalId);
-
-        if (lateHours <= 0) {
-            return 0.0;
-        }
-
-        double penalty = 0.0;
-
-        if (lateHours <= 6) {
-            penalty = lateHours * RATE_FIRST_6_HOURS;
-        } else {
-            penalty = (6 * RATE_FIRST_6_HOURS) + ((lateHours - 6) * RATE_AFTER_6_HOURS);
-        }
-
-        return penalty;
-    }
-
-    /**
-     * Automatically creates late return violation record if rental is late
-     * Updates existing late violation if one already exists for this rental
-     */
-    public ViolationRecord createAutomaticLateViolation(String rentalId, String staffId) throws SQLException {
-        if (!isLateReturn(rentalId)) {
-            return null;
-        }
-
-        int lateHours = calculateLateHours(rentalId);
-        double penalty = calculateLatePenalty(rentalId);
-
-        if (lateHours <= 0 || penalty <= 0) {
-            return null;
-        }
-
-        // Check if late violation already exists for this rental
-        String checkSql = "SELECT * FROM violation_details WHERE violation_rental_id = ? AND violation_type = 'Late Return'";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-
-            checkStmt.setString(1, rentalId);
-            ResultSet rs = checkStmt.executeQuery();
-
-            if (rs.next()) {
-                // Late violation already exists, update it
-                String updateSql = "UPDATE violation_details SET violation_penalty_fee = ?, violation_duration_hours = ?, violation_timestamp = ? WHERE violation_id = ?";
-                try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                    updateStmt.setDouble(1, penalty);
-                    updateStmt.setInt(2, lateHours);
-                    updateStmt.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
-                    updateStmt.setString(4, rs.getString("violation_id"));
-                    updateStmt.executeUpdate();
-                }
-                return getViolationById(rs.getString("violation_id"));
-            }
-        }
-
-        // Create new late violation
-        String violationId = generateNextViolationId();
-        String expectedTime = getExpectedReturnTime(rentalId);
-        String reason = String.format("Late return: %d hours overdue. Expected return: %s",
-                lateHours, expectedTime);
-
-        ViolationRecord violation = new ViolationRecord(
-                violationId,
-                rentalId,
-                staffId,
-                "Late Return",
-                penalty,
-                reason,
-                lateHours,
-                LocalDateTime.now()
-        );
-
-        addViolation(violation);
-        return violation;
+        return calculateLatePenaltyFromHours(lateHours, getRentalBranchId(rentalId));
     }
 
     /**
@@ -168,43 +101,170 @@ public class ViolationDAO {
     /**
      * Processes car return and updates relevant statuses
      * Validates staff permissions, updates car status, and creates violations
+     *
+     * Everything the return needs (rental, car, staff eligibility and any existing late
+     * violation) is read in one joined query that locks the rental while it is still
+     * ACTIVE; the car/rental update, the return record and the late violation are then
+     * written in one transaction. A new late violation takes its ID from
+     * violation_id_sequence; an existing one is updated by its ID.
      */
     public ViolationRecord processCarReturn(String rentalId, String staffId) throws SQLException {
-        // 1. Validate staff can process this return (same branch and operations department)
-        if (!validateStaffForViolation(staffId, rentalId)) {
-            throw new SQLException("Staff " + staffId + " cannot process return for rental " + rentalId +
-                    ". Staff must be from Operations department and same branch as rental.");
-        }
+        // Compiled tariffs are cached; load them before taking a connection
+        PenaltyRuleEngine tariffs = PenaltyRuleEngine.get();
+
+        String readSql = """
+            SELECT rd.rental_car_plate_number,
+                   rd.rental_branch_id,
+                   rd.rental_expected_return_datetime,
+                   NOW() AS returned_at,
+                   EXISTS (
+                       SELECT 1
+                       FROM staff_record sr
+                       JOIN job_record jr ON sr.staff_job_id = jr.job_id
+                       WHERE sr.staff_id = ?
+                         AND sr.staff_branch_id = rd.rental_branch_id
+                         AND jr.job_department_id = 'DEPT_OPS'
+                   ) AS staff_eligible,
+                   (
+                       SELECT v.violation_id
+                       FROM violation_details v
+                       WHERE v.violation_rental_id = rd.rental_id AND v.violation_type = 'Late Return'
+                       LIMIT 1
+                   ) AS late_violation_id
+            FROM rental_details rd
+            WHERE rd.rental_id = ?
+              AND rd.rental_status = 'ACTIVE'
+            FOR UPDATE
+            """;
 
-        // 2. Get car plate number from rental
-        String carSql = "SELECT rental_car_plate_number, rental_branch_id FROM rental_details WHERE rental_id = ?";
-        String carPlateNumber = null;
-        String rentalBranchId = null;
+        // Car and rental in one multi-table update
+        String returnSql = """
+            UPDATE rental_details rd
+            JOIN car_record c ON c.car_plate_number = rd.rental_car_plate_number
+            SET c.car_status = 'Available',
+                rd.rental_status = 'COMPLETED',
+                rd.rental_staff_id_return = ?,
+                rd.rental_actual_return_datetime = ?
+            WHERE rd.rental_id = ?
+            """;
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(carSql)) {
+        // New late violation, or refresh the one already recorded for this rental
+        String insertLateSql = """
+            INSERT INTO violation_details (
+                violation_id, violation_rental_id, violation_staff_id, violation_type,
+                violation_penalty_fee, violation_reason, violation_duration_hours, violation_timestamp
+            ) VALUES (?, ?, ?, 'Late Return', ?, ?, ?, ?)
+            """;
+        String refreshLateSql = """
+            UPDATE violation_details
+            SET violation_penalty_fee = ?, violation_reason = ?,
+                violation_duration_hours = ?, violation_timestamp = ?
+            WHERE violation_id = ?
+            """;
 
-            stmt.setString(1, rentalId);
-            ResultSet rs = stmt.executeQuery();
+        ViolationRecord lateViolation = null;
+        boolean refreshedExisting = false;
 
-            if (rs.next()) {
-                carPlateNumber = rs.getString("rental_car_plate_number");
-                rentalBranchId = rs.getString("rental_branch_id");
-            }
-        }
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-        if (carPlateNumber == null) {
-            throw new SQLException("Car not found for rental: " + rentalId);
-        }
+            try (PreparedStatement read = conn.prepareStatement(readSql);
+                 PreparedStatement ret = conn.prepareStatement(returnSql)) {
 
-        // 3. Update car status to Available
-        updateCarStatus(carPlateNumber, "Available");
+                // 1. One joined read
+                read.setString(1, staffId);
+                read.setString(2, rentalId);
+                ResultSet rs = read.executeQuery();
 
-        // 4. Update rental status to Completed with current timestamp
-        updateRentalStatus(rentalId, "COMPLETED", staffId);
+                if (!rs.next()) {
+                    throw new SQLException("Rental " + rentalId + " is not active; it may already have been returned.");
+                }
+                if (rs.getString("rental_car_plate_number") == null) {
+                    throw new SQLException("Car not found for rental: " + rentalId);
+                }
+                if (!rs.getBoolean("staff_eligible")) {
+                    throw new SQLException("Staff " + staffId + " cannot process return for rental " + rentalId +
+                            ". Staff must be from Operations department and same branch as rental.");
+                }
+
+                String branchId = rs.getString("rental_branch_id");
+                Timestamp expected = rs.getTimestamp("rental_expected_return_datetime");
+                Timestamp returnedAt = rs.getTimestamp("returned_at");
+                String existingLateId = rs.getString("late_violation_id");
+
+                // 2. Car + rental
+                ret.setString(1, staffId);
+                ret.setTimestamp(2, returnedAt);
+                ret.setString(3, rentalId);
+                ret.executeUpdate();
+                new ReturnDAO().addReturn(conn, new ReturnRecord(null, rentalId, staffId));
+                RenterProfileDAO.recordCompletion(conn, rentalId);
+
+                // 3. Late violation, priced in memory
+                int lateHours = 0;
+                if (expected != null && returnedAt.after(expected)) {
+                    long diffMillis = returnedAt.getTime() - expected.getTime();
+                    lateHours = (int) Math.ceil(diffMillis / (1000.0 * 60 * 60)); // Convert to hours, round up
+                }
+
+                double penalty = lateHours > 0
+                        ? tariffs.price(LATE_RETURN, branchId, returnedAt.toLocalDateTime().toLocalDate(), lateHours)
+                        : 0.0;
+
+                if (lateHours > 0 && !Double.isNaN(penalty) && penalty > 0) {
+                    String reason = String.format("Late return: %d hours overdue. Expected return: %s",
+                            lateHours, formatTimestamp(expected));
+                    String violationId;
+
+                    if (existingLateId != null) {
+                        violationId = existingLateId;
+                        try (PreparedStatement late = conn.prepareStatement(refreshLateSql)) {
+                            late.setDouble(1, penalty);
+                            late.setString(2, reason);
+                            late.setInt(3, lateHours);
+                            late.setTimestamp(4, returnedAt);
+                            late.setString(5, violationId);
+                            late.executeUpdate();
+                        }
+                    } else {
+                        violationId = formatId(allocateIds(conn, 1));
+                        try (PreparedStatement late = conn.prepareStatement(insertLateSql)) {
+                            late.setString(1, violationId);
+                            late.setString(2, rentalId);
+                            late.setString(3, staffId);
+                            late.setDouble(4, penalty);
+                            late.setString(5, reason);
+                            late.setInt(6, lateHours);
+                            late.setTimestamp(7, returnedAt);
+                            late.executeUpdate();
+                        }
+                        RenterProfileDAO.recordViolation(conn, rentalId, LATE_RETURN, penalty,
+                                returnedAt.toLocalDateTime());
+                    }
+
+                    lateViolation = new ViolationRecord(
+                            violationId, rentalId, staffId, LATE_RETURN,
+                            penalty, reason, lateHours, returnedAt.toLocalDateTime());
+                    refreshedExisting = existingLateId != null;
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
 
-        // 5. Check for and create late return violation
-        ViolationRecord lateViolation = createAutomaticLateViolation(rentalId, staffId);
+        if (refreshedExisting) {
+            CompanyRevenueLedger.invalidate();   // an already counted fee changed
+            ViolationAnalyticsEngine.invalidate();
+            RenterProfileDAO.rebuildForRentals(List.of(rentalId));
+        }
+        TableChanges.RENTALS.changed(rentalId);
+        if (lateViolation != null) TableChanges.VIOLATIONS.changed(lateViolation.getViolationId());
 
         // Return the late violation if created, otherwise return null
         // The controller will handle displaying ALL violations
@@ -231,127 +291,13 @@ public class ViolationDAO {
         return violations;
     }
 
-    /**
-     * Updates rental status and sets return staff and actual return datetime
-     */
-    private void updateRentalStatus(String rentalId, String status, String staffId) throws SQLException {
-        String sql = "UPDATE rental_details SET rental_status = ?, rental_staff_id_return = ?, rental_actual_return_datetime = NOW() WHERE rental_id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, status);
-            stmt.setString(2, staffId);
-            stmt.setString(3, rentalId);
-            stmt.executeUpdate();
-        }
-    }
-
     /**
      * Generates detailed receipt for rental including all violations and penalties
      */
     public String generateRentalReceipt(String rentalId) throws SQLException {
-        StringBuilder receipt = new StringBuilder();
-
-        // Get rental details
-        String rentalSql = """
-                SELECT rd.*, cr.car_model, cr.car_rental_fee, cr.car_plate_number,
-                sr.staff_first_name as pickup_staff_first_name, sr.staff_last_name as pickup_staff_last_name,
-                sr2.staff_first_name as return_staff_first_name, sr2.staff_last_name as return_staff_last_name,
-                rr.renter_first_name, rr.renter_last_name, rr.renter_phone_number
-                FROM rental_details rd
-                JOIN car_record cr ON rd.rental_car_plate_number = cr.car_plate_number
-                LEFT JOIN staff_record sr ON rd.rental_staff_id_pickup = sr.staff_id
-                LEFT JOIN staff_record sr2 ON rd.rental_staff_id_return = sr2.staff_id
-                JOIN renter_record rr ON rd.rental_renter_dl_number = rr.renter_dl_number
-                WHERE rd.rental_id = ?
-            """;
-
-        // Get violation details
-        String violationSql = """
-            SELECT * FROM violation_details 
-            WHERE violation_rental_id = ? 
-            ORDER BY violation_timestamp
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement rentalStmt = conn.prepareStatement(rentalSql);
-             PreparedStatement violationStmt = conn.prepareStatement(violationSql)) {
-
-            // Rental details
-            rentalStmt.setString(1, rentalId);
-            ResultSet rentalRs = rentalStmt.executeQuery();
-
-            if (rentalRs.next()) {
-                receipt.append("=== CAR RENTAL RECEIPT ===\n\n");
-                receipt.append(String.format("Rental ID: %s\n", rentalRs.getString("rental_id")));
-
-                // Combine first and last name for customer name
-                String firstName = rentalRs.getString("renter_first_name");
-                String lastName = rentalRs.getString("renter_last_name");
-                receipt.append(String.format("Customer: %s %s\n", firstName, lastName));
-                receipt.append(String.format("Contact: %s\n", rentalRs.getString("renter_phone_number")));
-
-                receipt.append(String.format("Car: %s (%s)\n", rentalRs.getString("car_model"), rentalRs.getString("car_plate_number")));
-                receipt.append(String.format("Daily Rate: ₱%.2f\n", rentalRs.getDouble("car_rental_fee")));
-                receipt.append(String.format("Rental Date: %s\n", formatTimestamp(rentalRs.getTimestamp("rental_datetime"))));
-                receipt.append(String.format("Pickup Date: %s\n", formatTimestamp(rentalRs.getTimestamp("rental_actual_pickup_datetime"))));
-                receipt.append(String.format("Expected Return: %s\n", formatTimestamp(rentalRs.getTimestamp("rental_expected_return_datetime"))));
-                receipt.append(String.format("Actual Return: %s\n", formatTimestamp(rentalRs.getTimestamp("rental_actual_return_datetime"))));
-                receipt.append(String.format("Pickup Staff: %s %s\n",
-                        rentalRs.getString("pickup_staff_first_name"),
-                        rentalRs.getString("pickup_staff_last_name")));
-                receipt.append(String.format("Return Staff: %s %s\n",
-                        rentalRs.getString("return_staff_first_name"),
-                        rentalRs.getString("return_staff_last_name")));
-                receipt.append(String.format("Status: %s\n", rentalRs.getString("rental_status")));
-
-                double totalPayment = rentalRs.getDouble("rental_total_payment");
-                receipt.append(String.format("\nBase Rental Payment: ₱%.2f\n", totalPayment));
-            }
-
-            // Violation details
-            violationStmt.setString(1, rentalId);
-            ResultSet violationRs = violationStmt.executeQuery();
-
-            double totalViolationFees = 0.0;
-            boolean hasViolations = false;
-
-            while (violationRs.next()) {
-                if (!hasViolations) {
-                    receipt.append("\n--- VIOLATIONS AND PENALTIES ---\n");
-                    hasViolations = true;
-                }
-
-                String violationType = violationRs.getString("violation_type");
-                double penaltyFee = violationRs.getDouble("violation_penalty_fee");
-                String reason = violationRs.getString("violation_reason");
-                int duration = violationRs.getInt("violation_duration_hours");
-                Timestamp violationTime = violationRs.getTimestamp("violation_timestamp");
-
-                receipt.append(String.format("\n%s:\n", violationType));
-                receipt.append(String.format("  Recorded: %s\n", formatTimestamp(violationTime)));
-                receipt.append(String.format("  Reason: %s\n", reason));
-                if (duration > 0) {
-                    receipt.append(String.format("  Duration: %d hours\n", duration));
-                }
-                receipt.append(String.format("  Penalty: ₱%.2f\n", penaltyFee));
-
-                totalViolationFees += penaltyFee;
-            }
-
-            // Total calculation
-            double finalTotal = rentalRs.getDouble("rental_total_payment") + totalViolationFees;
-
-            receipt.append("\n--- PAYMENT SUMMARY ---\n");
-            receipt.append(String.format("Rental Amount: ₱%.2f\n", rentalRs.getDouble("rental_total_payment")));
-            receipt.append(String.format("Violation Fees: ₱%.2f\n", totalViolationFees));
-            receipt.append(String.format("TOTAL AMOUNT: ₱%.2f\n", finalTotal));
-            receipt.append("\nThank you for your business!\n");
-            receipt.append("=== END OF RECEIPT ===\n");
+        synchronized (receipts) {
+            return receipts.renderRental(rentalId);
         }
-
-        return receipt.toString();
     }
 
     /**
@@ -363,27 +309,15 @@ public class ViolationDAO {
         }
 
         int lateHours = calculateLateHours(rentalId);
-        double penalty = calculateLatePenalty(rentalId);
+        String branchId = getRentalBranchId(rentalId);
+        double penalty = calculateLatePenaltyFromHours(lateHours, branchId);
         String expectedTime = getExpectedReturnTime(rentalId);
 
-        StringBuilder receipt = new StringBuilder();
-        receipt.append("=== LATE RETURN NOTICE ===\n\n");
-        receipt.append(String.format("Rental ID: %s\n", rentalId));
-        receipt.append(String.format("Expected Return: %s\n", expectedTime));
-        receipt.append(String.format("Late Return Detected: %d hours overdue\n", lateHours));
-        receipt.append(String.format("Penalty Calculation:\n"));
-        if (lateHours <= 6) {
-            receipt.append(String.format("  %d hours × ₱%.2f/hour = ₱%.2f\n", lateHours, RATE_FIRST_6_HOURS, penalty));
-        } else {
-            receipt.append(String.format("  First 6 hours: 6 × ₱%.2f = ₱%.2f\n", RATE_FIRST_6_HOURS, 6 * RATE_FIRST_6_HOURS));
-            receipt.append(String.format("  Additional %d hours: %d × ₱%.2f = ₱%.2f\n",
-                    lateHours - 6, lateHours - 6, RATE_AFTER_6_HOURS, (lateHours - 6) * RATE_AFTER_6_HOURS));
-        }
-        receipt.append(String.format("Total Penalty Fee: ₱%.2f\n", penalty));
-        receipt.append("\nPlease pay the penalty fee at the rental counter.\n");
-        receipt.append("=== END OF NOTICE ===\n");
+        List<String> tiers = PenaltyRuleEngine.get().describe(LATE_RETURN, branchId, LocalDate.now(), lateHours);
 
-        return receipt.toString();
+        synchronized (receipts) {
+            return receipts.renderLateNotice(rentalId, expectedTime, lateHours, tiers, penalty);
+        }
     }
 
     /**
@@ -457,26 +391,37 @@ public class ViolationDAO {
     }
 
     /**
-     * Generates next sequential violation ID
+     * Reserves {@code count} consecutive violation numbers from violation_id_sequence.
+     * The sequence row stays locked until the caller's transaction ends, so returns,
+     * imports and manual entries can never draw the same number.
+     *
+     * @param conn connection with an open transaction
+     * @return the first reserved number
      */
-    public String generateNextViolationId() throws SQLException {
-        String sql = "SELECT violation_id FROM violation_details WHERE violation_id LIKE 'VLN%' ORDER BY violation_id DESC LIMIT 1";
+    static int allocateIds(Connection conn, int count) throws SQLException {
+        return IdSequence.allocate(conn, "violation_id_sequence", "VIOLATION", count);
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * @return the violation ID for an allocated number, e.g. "VLN042" or "VLN1042"
+     */
+    static String formatId(int number) {
+        return String.format("VLN%03d", number);
+    }
 
-            if (rs.next()) {
-                String lastId = rs.getString("violation_id");
-                int num = Integer.parseInt(lastId.substring(3)) + 1;
-                return String.format("VLN%03d", num);
-            }
+    /**
+     * The ID the next violation will probably get, for display before saving.
+     * {@link #addViolation} allocates the real one.
+     */
+    public String generateNextViolationId() throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return formatId(IdSequence.peek(conn, "violation_id_sequence", "VIOLATION"));
         }
-        return "VLN001";
     }
 
     /**
-     * Adds new violation record to database
+     * Adds new violation record to database. Its ID is allocated here from
+     * violation_id_sequence and set on the record, whatever it was before.
      */
     public void addViolation(ViolationRecord violation) throws SQLException {
         String sql = """
@@ -492,20 +437,36 @@ public class ViolationDAO {
         ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, violation.getViolationId());
-            stmt.setString(2, violation.getRentalId());
-            stmt.setString(3, violation.getStaffId());
-            stmt.setString(4, violation.getViolationType());
-            stmt.setDouble(5, violation.getPenaltyFee());
-            stmt.setString(6, violation.getReason());
-            stmt.setInt(7, violation.getDurationHours());
-            stmt.setTimestamp(8, Timestamp.valueOf(violation.getTimestamp()));
-
-            stmt.executeUpdate();
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                violation.setViolationId(formatId(allocateIds(conn, 1)));
+
+                stmt.setString(1, violation.getViolationId());
+                stmt.setString(2, violation.getRentalId());
+                stmt.setString(3, violation.getStaffId());
+                stmt.setString(4, violation.getViolationType());
+                stmt.setDouble(5, violation.getPenaltyFee());
+                stmt.setString(6, violation.getReason());
+                stmt.setInt(7, violation.getDurationHours());
+                stmt.setTimestamp(8, Timestamp.valueOf(violation.getTimestamp()));
+
+                stmt.executeUpdate();
+
+                RenterProfileDAO.recordViolation(conn, violation.getRentalId(), violation.getViolationType(),
+                        violation.getPenaltyFee(), violation.getTimestamp());
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         }
+
+        // A back-dated penalty would be skipped by the ledger's incremental advance
+        CompanyRevenueLedger.invalidateIfBefore(violation.getTimestamp());
+        ViolationAnalyticsEngine.invalidateIfBefore(violation.getViolationId());
+        TableChanges.VIOLATIONS.changed(violation.getViolationId());
     }
 
     /**
@@ -520,9 +481,15 @@ public class ViolationDAO {
             WHERE violation_id = ?
             """;
 
+        Set<String> affectedRentals = new HashSet<>();
+        affectedRentals.add(violation.getRentalId());
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            // The violation may be moving to another rental (and renter)
+            affectedRentals.add(rentalOfViolation(conn, violation.getViolationId()));
+
             stmt.setString(1, violation.getRentalId());
             stmt.setString(2, violation.getStaffId());
             stmt.setString(3, violation.getViolationType());
@@ -534,6 +501,21 @@ public class ViolationDAO {
 
             stmt.executeUpdate();
         }
+
+        CompanyRevenueLedger.invalidate();
+        ViolationAnalyticsEngine.invalidate();
+        affectedRentals.remove(null);
+        RenterProfileDAO.rebuildForRentals(affectedRentals);
+        TableChanges.VIOLATIONS.changed(violation.getViolationId());
+    }
+
+    private String rentalOfViolation(Connection conn, String violationId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT violation_rental_id FROM violation_details WHERE violation_id = ?")) {
+            stmt.setString(1, violationId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getString("violation_rental_id") : null;
+        }
     }
 
     /**
@@ -579,12 +561,24 @@ public class ViolationDAO {
     public boolean deleteViolation(String violationId) throws SQLException {
         String sql = "DELETE FROM violation_details WHERE violation_id = ?";
 
+        String rentalId;
+        boolean deleted;
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            rentalId = rentalOfViolation(conn, violationId);
             stmt.setString(1, violationId);
-            return stmt.executeUpdate() > 0;
+            deleted = stmt.executeUpdate() > 0;
         }
+
+        if (deleted) {
+            CompanyRevenueLedger.invalidate();
+            ViolationAnalyticsEngine.invalidate();
+            RenterProfileDAO.rebuildForRentals(List.of(rentalId));
+            TableChanges.VIOLATIONS.changed(violationId);
+        }
+        return deleted;
     }
 
     /**
@@ -628,23 +622,8 @@ public class ViolationDAO {
      * Staff must be from Operations department and same branch as rental
      */
     public boolean validateStaffForViolation(String staffId, String rentalId) throws SQLException {
-        String sql = """
-        SELECT sr.staff_id, sr.staff_branch_id, jr.job_department_id
-        FROM staff_record sr
-        JOIN job_record jr ON sr.staff_job_id = jr.job_id
-        JOIN rental_details rd ON rd.rental_id = ? AND rd.rental_branch_id = sr.staff_branch_id
-        WHERE sr.staff_id = ? AND jr.job_department_id = 'DEPT_OPS'
-        """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, rentalId);  // First parameter: rental_id in JOIN
-            stmt.setString(2, staffId);   // Second parameter: staff_id in WHERE
-            ResultSet rs = stmt.executeQuery();
-
-            return rs.next();
-        }
+        String branchId = getRentalBranchId(rentalId);
+        return StaffEligibilityCache.get().isEligible(staffId, branchId);
     }
 
     /**
@@ -667,32 +646,13 @@ public class ViolationDAO {
      * Gets Operations staff IDs for specified branch
      */
     public List<String> getOperationsStaffByBranch(String branchId) throws SQLException {
-        List<String> staffIds = new ArrayList<>();
-        String sql = """
-            SELECT sr.staff_id 
-            FROM staff_record sr
-            JOIN job_record jr ON sr.staff_job_id = jr.job_id
-            WHERE sr.staff_branch_id = ? AND jr.job_department_id = 'DEPT_OPS'
-            ORDER BY sr.staff_id
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, branchId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                staffIds.add(rs.getString("staff_id"));
-            }
-        }
-        return staffIds;
+        return new ArrayList<>(StaffEligibilityCache.get().operationsStaff(branchId));
     }
 
     /**
      * Maps database ResultSet to ViolationRecord object
      */
-    private ViolationRecord mapResultSetToViolationRecord(ResultSet rs) throws SQLException {
+    ViolationRecord mapResultSetToViolationRecord(ResultSet rs) throws SQLException {
         Timestamp timestamp = rs.getTimestamp("violation_timestamp");
 
         return new ViolationRecord(
@@ -734,19 +694,165 @@ public class ViolationDAO {
     /**
      * Calculates late penalty from hours (for preview purposes)
      */
-    public double calculateLatePenaltyFromHours(int lateHours) {
+    public double calculateLatePenaltyFromHours(int lateHours, String branchId) {
         if (lateHours <= 0) {
             return 0.0;
         }
 
-        double penalty = 0.0;
+        double penalty = PenaltyRuleEngine.get().price(LATE_RETURN, branchId, LocalDate.now(), lateHours);
+        return Double.isNaN(penalty) ? 0.0 : penalty;
+    }
+
+    /**
+     * A violation whose stored fee differs from its current tariff price.
+     */
+    public static class FeeChange {
+        private final String violationId;
+        private final String rentalId;
+        private final int hours;
+        private final double oldFee;
+        private final double newFee;
+
+        FeeChange(String violationId, String rentalId, int hours, double oldFee, double newFee) {
+            this.violationId = violationId;
+            this.rentalId = rentalId;
+            this.hours = hours;
+            this.oldFee = oldFee;
+            this.newFee = newFee;
+        }
+
+        public String getViolationId() { return violationId; }
+        public String getRentalId() { return rentalId; }
+        public int getHours() { return hours; }
+        public double getOldFee() { return oldFee; }
+        public double getNewFee() { return newFee; }
+    }
+
+    /**
+     * Dry run of a re-price: every violation of the given type stamped in [from, to] whose
+     * fee differs from the tariff that was effective on its date, e.g. after a tariff change.
+     * Reads the batch once and prices it in a single pass; nothing is written.
+     *
+     * @param violationType one of {@link PenaltyRuleEngine#TARIFF_PRICED_TYPES}
+     * @return the fees that would change; apply them with {@link #applyReprice}
+     */
+    public List<FeeChange> previewReprice(String violationType, LocalDate from, LocalDate to) throws SQLException {
+        if (!PenaltyRuleEngine.TARIFF_PRICED_TYPES.contains(violationType)) {
+            throw new IllegalArgumentException(violationType + " fees are not tariff-priced and cannot be re-priced");
+        }
+
+        String selectSql = """
+            SELECT v.violation_id, v.violation_rental_id, v.violation_penalty_fee, v.violation_duration_hours,
+                   v.violation_timestamp, rd.rental_branch_id
+            FROM violation_details v
+            INNER JOIN rental_details rd ON v.violation_rental_id = rd.rental_id
+            WHERE v.violation_type = ?
+              AND v.violation_timestamp >= ? AND v.violation_timestamp < ?
+            """;
+
+        PenaltyRuleEngine.reload();
+        PenaltyRuleEngine engine = PenaltyRuleEngine.get();
+        int type = PenaltyRuleEngine.typeIndex(violationType);
+
+        List<String> ids = new ArrayList<>();
+        List<String> rentals = new ArrayList<>();
+        List<Double> oldFees = new ArrayList<>();
+        List<Integer> hourList = new ArrayList<>();
+        List<Long> dayList = new ArrayList<>();
+        List<Integer> branchList = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement select = conn.prepareStatement(selectSql)) {
 
-        if (lateHours <= 6) {
-            penalty = lateHours * RATE_FIRST_6_HOURS;
-        } else {
-            penalty = (6 * RATE_FIRST_6_HOURS) + ((lateHours - 6) * RATE_AFTER_6_HOURS);
+            select.setString(1, violationType);
+            select.setTimestamp(2, Timestamp.valueOf(from.atStartOfDay()));
+            select.setTimestamp(3, Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+
+            ResultSet rs = select.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getString("violation_id"));
+                rentals.add(rs.getString("violation_rental_id"));
+                oldFees.add(rs.getDouble("violation_penalty_fee"));
+                hourList.add(rs.getInt("violation_duration_hours"));
+                dayList.add(rs.getTimestamp("violation_timestamp").toLocalDateTime().toLocalDate().toEpochDay());
+                branchList.add(engine.branchIndex(rs.getString("rental_branch_id")));
+            }
         }
 
-        return penalty;
+        int n = ids.size();
+        int[] types = new int[n];
+        int[] branches = new int[n];
+        long[] days = new long[n];
+        int[] hours = new int[n];
+        double[] fees = new double[n];
+        for (int i = 0; i < n; i++) {
+            types[i] = type;
+            branches[i] = branchList.get(i);
+            days[i] = dayList.get(i);
+            hours[i] = hourList.get(i);
+        }
+
+        engine.priceAll(types, branches, days, hours, fees);
+
+        List<FeeChange> changes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            // no tariff for that date, or already correct to the cent
+            if (Double.isNaN(fees[i]) || Math.abs(fees[i] - oldFees.get(i)) < 0.005) continue;
+            changes.add(new FeeChange(ids.get(i), rentals.get(i), hours[i], oldFees.get(i), fees[i]));
+        }
+        return changes;
+    }
+
+    /**
+     * Writes the fees of a reviewed {@link #previewReprice} in one transaction. A violation
+     * whose fee or hours changed since the preview is left alone.
+     *
+     * @return number of violations whose fee was updated
+     */
+    public int applyReprice(List<FeeChange> changes) throws SQLException {
+        String updateSql = """
+            UPDATE violation_details SET violation_penalty_fee = ?
+            WHERE violation_id = ? AND violation_penalty_fee = ? AND violation_duration_hours = ?
+            """;
+
+        List<String> changedIds = new ArrayList<>();
+        Set<String> affectedRentals = new LinkedHashSet<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (FeeChange c : changes) {
+                    update.setDouble(1, c.newFee);
+                    update.setString(2, c.violationId);
+                    update.setBigDecimal(3, BigDecimal.valueOf(c.oldFee).setScale(2, RoundingMode.HALF_UP));
+                    update.setInt(4, c.hours);
+                    update.addBatch();
+                }
+                int[] counts = update.executeBatch();
+                conn.commit();
+
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        changedIds.add(changes.get(i).violationId);
+                        affectedRentals.add(changes.get(i).rentalId);
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        if (!changedIds.isEmpty()) {
+            CompanyRevenueLedger.invalidate();
+            ViolationAnalyticsEngine.invalidate();
+            RenterProfileDAO.rebuildForRentals(affectedRentals);
+            TableChanges.VIOLATIONS.changed(changedIds);
+        }
+        return changedIds.size();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
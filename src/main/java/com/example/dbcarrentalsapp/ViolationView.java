@@ -27,13 +27,13 @@ public class ViolationView {
     public Button addButton, modifyButton, returnButton, filterButton;
     public TextField searchField;
     public TableView<ViolationRecord> tableView;
-    public Button processReturnButton, generateReceiptButton, checkOverdueButton;
+    public Button processReturnButton, generateReceiptButton, checkOverdueButton, exportButton, repriceButton, importButton, recomputeButton;
     private final Scene scene;
 
     public ViolationView() {
         // ===== BACKGROUND SETUP =====
         StackPane root = new StackPane();
-        Image bgImage = new Image(getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png"));
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -188,11 +188,27 @@ public class ViolationView {
         generateReceiptButton.setPrefWidth(140);
         checkOverdueButton.setPrefWidth(140);
 
+        exportButton = new Button("Export");
+        exportButton.getStyleClass().add(buttonStyle);
+        exportButton.setPrefWidth(120);
+
+        repriceButton = new Button("Re-price");
+        repriceButton.getStyleClass().add(buttonStyle);
+        repriceButton.setPrefWidth(120);
+
+        importButton = new Button("Import Citations");
+        importButton.getStyleClass().add(buttonStyle);
+        importButton.setPrefWidth(140);
+
+        recomputeButton = new Button("Recompute Late Fees");
+        recomputeButton.getStyleClass().add(buttonStyle);
+        recomputeButton.setPrefWidth(170);
+
         // Button layout - two rows for better organization
-        HBox topButtonBox = new HBox(15, addButton, modifyButton, processReturnButton);
+        HBox topButtonBox = new HBox(15, addButton, modifyButton, processReturnButton, importButton, exportButton);
         topButtonBox.setAlignment(Pos.CENTER);
 
-        HBox bottomButtonBox = new HBox(15, generateReceiptButton, checkOverdueButton, returnButton);
+        HBox bottomButtonBox = new HBox(15, generateReceiptButton, checkOverdueButton, repriceButton, recomputeButton, returnButton);
         bottomButtonBox.setAlignment(Pos.CENTER);
 
         VBox buttonBox = new VBox(10, topButtonBox, bottomButtonBox);
@@ -255,7 +271,7 @@ public class ViolationView {
      * Shows popup for processing car returns with automatic violation detection
      * Includes rental selection, staff assignment, and penalty preview
      */
-    public void showProcessReturnPopup(ViolationDAO dao, Runnable refresh) {
+    public void showProcessReturnPopup(ViolationDAO dao) {
         Stage popup = new Stage();
         popup.initModality(Modality.APPLICATION_MODAL);
         popup.setTitle("Process Car Return");
@@ -320,7 +336,7 @@ public class ViolationView {
                     double penalty = 0.0;
 
                     if (lateHours > 0) {
-                        penalty = dao.calculateLatePenaltyFromHours(lateHours);
+                        penalty = dao.calculateLatePenaltyFromHours(lateHours, branchId);
                         info.append("Status: WOULD BE LATE RETURN\n");
                         info.append(String.format("Late by: %d hours\n", lateHours));
                         info.append(String.format("Penalty Fee: ₱%.2f\n", penalty));
@@ -396,7 +412,6 @@ public class ViolationView {
                             "Car returned successfully and marked as available.\nNo violations detected.");
                 }
 
-                refresh.run();
                 popup.close();
 
             } catch (Exception ex) {
@@ -514,7 +529,7 @@ public class ViolationView {
      * Shows popup dialog for adding new violation record
      * Includes input validation and dynamic field enabling
      */
-    public void showAddViolationPopup(ViolationDAO dao, Runnable refresh) {
+    public void showAddViolationPopup(ViolationDAO dao) {
         Stage popup = new Stage();
         popup.initModality(Modality.APPLICATION_MODAL);
         popup.setTitle("Add New Violation");
@@ -650,7 +665,6 @@ public class ViolationView {
                 );
 
                 dao.addViolation(violation);
-                refresh.run();
                 popup.close();
                 showSuccessPopup("Success", "Violation added successfully!");
             } catch (NumberFormatException ex) {
@@ -696,7 +710,7 @@ public class ViolationView {
      * Shows popup dialog for modifying existing violation record
      * All fields except violation ID are editable
      */
-    public void showModifyViolationPopup(ViolationDAO dao, ViolationRecord violation, Runnable refresh) {
+    public void showModifyViolationPopup(ViolationDAO dao, ViolationRecord violation) {
         if (violation == null) {
             showSuccessPopup("No Selection", "Please select a violation to modify.");
             return;
@@ -857,7 +871,6 @@ public class ViolationView {
                 violation.setTimestamp(LocalDateTime.now());
 
                 dao.updateViolation(violation);
-                refresh.run();
                 popup.close();
                 showSuccessPopup("Success", "Violation updated successfully!");
             } catch (NumberFormatException ex) {
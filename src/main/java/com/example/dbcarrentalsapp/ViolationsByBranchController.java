@@ -5,7 +5,9 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import model.ViolationsByBranchRecord;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -18,6 +20,11 @@ public class ViolationsByBranchController {
     private final ViolationsByBranchView view;
     private final ViolationsByBranchDAO dao;
 
+    // Rows currently in the table and the selection they were loaded for,
+    // so the company summary can be summed without another query
+    private List<ViolationsByBranchRecord> loadedRecords;
+    private String loadedKey;
+
     /**
      * Constructs a new controller with the specified view and data access object.
      * @param view the view component for violations by branch reporting
@@ -55,23 +62,32 @@ public class ViolationsByBranchController {
             String granularity = view.getSelectedGranularityToggle().getText();
             LocalDate selectedDate = getSelectedDateForGranularity(granularity);
 
+            // Same period as the table: sum the rows already loaded
+            if (loadedRecords != null && selectionKey(selectedDate, granularity).equals(loadedKey)) {
+                showCompany(ViolationsByBranchDAO.companyTotalOf(loadedRecords));
+                return;
+            }
+
             // Execute database query in background thread to prevent UI freezing
             new Thread(() -> {
-                ViolationsByBranchRecord company =
-                        dao.getCompanyViolations(selectedDate, granularity);
+                ViolationsByBranchDAO.ViolationsReport report =
+                        dao.getViolationsReport(selectedDate, granularity);
 
                 // Update UI on JavaFX application thread
                 Platform.runLater(() -> {
-                    if (company == null) {
-                        showError("No violation data found for the selected period.");
-                        return;
-                    }
-
-                    view.showCompanyPopup(company);
+                    showLoaded(report.getBranches(), selectedDate, granularity, false);
+                    showCompany(report.getCompanyTotal());
                 });
             }).start();
         });
 
+        // Damage and cleaning hotspots for the months of the selected period
+        view.getHotspotsButton().setOnAction(e -> handleHotspots());
+
+        // Export the rows currently in the table
+        view.getExportButton().setOnAction(e -> ExportDialog.exportTable(
+                view.getScene().getWindow(), view.getTableView(), "violations_by_branch"));
+
         // Set up return button for navigation
         view.getReturnButton().setOnAction(e -> handleReturn());
 
@@ -101,15 +117,62 @@ public class ViolationsByBranchController {
                     dao.getViolationsByBranch(selectedDate, granularity);
 
             // Update table view on JavaFX application thread
-            Platform.runLater(() -> {
-                if (records.isEmpty()) {
-                    showInfo("No violations found for the selected period.");
-                }
-                view.getTableView().getItems().setAll(records);
-            });
+            Platform.runLater(() -> showLoaded(records, selectedDate, granularity, true));
         }).start();
     }
 
+    /**
+     * Shows the car models and branches with the most damage and cleaning incidents.
+     * The analytics cube is monthly, so a daily selection covers its whole month.
+     */
+    private void handleHotspots() {
+        String granularity = view.getSelectedGranularityToggle().getText();
+        LocalDate selectedDate = getSelectedDateForGranularity(granularity);
+        if (selectedDate == null) {
+            showError("Please select a date first.");
+            return;
+        }
+
+        YearMonth from = YearMonth.from(selectedDate);
+        YearMonth to = granularity.equalsIgnoreCase("yearly") ? from.withMonth(12) : from;
+        String period = from.equals(to) ? from.toString() : from + " to " + to;
+
+        new Thread(() -> {
+            try {
+                List<ViolationAnalyticsEngine.Row> rows = ViolationAnalyticsEngine.hotspots(from, to);
+                Platform.runLater(() -> view.showHotspotsPopup(rows, period));
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Platform.runLater(() -> showError("Failed to load hotspots: " + ex.getMessage()));
+            }
+        }).start();
+    }
+
+    /**
+     * Puts loaded rows into the table and remembers the selection they belong to.
+     */
+    private void showLoaded(List<ViolationsByBranchRecord> records, LocalDate date,
+                            String granularity, boolean notifyIfEmpty) {
+        if (notifyIfEmpty && records.isEmpty()) {
+            showInfo("No violations found for the selected period.");
+        }
+        view.getTableView().getItems().setAll(records);
+        loadedRecords = records;
+        loadedKey = selectionKey(date, granularity);
+    }
+
+    private void showCompany(ViolationsByBranchRecord company) {
+        if (company == null) {
+            showError("No violation data found for the selected period.");
+            return;
+        }
+        view.showCompanyPopup(company);
+    }
+
+    private static String selectionKey(LocalDate date, String granularity) {
+        return granularity.toLowerCase() + "|" + date;
+    }
+
     /**
      * Converts the current UI selection into a LocalDate based on the specified granularity.
      *
@@ -159,9 +222,9 @@ public class ViolationsByBranchController {
     }
 
     /**
-     * Handles the return button action for navigation back to the main application.
+     * Handles the return button action for navigation back to the reports menu.
      */
     private void handleReturn() {
-        System.out.println("Return button clicked — implement navigation here.");
+        Navigator.go(Navigator.Screen.REPORTS);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.dbcarrentalsapp;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -107,83 +108,81 @@ public class ViolationsByBranchDAO {
     }
 
     /**
-     * Retrieves company-wide violation summary for the specified date and granularity.
-     * Returns a single ViolationsByBranchRecord representing the entire company's violations.
-     * @param date the reference date for filtering violations
-     * @param granularity the time period granularity ("daily", "monthly", or "yearly")
-     * @return ViolationsByBranchRecord with company summary, null if no violations found
+     * Per-branch violation rows plus the company summary for the same period,
+     * produced by one aggregate query.
      */
-    public ViolationsByBranchRecord getCompanyViolations(LocalDate date, String granularity) {
+    public static class ViolationsReport {
+        private final List<ViolationsByBranchRecord> branches;
+        private final ViolationsByBranchRecord companyTotal;
 
-        String filter;
-
-        // Determine the SQL filter condition based on granularity
-        switch (granularity.toLowerCase()) {
-            case "daily" -> filter = "DATE(v.violation_timestamp) = ?";
-            case "monthly" -> filter = "MONTH(v.violation_timestamp) = ? AND YEAR(v.violation_timestamp) = ?";
-            case "yearly" -> filter = "YEAR(v.violation_timestamp) = ?";
-            default -> throw new IllegalArgumentException("Invalid granularity: " + granularity);
+        ViolationsReport(List<ViolationsByBranchRecord> branches, ViolationsByBranchRecord companyTotal) {
+            this.branches = branches;
+            this.companyTotal = companyTotal;
         }
 
-        // SQL query to aggregate violation data for the entire company
-        String query = String.format("""
-        SELECT
-            COUNT(v.violation_id) AS total_violations,
-            SUM(CASE WHEN v.violation_type = 'Late Return' THEN 1 ELSE 0 END) AS late_return_count,
-            SUM(CASE WHEN v.violation_type = 'Car Damage' THEN 1 ELSE 0 END) AS car_damage_count,
-            SUM(CASE WHEN v.violation_type = 'Traffic Violation' THEN 1 ELSE 0 END) AS traffic_violation_count,
-            SUM(CASE WHEN v.violation_type = 'Cleaning Fee' THEN 1 ELSE 0 END) AS cleaning_fee_count,
-            SUM(CASE WHEN v.violation_type = 'Other' THEN 1 ELSE 0 END) AS other_violation_count,
-            COALESCE(SUM(v.violation_penalty_fee), 0) AS total_penalty_amount,
-            MAX(v.violation_timestamp) AS last_violation_date
-            
-        FROM violation_details v
-        WHERE %s;
-        """, filter);
+        public List<ViolationsByBranchRecord> getBranches() { return branches; }
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        /** @return company summary, null if the period has no violations */
+        public ViolationsByBranchRecord getCompanyTotal() { return companyTotal; }
+    }
 
-            // Bind parameters based on granularity
-            if (granularity.equalsIgnoreCase("daily")) {
-                stmt.setDate(1, Date.valueOf(date));
-            }
-            else if (granularity.equalsIgnoreCase("monthly")) {
-                stmt.setInt(1, date.getMonthValue());
-                stmt.setInt(2, date.getYear());
-            }
-            else { // yearly
-                stmt.setInt(1, date.getYear());
-            }
+    /**
+     * Retrieves branch rows and the company summary in one pass.
+     * @param date the reference date for filtering violations
+     * @param granularity the time period granularity ("daily", "monthly", or "yearly")
+     * @return combined report, branches empty and company null if no violations found
+     */
+    public ViolationsReport getViolationsReport(LocalDate date, String granularity) {
+        List<ViolationsByBranchRecord> branches = getViolationsByBranch(date, granularity);
+        return new ViolationsReport(branches, companyTotalOf(branches));
+    }
 
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Retrieves company-wide violation summary for the specified date and granularity.
+     * Every violation belongs to exactly one branch through its rental, so the company
+     * summary is the sum of the branch rows rather than a second aggregate.
+     * @param date the reference date for filtering violations
+     * @param granularity the time period granularity ("daily", "monthly", or "yearly")
+     * @return ViolationsByBranchRecord with company summary, null if no violations found
+     */
+    public ViolationsByBranchRecord getCompanyViolations(LocalDate date, String granularity) {
+        return companyTotalOf(getViolationsByBranch(date, granularity));
+    }
 
-            // Create company summary record if data exists
-            if (rs.next()) {
-                Timestamp lastViolation = rs.getTimestamp("last_violation_date");
-                LocalDateTime lastViolationDate = lastViolation != null ?
-                        lastViolation.toLocalDateTime() : null;
+    /**
+     * Sums branch rows into a single company summary record.
+     * @param branches per-branch rows of one period
+     * @return ViolationsByBranchRecord with company summary, null if the list is empty
+     */
+    public static ViolationsByBranchRecord companyTotalOf(List<ViolationsByBranchRecord> branches) {
+        if (branches.isEmpty()) {
+            return null; // No violation data found
+        }
 
-                return new ViolationsByBranchRecord(
-                        "ALL",           // Special branch ID for company summary
-                        "WHOLE COMPANY", // Special branch name for company summary
-                        rs.getInt("total_violations"),
-                        rs.getInt("late_return_count"),
-                        rs.getInt("car_damage_count"),
-                        rs.getInt("traffic_violation_count"),
-                        rs.getInt("cleaning_fee_count"),
-                        rs.getInt("other_violation_count"),
-                        rs.getBigDecimal("total_penalty_amount"),
-                        lastViolationDate
-                );
+        int total = 0, late = 0, damage = 0, traffic = 0, cleaning = 0, other = 0;
+        BigDecimal penalty = BigDecimal.ZERO;
+        LocalDateTime last = null;
+
+        for (ViolationsByBranchRecord r : branches) {
+            total += r.getTotalViolations();
+            late += r.getLateReturnCount();
+            damage += r.getCarDamageCount();
+            traffic += r.getTrafficViolationCount();
+            cleaning += r.getCleaningFeeCount();
+            other += r.getOtherViolationCount();
+            penalty = penalty.add(r.getTotalPenaltyAmount());
+            if (r.getLastViolationDate() != null
+                    && (last == null || r.getLastViolationDate().isAfter(last))) {
+                last = r.getLastViolationDate();
             }
-
-        } catch (SQLException e) {
-            // Log database errors - in production, use proper logging framework
-            System.err.println("Database error in getCompanyViolations: " + e.getMessage());
-            e.printStackTrace();
         }
 
-        return null; // No violation data found
+        return new ViolationsByBranchRecord(
+                "ALL",           // Special branch ID for company summary
+                "WHOLE COMPANY", // Special branch name for company summary
+                total, late, damage, traffic, cleaning, other,
+                penalty,
+                last
+        );
     }
-}
\ No newline at end of file
+}
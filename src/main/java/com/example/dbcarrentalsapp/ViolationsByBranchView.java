@@ -30,7 +30,7 @@ public class ViolationsByBranchView {
     // UI Component declarations
     public TableView<ViolationsByBranchRecord> tableView;
     public Button loadButton, returnButton, companyButton;
-    public Button pieChartButton;
+    public Button pieChartButton, exportButton, hotspotsButton;
 
     // Granularity selection controls
     public RadioButton dailyButton, monthlyButton, yearlyButton;
@@ -57,9 +57,7 @@ public class ViolationsByBranchView {
         StackPane root = new StackPane();
 
         // Load and configure background image
-        Image bgImage = new Image(
-                getClass().getResourceAsStream("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png")
-        );
+        Image bgImage = ImageCache.background("/com/example/dbcarrentalsapp/aston_martin_dbs-wide.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setFitWidth(1152);
         bgView.setFitHeight(761);
@@ -254,7 +252,16 @@ public class ViolationsByBranchView {
         returnButton.setPrefWidth(120);
         returnButton.getStyleClass().add("small-button");
 
-        HBox bottomButtons = new HBox(20, loadButton, companyButton, pieChartButton, returnButton);
+        exportButton = new Button("Export");
+        exportButton.setPrefWidth(120);
+        exportButton.getStyleClass().add("small-button");
+
+        hotspotsButton = new Button("Hotspots");
+        hotspotsButton.setPrefWidth(120);
+        hotspotsButton.getStyleClass().add("small-button");
+
+        HBox bottomButtons = new HBox(20, loadButton, companyButton, pieChartButton, hotspotsButton,
+                exportButton, returnButton);
         bottomButtons.setAlignment(Pos.CENTER);
         bottomButtons.setPadding(new Insets(10, 0, 0, 0));
 
@@ -550,6 +557,58 @@ public class ViolationsByBranchView {
         dialog.showAndWait();
     }
 
+    /**
+     * Displays a popup dialog listing damage and cleaning hotspots (car model and branch).
+     * @param rows hotspot rows, most incidents first
+     * @param period the months covered, for the title
+     */
+    public void showHotspotsPopup(java.util.List<ViolationAnalyticsEngine.Row> rows, String period) {
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Damage & Cleaning Hotspots");
+        dialog.setHeaderText(null);
+
+        // Same purple-bordered style as the company summary
+        dialog.getDialogPane().setStyle("""
+            -fx-background-color: rgba(20,20,30,0.95);
+            -fx-border-color: linear-gradient(to right, #7a40ff, #b46bff);
+            -fx-border-width: 2;
+            -fx-border-radius: 10;
+            -fx-background-radius: 10;
+            """);
+
+        VBox box = new VBox(8);
+        box.setPadding(new Insets(20));
+        box.setAlignment(Pos.CENTER_LEFT);
+
+        Label title = new Label("HOTSPOTS, " + period);
+        title.setStyle("""
+            -fx-text-fill: white;
+            -fx-font-size: 20px;
+            -fx-font-weight: bold;
+            """);
+        box.getChildren().add(title);
+
+        String labelStyle = "-fx-text-fill: white; -fx-font-size: 14px;";
+        if (rows.isEmpty()) {
+            Label none = new Label("No damage or cleaning incidents in this period.");
+            none.setStyle(labelStyle);
+            box.getChildren().add(none);
+        }
+        // Top entries only; the rest are rarely actionable
+        for (int i = 0; i < Math.min(rows.size(), 15); i++) {
+            ViolationAnalyticsEngine.Row row = rows.get(i);
+            Label line = new Label(String.format("%d. %s: %d incident(s), ₱%,.2f", i + 1,
+                    String.join(" @ ", row.getLabels()), row.getCount(), row.getPenaltyTotal()));
+            line.setStyle(i == 0 ? "-fx-text-fill: #b46bff; -fx-font-size: 16px; -fx-font-weight: bold;" : labelStyle);
+            box.getChildren().add(line);
+        }
+
+        dialog.getDialogPane().setContent(box);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.OK);
+
+        dialog.showAndWait();
+    }
+
     /**
      * Formats a BigDecimal value as a currency string.
      * @param value the monetary value to format
@@ -591,11 +650,21 @@ public class ViolationsByBranchView {
      */
     public Button getCompanyButton() { return companyButton; }
 
+    /**
+     * @return the export button
+     */
+    public Button getExportButton() { return exportButton; }
+
     /**
      * @return the pie chart button
      */
     public Button getPieChartButton() { return pieChartButton; }
 
+    /**
+     * @return the hotspots button
+     */
+    public Button getHotspotsButton() { return hotspotsButton; }
+
     /**
      * @return the main table view
      */
@@ -8,18 +8,20 @@ public class CarUtilizationReport {
     private String carTransmission;
 
     private int totalRentals;
-    private int totalRentalDays;
+    private double totalHoursRented;
+    private double totalRentalDays;
     private double utilizationRate;
 
 
-    public CarUtilizationReport(String branchName, String carPlateNumber, String carModel, String carBrand, String carTransmission, int totalRentals, int totalRentalDays, double utilizationRate){
+    public CarUtilizationReport(String branchName, String carPlateNumber, String carModel, String carBrand, String carTransmission, int totalRentals, double totalHoursRented, double utilizationRate){
         this.branchName = branchName;
         this.carPlateNumber = carPlateNumber;
         this.carModel = carModel;
         this.carBrand = carBrand;
         this.carTransmission = carTransmission;
         this.totalRentals = totalRentals;
-        this.totalRentalDays = totalRentalDays;
+        this.totalHoursRented = totalHoursRented;
+        this.totalRentalDays = Math.round(totalHoursRented / 24.0 * 100.0) / 100.0;
         this.utilizationRate = utilizationRate;
     }
     public String getBranchName() { return branchName; }
@@ -28,6 +30,7 @@ public class CarUtilizationReport {
     public String getCarBrand(){ return carBrand; }
     public String getCarTransmission() { return carTransmission; }
     public int getTotalRentals() { return totalRentals; }
-    public int getTotalRentalDays() { return totalRentalDays; }
+    public double getTotalHoursRented() { return totalHoursRented; }
+    public double getTotalRentalDays() { return totalRentalDays; }
     public double getUtilizationRate() { return utilizationRate; }
 }
@@ -0,0 +1,35 @@
+package model;
+
+/**
+ * Rental duration and late-return percentiles for one branch (or the whole company)
+ * over a date range, read from merged {@link DurationHistogram}s.
+ */
+public class DurationDistribution {
+
+    private final String groupName;
+    private final DurationHistogram duration;
+    private final DurationHistogram lateness;
+
+    public DurationDistribution(String groupName, DurationHistogram duration, DurationHistogram lateness) {
+        this.groupName = groupName;
+        this.duration = duration;
+        this.lateness = lateness;
+    }
+
+    public String getGroupName() { return groupName; }
+
+    public long getRentals() { return duration.getTotalCount(); }
+    public double getDurationP50() { return hours(duration.valueAtPercentile(50)); }
+    public double getDurationP90() { return hours(duration.valueAtPercentile(90)); }
+    public double getDurationP99() { return hours(duration.valueAtPercentile(99)); }
+
+    public long getLateReturns() { return lateness.getTotalCount(); }
+    public double getLateP50() { return hours(lateness.valueAtPercentile(50)); }
+    public double getLateP90() { return hours(lateness.valueAtPercentile(90)); }
+    public double getLateP99() { return hours(lateness.valueAtPercentile(99)); }
+
+    // minutes -> hours, one decimal
+    private static double hours(long minutes) {
+        return Math.round(minutes / 6.0) / 10.0;
+    }
+}
@@ -0,0 +1,154 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact, mergeable histogram of non-negative durations (in minutes), HDR-style.
+ *
+ * Values below 128 get their own bucket; above that every power-of-two range is split
+ * into 64 linear sub-buckets, so any reported percentile is within ~1.6% of the true
+ * value. Two histograms merge by adding counts, which is what lets per-branch, per-day
+ * histograms be combined over any date range and branch set.
+ */
+public class DurationHistogram {
+
+    private static final int LINEAR_LIMIT = 128;   // values 0..127 are exact
+    private static final int SUB_BUCKETS = 64;     // per power of two above that
+
+    private long[] counts = new long[LINEAR_LIMIT + SUB_BUCKETS];
+    private long totalCount;
+    private long maxValue;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    public void merge(DurationHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @param percentile 0..100
+     * @return the smallest recorded bucket value at or above the percentile, 0 if empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+        rank = Math.max(1, Math.min(rank, totalCount));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // report the bucket's upper edge, but never more than the true maximum
+                return Math.min(highestValueIn(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    // ============================
+    // BUCKET INDEXING
+    // ============================
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);     // >= 7
+        int shift = msb - 6;                                 // keep the top 7 bits
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;     // 0..63
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    // ============================
+    // SERIALIZATION (sparse varints)
+    // ============================
+
+    /**
+     * Encodes only the non-empty buckets as (index gap, count) varint pairs.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarLong(out, maxValue);
+
+        int previous = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            writeVarLong(out, i - previous);
+            writeVarLong(out, counts[i]);
+            previous = i;
+        }
+        return out.toByteArray();
+    }
+
+    public static DurationHistogram fromBytes(byte[] bytes) {
+        DurationHistogram h = new DurationHistogram();
+        int[] pos = {0};
+
+        h.maxValue = readVarLong(bytes, pos);
+        int index = -1;
+        while (pos[0] < bytes.length) {
+            index += (int) readVarLong(bytes, pos);
+            long count = readVarLong(bytes, pos);
+            if (index >= h.counts.length) {
+                h.counts = Arrays.copyOf(h.counts, Math.max(index + 1, h.counts.length * 2));
+            }
+            h.counts[index] += count;
+            h.totalCount += count;
+        }
+        return h;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] pos) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[pos[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+}
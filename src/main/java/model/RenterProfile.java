@@ -0,0 +1,49 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A renter's running history, mirroring one {@code renter_profile} row: completed
+ * rentals, late returns, damage incidents, penalties paid and the latest violation.
+ */
+public class RenterProfile {
+
+    private final String renterDlNumber;
+    private final int rentalsCompleted;
+    private final int lateReturns;
+    private final int damageIncidents;
+    private final double totalPenalties;
+    private final String lastViolationType;      // null if never penalised
+    private final LocalDateTime lastViolationAt;
+
+    public RenterProfile(String renterDlNumber, int rentalsCompleted, int lateReturns, int damageIncidents,
+                         double totalPenalties, String lastViolationType, LocalDateTime lastViolationAt) {
+        this.renterDlNumber = renterDlNumber;
+        this.rentalsCompleted = rentalsCompleted;
+        this.lateReturns = lateReturns;
+        this.damageIncidents = damageIncidents;
+        this.totalPenalties = totalPenalties;
+        this.lastViolationType = lastViolationType;
+        this.lastViolationAt = lastViolationAt;
+    }
+
+    public String getRenterDlNumber() { return renterDlNumber; }
+    public int getRentalsCompleted() { return rentalsCompleted; }
+    public int getLateReturns() { return lateReturns; }
+    public int getDamageIncidents() { return damageIncidents; }
+    public double getTotalPenalties() { return totalPenalties; }
+    public String getLastViolationType() { return lastViolationType; }
+    public LocalDateTime getLastViolationAt() { return lastViolationAt; }
+
+    /**
+     * One-line summary for the counter, e.g. "12 rentals · 2 late · 0 damage · ₱350.00 penalties".
+     */
+    public String summary() {
+        String line = String.format("%d rentals · %d late · %d damage · ₱%.2f penalties",
+                rentalsCompleted, lateReturns, damageIncidents, totalPenalties);
+        if (lastViolationType != null && lastViolationAt != null) {
+            line += "\nLast violation: " + lastViolationType + " on " + lastViolationAt.toLocalDate();
+        }
+        return line;
+    }
+}
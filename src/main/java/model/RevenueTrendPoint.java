@@ -0,0 +1,54 @@
+package model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One branch's revenue for one period (day, week or month) of a trend series.
+ */
+public class RevenueTrendPoint {
+
+    private String branchId;
+    private String branchName;
+    private LocalDate periodStart;
+    private BigDecimal rentalIncome;
+    private BigDecimal penaltyIncome;
+
+    public RevenueTrendPoint(String branchId,
+                             String branchName,
+                             LocalDate periodStart,
+                             BigDecimal rentalIncome,
+                             BigDecimal penaltyIncome) {
+
+        this.branchId = branchId;
+        this.branchName = branchName;
+        this.periodStart = periodStart;
+
+        this.rentalIncome = rentalIncome != null ? rentalIncome : BigDecimal.ZERO;
+        this.penaltyIncome = penaltyIncome != null ? penaltyIncome : BigDecimal.ZERO;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public BigDecimal getRentalIncome() {
+        return rentalIncome;
+    }
+
+    public BigDecimal getPenaltyIncome() {
+        return penaltyIncome;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return rentalIncome.add(penaltyIncome);
+    }
+}
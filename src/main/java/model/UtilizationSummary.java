@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * Rolled-up utilization for a group of cars (a branch or a fleet segment)
+ * over one reporting window.
+ */
+public class UtilizationSummary {
+    private String groupName;
+    private int carCount;
+    private int totalRentals;
+    private double totalHoursRented;
+    private double availableHours;
+
+    public UtilizationSummary(String groupName, int carCount, int totalRentals,
+                              double totalHoursRented, double availableHours) {
+        this.groupName = groupName;
+        this.carCount = carCount;
+        this.totalRentals = totalRentals;
+        this.totalHoursRented = totalHoursRented;
+        this.availableHours = availableHours;
+    }
+
+    public String getGroupName() { return groupName; }
+    public int getCarCount() { return carCount; }
+    public int getTotalRentals() { return totalRentals; }
+    public double getTotalHoursRented() { return totalHoursRented; }
+    public double getAvailableHours() { return availableHours; }
+
+    /**
+     * @return share of the group's car-hours that were rented, as a percentage
+     */
+    public double getUtilizationRate() {
+        if (availableHours <= 0) return 0.0;
+        return Math.round(totalHoursRented / availableHours * 10000.0) / 100.0;
+    }
+}
@@ -1,20 +1,12 @@
 module com.example.dbcarrentalsapp {
     requires javafx.controls;
-    requires javafx.fxml;
-    requires javafx.web;
     requires java.sql;
+    // Not used by the app itself: linked into the jlink image for the MySQL driver
+    requires java.management;
+    requires java.naming;
+    requires java.security.sasl;
 
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires eu.hansolo.tilesfx;
-    requires com.almasb.fxgl.all;
-    requires java.desktop;
-
-    opens com.example.dbcarrentalsapp to javafx.fxml;
+    opens com.example.dbcarrentalsapp to javafx.base;
     exports com.example.dbcarrentalsapp;
     opens model to javafx.base;
 }
-
@@ -11,6 +11,10 @@ USE DBCarRentals;
 SET FOREIGN_KEY_CHECKS = 0;
 
 DROP TABLE IF EXISTS
+    rental_distribution_progress,
+    rental_distribution_daily,
+    renter_profile,
+    penalty_tariff,
     return_details,
     violation_details,
     cancellation_details,
@@ -100,6 +104,8 @@ CREATE TABLE IF NOT EXISTS car_record (
     car_branch_id VARCHAR(6) NOT NULL,
 
     PRIMARY KEY (car_plate_number),
+    -- Rental car picker: available cars of a branch by plate prefix
+    INDEX idx_car_branch_status_plate (car_branch_id, car_status, car_plate_number),
 
     FOREIGN KEY (car_branch_id) REFERENCES branch_record(branch_id)
 );
@@ -109,6 +115,10 @@ CREATE TABLE IF NOT EXISTS car_record (
 -- 4. Transactional tables (with IF NOT EXISTS)
 -- =====================================================
 
+-- The search indexes below use the ngram parser, which drops every token containing a
+-- stopword ("ca" contains "a"); build them without stopwords so all substrings are found
+SET SESSION innodb_ft_enable_stopword = OFF;
+
 CREATE TABLE IF NOT EXISTS rental_details (
     rental_id VARCHAR(10) NOT NULL,
     rental_renter_dl_number VARCHAR(20) NOT NULL,
@@ -128,7 +138,18 @@ CREATE TABLE IF NOT EXISTS rental_details (
 
     rental_status ENUM('UPCOMING', 'ACTIVE', 'COMPLETED', 'CANCELLED') NOT NULL DEFAULT 'UPCOMING',
 
+    -- What the records screen's search box matches (see PagedTableSource.fullText)
+    rental_search_text VARCHAR(60) AS (CONCAT_WS(' ', rental_id, rental_car_plate_number,
+        rental_status, rental_renter_dl_number)) STORED,
+
     PRIMARY KEY (rental_id),
+    INDEX idx_rental_actual_return (rental_actual_return_datetime),
+    -- Keyset paging; InnoDB appends the primary key, giving (rental_datetime, rental_id)
+    INDEX idx_rental_datetime (rental_datetime),
+    -- Operations board: today's pickups and the active list, by status then time
+    INDEX idx_rental_status_pickup (rental_status, rental_expected_pickup_datetime),
+    INDEX idx_rental_status_return (rental_status, rental_expected_return_datetime),
+    FULLTEXT INDEX ft_rental_search (rental_search_text) WITH PARSER ngram,
 
     FOREIGN KEY (rental_renter_dl_number) REFERENCES renter_record(renter_dl_number),
     FOREIGN KEY (rental_car_plate_number) REFERENCES car_record(car_plate_number),
@@ -144,7 +165,11 @@ CREATE TABLE IF NOT EXISTS cancellation_details (
     cancellation_staff_id VARCHAR(6) NOT NULL,
     cancellation_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     cancellation_reason VARCHAR(150) NOT NULL,
+    cancellation_search_text VARCHAR(180) AS (CONCAT_WS(' ', cancellation_id, cancellation_rental_id,
+        cancellation_reason)) STORED,
     PRIMARY KEY (cancellation_id),
+    INDEX idx_cancellation_date (cancellation_date),
+    FULLTEXT INDEX ft_cancellation_search (cancellation_search_text) WITH PARSER ngram,
     FOREIGN KEY (cancellation_rental_id) REFERENCES rental_details(rental_id),
     FOREIGN KEY (cancellation_staff_id) REFERENCES staff_record(staff_id)
 );
@@ -158,7 +183,11 @@ CREATE TABLE IF NOT EXISTS violation_details (
     violation_reason VARCHAR(255) NOT NULL,
     violation_duration_hours INT NOT NULL DEFAULT 0,
     violation_timestamp DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    violation_search_text VARCHAR(300) AS (CONCAT_WS(' ', violation_id, violation_rental_id,
+        violation_type, violation_reason)) STORED,
     PRIMARY KEY (violation_id),
+    INDEX idx_violation_timestamp (violation_timestamp),
+    FULLTEXT INDEX ft_violation_search (violation_search_text) WITH PARSER ngram,
     FOREIGN KEY (violation_rental_id) REFERENCES rental_details(rental_id),
     FOREIGN KEY (violation_staff_id) REFERENCES staff_record(staff_id)
 );
@@ -188,6 +217,66 @@ CREATE TABLE IF NOT EXISTS branch_id_sequence (
     last_number INT NOT NULL
 );
 
+-- CNL#### ids, reserved inside the cancelling transaction (see CancellationDAO.allocateIds)
+CREATE TABLE IF NOT EXISTS cancellation_id_sequence (
+    id_type VARCHAR(20) PRIMARY KEY,
+    last_number INT NOT NULL
+);
+
+-- VLN### ids, reserved inside the writing transaction (see ViolationDAO.allocateIds)
+CREATE TABLE IF NOT EXISTS violation_id_sequence (
+    id_type VARCHAR(20) PRIMARY KEY,
+    last_number INT NOT NULL
+);
+
+-- R#### ids, reserved inside the returning transaction (see ReturnDAO.allocateIds)
+CREATE TABLE IF NOT EXISTS return_id_sequence (
+    id_type VARCHAR(20) PRIMARY KEY,
+    last_number INT NOT NULL
+);
+
+-- Tiered penalty tariffs (see PenaltyRuleEngine). Rows sharing type, branch and
+-- effective date form one tariff; each row is a tier starting at tier_start_hours.
+-- branch_id NULL applies to every branch without its own tariff.
+CREATE TABLE IF NOT EXISTS penalty_tariff (
+    tariff_id INT AUTO_INCREMENT,
+    violation_type ENUM('Late Return', 'Car Damage', 'Traffic Violation', 'Cleaning Fee', 'Other') NOT NULL,
+    branch_id VARCHAR(6),
+    effective_from DATE NOT NULL,
+    tier_start_hours INT NOT NULL DEFAULT 0,
+    flat_fee DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    hourly_rate DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (tariff_id),
+    FOREIGN KEY (branch_id) REFERENCES branch_record(branch_id)
+);
+
+-- Per-branch, per-day duration / lateness histograms (see RentalDistributionDAO)
+CREATE TABLE IF NOT EXISTS rental_distribution_daily (
+    branch_id VARCHAR(6) NOT NULL,
+    day DATE NOT NULL,
+    metric ENUM('DURATION', 'LATENESS') NOT NULL,
+    histogram BLOB NOT NULL,
+    PRIMARY KEY (day, branch_id, metric)
+);
+
+CREATE TABLE IF NOT EXISTS rental_distribution_progress (
+    id_type VARCHAR(20) PRIMARY KEY,
+    built_through DATE NOT NULL
+);
+
+-- Running per-renter history, kept current by the DAOs (see RenterProfileDAO)
+CREATE TABLE IF NOT EXISTS renter_profile (
+    renter_dl_number VARCHAR(20) NOT NULL,
+    rentals_completed INT NOT NULL DEFAULT 0,
+    late_returns INT NOT NULL DEFAULT 0,
+    damage_incidents INT NOT NULL DEFAULT 0,
+    total_penalties DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    last_violation_type VARCHAR(20),
+    last_violation_at DATETIME,
+    PRIMARY KEY (renter_dl_number),
+    FOREIGN KEY (renter_dl_number) REFERENCES renter_record(renter_dl_number) ON DELETE CASCADE
+);
+
 -- =====================================================
 -- 5. Default data insertion (safe inserts)
 -- =====================================================
@@ -515,6 +604,14 @@ WHERE car_plate_number NOT IN (
 AND car_status != 'Under Maintenance';
 SET SQL_SAFE_UPDATES = 1;
 
+-- Penalty tariffs (previously hard-coded in ViolationDAO)
+INSERT INTO penalty_tariff (violation_type, branch_id, effective_from, tier_start_hours, flat_fee, hourly_rate) VALUES
+('Late Return',       NULL, '2025-01-01', 0, 0.00,    50.00),
+('Late Return',       NULL, '2025-01-01', 6, 0.00,   100.00),
+('Car Damage',        NULL, '2025-01-01', 0, 200.00,   0.00),
+('Traffic Violation', NULL, '2025-01-01', 0, 150.00,   0.00),
+('Cleaning Fee',      NULL, '2025-01-01', 0, 75.00,    0.00);
+
 INSERT INTO job_id_sequence (department_id, last_number)
 SELECT
     SUBSTRING(job_id, 1, LENGTH(job_id) - 3) AS prefix,
@@ -531,3 +628,21 @@ INSERT INTO staff_id_sequence (id_type, last_number) VALUES ('STAFF', 29)
 INSERT INTO branch_id_sequence (id_type, last_number)
 VALUES ('BRANCH', 14)
 ON DUPLICATE KEY UPDATE last_number = GREATEST(last_number, 14);
+
+INSERT INTO cancellation_id_sequence (id_type, last_number)
+SELECT 'CANCELLATION', COALESCE(MAX(CAST(SUBSTRING(cancellation_id, 4) AS UNSIGNED)), 0)
+FROM cancellation_details
+WHERE cancellation_id LIKE 'CNL%'
+ON DUPLICATE KEY UPDATE last_number = GREATEST(last_number, VALUES(last_number));
+
+INSERT INTO violation_id_sequence (id_type, last_number)
+SELECT 'VIOLATION', COALESCE(MAX(CAST(SUBSTRING(violation_id, 4) AS UNSIGNED)), 0)
+FROM violation_details
+WHERE violation_id LIKE 'VLN%'
+ON DUPLICATE KEY UPDATE last_number = GREATEST(last_number, VALUES(last_number));
+
+INSERT INTO return_id_sequence (id_type, last_number)
+SELECT 'RETURN', COALESCE(MAX(CAST(SUBSTRING(return_id, 2) AS UNSIGNED)), 0)
+FROM return_details
+WHERE return_id LIKE 'R%'
+ON DUPLICATE KEY UPDATE last_number = GREATEST(last_number, VALUES(last_number));